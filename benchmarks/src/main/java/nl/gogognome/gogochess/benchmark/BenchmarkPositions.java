@@ -0,0 +1,45 @@
+package nl.gogognome.gogochess.benchmark;
+
+import java.util.*;
+import nl.gogognome.gogochess.logic.*;
+import nl.gogognome.gogochess.logic.movenotation.*;
+
+/**
+ * The bank of positions on which the benchmarks run. Benchmarks refer to the positions by name, so that the names
+ * show up in the results.
+ */
+public class BenchmarkPositions {
+
+	public final static String INITIAL = "initial";
+	public final static String OPENING = "opening";
+	public final static String KIWIPETE = "kiwipete";
+	public final static String MIDDLE_GAME = "middleGame";
+	public final static String PROMOTIONS = "promotions";
+	public final static String END_GAME = "endGame";
+
+	private final static Map<String, String> NAME_TO_FEN = new HashMap<>();
+
+	static {
+		NAME_TO_FEN.put(INITIAL, "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+		NAME_TO_FEN.put(OPENING, "r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4");
+		NAME_TO_FEN.put(KIWIPETE, "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+		NAME_TO_FEN.put(MIDDLE_GAME, "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10");
+		NAME_TO_FEN.put(PROMOTIONS, "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8");
+		NAME_TO_FEN.put(END_GAME, "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1");
+	}
+
+	/**
+	 * Creates a board containing a position of the bank.
+	 * @param name the name of the position
+	 * @return the board
+	 */
+	public static Board board(String name) {
+		String fen = NAME_TO_FEN.get(name);
+		if (fen == null) {
+			throw new IllegalArgumentException("Unknown position " + name + ". Known positions are " + NAME_TO_FEN.keySet());
+		}
+		Board board = new Board();
+		board.process(new ForsythEdwardsNotation().parse(fen));
+		return board;
+	}
+}
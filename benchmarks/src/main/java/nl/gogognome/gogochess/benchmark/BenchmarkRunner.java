@@ -0,0 +1,36 @@
+package nl.gogognome.gogochess.benchmark;
+
+import java.io.*;
+import org.openjdk.jmh.results.format.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Runs the benchmarks with the JMH command line options. Unless specified otherwise on the command line, the results
+ * are written as JSON to jmh-result.json, so that results of different releases can be compared.
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws CommandLineOptionException, IOException, RunnerException {
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		if (commandLineOptions.shouldHelp()) {
+			commandLineOptions.showHelp();
+			return;
+		}
+
+		ChainedOptionsBuilder optionsBuilder = new OptionsBuilder().parent(commandLineOptions);
+		if (!commandLineOptions.getResultFormat().hasValue()) {
+			optionsBuilder.resultFormat(ResultFormatType.JSON);
+		}
+		if (!commandLineOptions.getResult().hasValue()) {
+			optionsBuilder.result("jmh-result.json");
+		}
+
+		Runner runner = new Runner(optionsBuilder.build());
+		if (commandLineOptions.shouldList()) {
+			runner.list();
+		} else {
+			runner.run();
+		}
+	}
+}
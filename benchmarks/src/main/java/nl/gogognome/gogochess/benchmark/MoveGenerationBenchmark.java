@@ -0,0 +1,36 @@
+package nl.gogognome.gogochess.benchmark;
+
+import static nl.gogognome.gogochess.benchmark.BenchmarkPositions.*;
+import java.util.*;
+import java.util.concurrent.*;
+import org.openjdk.jmh.annotations.*;
+import nl.gogognome.gogochess.logic.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveGenerationBenchmark {
+
+	@Param({ INITIAL, OPENING, KIWIPETE, MIDDLE_GAME, PROMOTIONS, END_GAME })
+	public String position;
+
+	private Board board;
+
+	@Setup
+	public void setup() {
+		board = BenchmarkPositions.board(position);
+	}
+
+	@Benchmark
+	public List<Move> validMoves() {
+		return board.currentPlayer().validMoves(board);
+	}
+
+	@Benchmark
+	public List<Move> validCaptures() {
+		return board.currentPlayer().validCaptures(board);
+	}
+}
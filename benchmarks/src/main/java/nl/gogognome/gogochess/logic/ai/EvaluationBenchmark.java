@@ -0,0 +1,56 @@
+package nl.gogognome.gogochess.logic.ai;
+
+import static nl.gogognome.gogochess.benchmark.BenchmarkPositions.*;
+import java.util.*;
+import java.util.concurrent.*;
+import org.openjdk.jmh.annotations.*;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import nl.gogognome.gogochess.benchmark.*;
+import nl.gogognome.gogochess.juice.Module;
+import nl.gogognome.gogochess.logic.*;
+import nl.gogognome.gogochess.logic.ai.positionalanalysis.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+
+	@Param({ INITIAL, OPENING, KIWIPETE, MIDDLE_GAME, PROMOTIONS, END_GAME })
+	public String position;
+
+	private Board board;
+	private List<Move> moves;
+	private BoardEvaluator boardEvaluator;
+	private PositionalAnalysis positionalAnalysis;
+
+	@Setup
+	public void setup() {
+		Injector injector = Guice.createInjector(new Module());
+		boardEvaluator = injector.getInstance(BoardEvaluator.class);
+		positionalAnalysis = injector.getInstance(PositionalAnalysis.class);
+		board = BenchmarkPositions.board(position);
+		moves = board.currentPlayer().validMoves(board);
+	}
+
+	/** Evaluates the position with the {@link CompositeBoardEvaluator} that is used by the search. */
+	@Benchmark
+	public MoveValue compositeBoardEvaluatorValue() {
+		return boardEvaluator.value(board);
+	}
+
+	/** Scores the position without building an explanation, as done for each position evaluated by the search. */
+	@Benchmark
+	public int compositeBoardEvaluatorScore() {
+		return boardEvaluator.score(board);
+	}
+
+	@Benchmark
+	public List<Move> positionalAnalysisEvaluate() {
+		positionalAnalysis.evaluate(board, moves);
+		return moves;
+	}
+}
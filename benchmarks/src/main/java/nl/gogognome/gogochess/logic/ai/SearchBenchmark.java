@@ -0,0 +1,64 @@
+package nl.gogognome.gogochess.logic.ai;
+
+import static nl.gogognome.gogochess.benchmark.BenchmarkPositions.*;
+import java.util.*;
+import java.util.concurrent.*;
+import org.openjdk.jmh.annotations.*;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import nl.gogognome.gogochess.benchmark.*;
+import nl.gogognome.gogochess.juice.Module;
+import nl.gogognome.gogochess.logic.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+	@Param({ INITIAL, OPENING, KIWIPETE, MIDDLE_GAME, PROMOTIONS, END_GAME })
+	public String position;
+
+	private Board board;
+	private Move captureOrFirstMove;
+	private QuiescenceSearch quiescenceSearch;
+	private MiniMaxAlphaBetaArtificialIntelligence ai;
+
+	@Setup
+	public void setup() {
+		Injector injector = Guice.createInjector(new Module());
+		BoardEvaluator boardEvaluator = injector.getInstance(BoardEvaluator.class);
+		quiescenceSearch = new QuiescenceSearch(boardEvaluator, new Statistics(), new KillerHeuristic());
+		ai = injector.getInstance(MiniMaxAlphaBetaArtificialIntelligence.class);
+
+		board = BenchmarkPositions.board(position);
+		List<Move> captures = board.currentPlayer().validCaptures(board);
+		captureOrFirstMove = captures.isEmpty() ? board.currentPlayer().validMoves(board).get(0) : captures.get(0);
+	}
+
+	/** Performs a quiescence search after a capture, or after the first valid move if no capture is possible. */
+	@Benchmark
+	public Move quiescenceSearch() {
+		return quiescenceSearch.search(board, captureOrFirstMove, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	/** Determines the next move with a fixed search depth. */
+	@Benchmark
+	public Move nextMove(Depth depth) {
+		ai.setMaxDepth(depth.depth);
+		ai.setSearchAlgorithm(depth.searchAlgorithm);
+		return ai.nextMove(board, board.currentPlayer(), new ProgressListener());
+	}
+
+	@State(Scope.Thread)
+	public static class Depth {
+
+		@Param({ "1", "2" })
+		public int depth;
+
+		@Param({ "ALPHA_BETA", "PRINCIPAL_VARIATION_SEARCH" })
+		public SearchAlgorithm searchAlgorithm;
+	}
+}
@@ -1,6 +1,5 @@
 package nl.gogognome.gogochess.gui;
 
-import static com.google.common.primitives.Ints.*;
 import static java.util.stream.Collectors.*;
 import java.util.*;
 import java.util.concurrent.*;
@@ -15,10 +14,9 @@ public class AiController {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private final ScheduledExecutorService executorService = Executors.newScheduledThreadPool(3);
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
     private final ArtificialIntelligence ai;
     private final MoveNotation moveNotation;
-    private final ScheduledFuture<?> tickFuture;
 
     /**
      * Indicates if this controller has been closed. Once closed, no methods on this instance must be called anymore.
@@ -33,8 +31,6 @@ public class AiController {
             .withBestMovesConsumer(this::onBestMovesReceived);
 
     private long aiStartTime;
-    private long aiMaxEndTime;
-    private long lastTimeMaxDepthDeltaWasChanged;
     private AIThinkingLimit thinkingLimit = AIThinkingLimit.seconds(15);
 
     private boolean computerThinksDuringOpponentsTurn;
@@ -46,9 +42,6 @@ public class AiController {
      * The computer is currently thinking.
      */
     private Semaphore thinkingSemaphore = new Semaphore(1);
-    private int lastKnownPercentage;
-    private int initialMaxDepthForTimeLimit = 2;
-    private List<Integer> lastInitialMaxDepths;
 
     private BlockingDeque<Runnable> actionQueue = new LinkedBlockingDeque<>();
     private boolean actionQueueTerminated;
@@ -58,15 +51,9 @@ public class AiController {
     public AiController(ArtificialIntelligence ai, MoveNotation moveNotation) {
         this.ai = ai;
         this.moveNotation = moveNotation;
-        init();
-        tickFuture = executorService.scheduleWithFixedDelay(this::onTick, 0, 1, TimeUnit.SECONDS);
         actionQueueFuture = executorService.submit(this::actionQueueHandler);
     }
 
-    void init() {
-        lastInitialMaxDepths = new ArrayList<>(asList(2, 2, 2, 2));
-    }
-
     private void actionQueueHandler() {
         logger.debug("Action queue handler started");
         while (!actionQueueTerminated) {
@@ -87,26 +74,6 @@ public class AiController {
         actionQueue.add(runnable);
     }
 
-    private void onTick() {
-        try {
-            if (!isComputerThinking()) {
-                return;
-            }
-
-            updateMaxDepthDelta(lastKnownPercentage);
-        } catch (Exception e) {
-            logger.error(e.getMessage(), e);
-        }
-    }
-
-    private boolean isComputerThinking() {
-        if (thinkingSemaphore.tryAcquire()) {
-            thinkingSemaphore.release();
-            return false;
-        }
-        return true;
-    }
-
     void setPercentageConsumer(Consumer<Integer> percentageConsumer) {
         scheduleAction(() -> this.percentageConsumer = percentageConsumer);
     }
@@ -135,7 +102,6 @@ public class AiController {
     }
 
     private void setPercentage(int percentage) {
-        lastKnownPercentage = percentage;
         if (!computerThinksDuringOpponentsTurn) {
             percentageConsumer.accept(percentage);
         }
@@ -161,6 +127,7 @@ public class AiController {
         }
 
         if (computerThinksDuringOpponentsTurn) {
+            // Positions evaluated so far are kept in the transposition table of the AI and are reused by the next search
             logger.debug("Cancel computer thinking in opponents turn because the opponent made a different move than expected.");
             ai.cancel();
             computerThinksDuringOpponentsTurn = false;
@@ -228,20 +195,18 @@ public class AiController {
 
     private void setupSearchParameters() {
         aiStartTime = System.currentTimeMillis();
-        progressListener.getMaxDepthDelta().set(0);
+        if (!(ai instanceof RecursiveSearchAI)) {
+            return;
+        }
+        RecursiveSearchAI recursiveSearchAI = (RecursiveSearchAI) ai;
         switch (thinkingLimit.getUnit()) {
             case SECONDS:
-                int maxSecondsToThink = thinkingLimit.getUnit() == AIThinkingLimit.Unit.SECONDS ? thinkingLimit.getValue() : 15;
-                aiMaxEndTime = aiStartTime + maxSecondsToThink * 1000;
-                ((RecursiveSearchAI) ai).setMaxDepth(initialMaxDepthForTimeLimit);
+                recursiveSearchAI.setTimeControl(TimeControl.moveTime(thinkingLimit.getValue() * 1000L));
                 break;
 
             case LEVEL:
-                if (ai instanceof RecursiveSearchAI) {
-                    ((RecursiveSearchAI) ai).setMaxDepth(thinkingLimit.getValue());
-                }
-                // Initialize maxEndTime in case the user toggles from level to time while the computer is thinking.
-                aiMaxEndTime = aiStartTime + 15 * 1000;
+                recursiveSearchAI.setTimeControl(null);
+                recursiveSearchAI.setMaxDepth(thinkingLimit.getValue());
                 break;
             default:
                throw new IllegalStateException("Unknown unit encountered: " + thinkingLimit.getValue());
@@ -253,10 +218,6 @@ public class AiController {
         int actualSeconds = (int) ((aiEndTime - aiStartTime) / 1000);
         logger.debug("Computer has thought for " + actualSeconds + " seconds");
 
-        if (actualSeconds > 1 || move.depthInTree() > 5) {
-            updateInitialMaxDepth(actualSeconds, progressListener.getMaxDepthDelta().get());
-        }
-
         if (computerThinksDuringOpponentsTurn) {
             logger.debug("Store response to expected move " + moveNotation.format(lastMove) + ": " + moveNotation.format(move) + ", value: " + move.getValue());
             responseToExpectedOpponentsMove = move;
@@ -267,80 +228,6 @@ public class AiController {
         }
     }
 
-    private void updateInitialMaxDepth(int actualSeconds, int lastMaxDepthDelta) {
-        if (thinkingLimit.getUnit() != AIThinkingLimit.Unit.SECONDS) {
-            return;
-        }
-
-        lastInitialMaxDepths.add(calculateNextInitialMaxDepth(actualSeconds, lastMaxDepthDelta));
-        lastInitialMaxDepths.remove(0);
-        int nextInitialMaxDepth = (int) (lastInitialMaxDepths.stream()
-                .mapToInt(v -> v)
-                .average()
-                .orElse(initialMaxDepthForTimeLimit) + 0.5);
-        logger.debug("Last initial max depths " + lastInitialMaxDepths);
-        if (nextInitialMaxDepth != initialMaxDepthForTimeLimit) {
-            logger.debug("Changed initial max depth from " + initialMaxDepthForTimeLimit + " to " + nextInitialMaxDepth);
-            initialMaxDepthForTimeLimit = nextInitialMaxDepth;
-        }
-    }
-
-    private int calculateNextInitialMaxDepth(int actualSeconds, int lastMaxDepthDelta) {
-        int nextInitialMaxDepth = initialMaxDepthForTimeLimit;
-        if (actualSeconds <= 0.8f * thinkingLimit.getValue()) {
-            nextInitialMaxDepth++;
-        }
-        if (actualSeconds <= 0.5f * thinkingLimit.getValue()) {
-            nextInitialMaxDepth++;
-        }
-        if (actualSeconds >= 1.2f * thinkingLimit.getValue()) {
-            nextInitialMaxDepth--;
-        }
-        if (actualSeconds >= 1.5f * thinkingLimit.getValue()) {
-            nextInitialMaxDepth--;
-        }
-        if (actualSeconds >= 2.0f * thinkingLimit.getValue()) {
-            nextInitialMaxDepth--;
-        }
-
-        if (lastMaxDepthDelta <= -2) {
-            nextInitialMaxDepth--;
-        }
-
-        return nextInitialMaxDepth;
-    }
-
-    private void updateMaxDepthDelta(int percentage) {
-        if (thinkingLimit.getUnit() != AIThinkingLimit.Unit.SECONDS) {
-            return;
-        }
-
-        long now = System.currentTimeMillis();
-        long duration = now - aiStartTime;
-        if (duration < 500 || lastTimeMaxDepthDeltaWasChanged + 100 > now) {
-            return;
-        }
-
-        long targetDuration = aiMaxEndTime - aiStartTime;
-        int durationPercentage = (int) (100 * duration / targetDuration);
-        float timeLeftPercentage = 100 - durationPercentage;
-        float workLeftPercentage = 100 - percentage;
-        if (workLeftPercentage <= 10) {
-            return;
-        }
-
-        int currentMaxDepthDelta = progressListener.getMaxDepthDelta().get();
-        int maxDepthDelta = timeLeftPercentage > 0
-                ? (int) Math.round(Math.log(timeLeftPercentage / workLeftPercentage) / Math.log(2))
-                : currentMaxDepthDelta-1;
-
-        if (-2 <= maxDepthDelta && maxDepthDelta <= 0 && maxDepthDelta != currentMaxDepthDelta) {
-            progressListener.getMaxDepthDelta().set(maxDepthDelta);
-            lastTimeMaxDepthDeltaWasChanged = now;
-            logger.debug("Duration " + duration + ", Target duration: " + targetDuration + ", Duration %: " + durationPercentage + ", %: " + percentage + ", New delta: " + maxDepthDelta);
-        }
-    }
-
     void cancelThinking() {
         ai.cancel();
         try {
@@ -356,7 +243,6 @@ public class AiController {
             throw new IllegalStateException("close() has been called before!");
         }
 
-        tickFuture.cancel(false);
         scheduleAction(() -> actionQueueTerminated = true);
         actionQueueFuture.cancel(false);
         cancelThinking();
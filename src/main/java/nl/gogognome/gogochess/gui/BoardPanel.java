@@ -70,7 +70,7 @@ public class BoardPanel extends JPanel {
 		squareToPlayerPiece.clear();
 		for (int y=0; y<8; y++) {
 			for (int x = 0; x < 8; x++) {
-				Square square = new Square(x, y);
+				Square square = Square.fromFileAndRank(x, y);
 				squareToPlayerPiece.put(square, board.pieceAt(square));
 			}
 		}
@@ -99,7 +99,7 @@ public class BoardPanel extends JPanel {
 
 		for (int y=0; y<8; y++) {
 			for (int x=0; x<8; x++) {
-				Square square = new Square(x, y);
+				Square square = Square.fromFileAndRank(x, y);
 				Color squareColor = SQUARE_COLORS[(x + y) % 2];
 				if (presentationModel.getTargets() != null && presentationModel.getTargets().contains(square)) {
 					squareColor = squareColor.darker();
@@ -190,7 +190,7 @@ public class BoardPanel extends JPanel {
 	}
 
 	private Square getSquare(int x, int y) {
-		return new Square(x / squareSize, 7 - y/squareSize);
+		return Square.fromFileAndRank(x / squareSize, 7 - y/squareSize);
 	}
 
 	private void paintGameOverOverlay(Graphics g) {
@@ -247,7 +247,6 @@ public class GamePresentationModel {
 		moves.add(board.lastMove()); // add board setup move to the moves
 		lastMoveIndex = 0;
 		targets = null; // prevents showing the last move of previous game in new game
-		aiController.init();
 		onStartThinking();
 		fireEvent(Event.SETTING_CHANGED);
 		fireEvent(Event.STATE_CHANGED);
@@ -16,7 +16,7 @@ import nl.gogognome.gogochess.logic.movenotation.*;
 public class Start {
 
 	public static void main(String[] args) {
-		Injector injector = Guice.createInjector(new Module());
+		Injector injector = Guice.createInjector(new Module(Runtime.getRuntime().availableProcessors(), ParallelSearchMode.LAZY_SMP, true));
 		JFrame frame = new JFrame("Gogo Chess");
 
 		GamePresentationModel gamePresentationModel = injector.getInstance(GamePresentationModel.class);
@@ -9,6 +9,40 @@ import nl.gogognome.gogochess.logic.movenotation.*;
 
 public class Module extends AbstractModule {
 
+	private final int nrSearchThreads;
+	private final ParallelSearchMode parallelSearchMode;
+	private final boolean forwardPruning;
+
+	public Module() {
+		this(1);
+	}
+
+	/**
+	 * @param nrSearchThreads the number of threads that search for the next move of the computer
+	 */
+	public Module(int nrSearchThreads) {
+		this(nrSearchThreads, ParallelSearchMode.LAZY_SMP);
+	}
+
+	/**
+	 * @param nrSearchThreads the number of threads that search for the next move of the computer
+	 * @param parallelSearchMode determines how the search is divided over the threads
+	 */
+	public Module(int nrSearchThreads, ParallelSearchMode parallelSearchMode) {
+		this(nrSearchThreads, parallelSearchMode, false);
+	}
+
+	/**
+	 * @param nrSearchThreads the number of threads that search for the next move of the computer
+	 * @param parallelSearchMode determines how the search is divided over the threads
+	 * @param forwardPruning true if the search uses null move pruning and late move reductions
+	 */
+	public Module(int nrSearchThreads, ParallelSearchMode parallelSearchMode, boolean forwardPruning) {
+		this.nrSearchThreads = nrSearchThreads;
+		this.parallelSearchMode = parallelSearchMode;
+		this.forwardPruning = forwardPruning;
+	}
+
 	@Override
 	protected void configure() {
 		bind(MoveNotation.class).to(ReverseAlgebraicNotation.class);
@@ -18,7 +52,8 @@ public class Module extends AbstractModule {
 	BoardEvaluator provideBoardEvaluator() {
 		return new CompositeBoardEvaluator(
 				new EndOfGameBoardEvaluator(),
-				new PieceValueEvaluator());
+				new PieceValueEvaluator(),
+				new EndgameWithPiecesBoardEvaluator());
 	}
 
 	@Provides
@@ -40,7 +75,11 @@ public class Module extends AbstractModule {
 		Statistics statistics = new Statistics();
 		KillerHeuristic killerHeuristic = new KillerHeuristic();
 		QuiescenceSearch quiescenceSearch = new QuiescenceSearch(boardEvaluator, statistics, killerHeuristic);
-		return new MiniMaxAlphaBetaArtificialIntelligence(boardEvaluator, positionalAnalysis, moveSort, statistics, quiescenceSearch, killerHeuristic);
+		MiniMaxAlphaBetaArtificialIntelligence ai = new MiniMaxAlphaBetaArtificialIntelligence(boardEvaluator, positionalAnalysis, moveSort, statistics, quiescenceSearch, killerHeuristic);
+		ai.setNrThreads(nrSearchThreads, parallelSearchMode);
+		ai.setNullMovePruning(forwardPruning);
+		ai.setLateMoveReductions(forwardPruning);
+		return ai;
 	}
 
 	@Provides
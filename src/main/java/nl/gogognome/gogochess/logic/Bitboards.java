@@ -0,0 +1,224 @@
+package nl.gogognome.gogochess.logic;
+
+import static nl.gogognome.gogochess.logic.Player.*;
+
+/**
+ * This class contains precomputed tables and helper methods for bitboards. A bitboard is a long in which bit i
+ * is set if and only if the square with board index i (i.e., file * 8 + rank) belongs to the set of squares.
+ */
+public class Bitboards {
+
+	public final static int EAST = 0;
+	public final static int WEST = 1;
+	public final static int NORTH = 2;
+	public final static int SOUTH = 3;
+	public final static int NORTH_EAST = 4;
+	public final static int SOUTH_EAST = 5;
+	public final static int NORTH_WEST = 6;
+	public final static int SOUTH_WEST = 7;
+	public final static int NR_DIRECTIONS = 8;
+
+	/**
+	 * Deltas in files and ranks for the directions in which sliding pieces move. Directions 0 to 3 are the directions
+	 * of a rook, directions 4 to 7 are the directions of a bishop.
+	 */
+	private final static int[] DIRECTION_DELTA_FILES = new int[] { 1, -1, 0, 0, 1, 1, -1, -1 };
+	private final static int[] DIRECTION_DELTA_RANKS = new int[] { 0, 0, 1, -1, 1, -1, 1, -1 };
+
+	private final static int[] OPPOSITE_DIRECTIONS = new int[] { WEST, EAST, SOUTH, NORTH, SOUTH_WEST, NORTH_WEST, SOUTH_EAST, NORTH_EAST };
+
+	private final static int[] KNIGHT_DELTA_FILES = new int[] { 1, 1, -1, -1, 2, 2, -2, -2 };
+	private final static int[] KNIGHT_DELTA_RANKS = new int[] { 2, -2, 2, -2, 1, -1, 1, -1 };
+
+	private final static long[][] RAYS = new long[NR_DIRECTIONS][64];
+	private final static long[] KNIGHT_ATTACKS = new long[64];
+	private final static long[] KING_ATTACKS = new long[64];
+	private final static long[][] PAWN_ATTACKS = new long[2][64];
+	private final static long[][] BETWEEN = new long[64][64];
+	private final static long[][] LINE = new long[64][64];
+	private final static long[] FILES = new long[8];
+	private final static long[] ADJACENT_FILES = new long[8];
+	private final static long[][] PASSED_PAWN_SPANS = new long[2][64];
+
+	static {
+		for (int file=0; file<8; file++) {
+			for (int rank=0; rank<8; rank++) {
+				int index = file * 8 + rank;
+				for (int direction=0; direction<NR_DIRECTIONS; direction++) {
+					RAYS[direction][index] = ray(file, rank, DIRECTION_DELTA_FILES[direction], DIRECTION_DELTA_RANKS[direction]);
+					KING_ATTACKS[index] |= bitOrZero(file + DIRECTION_DELTA_FILES[direction], rank + DIRECTION_DELTA_RANKS[direction]);
+				}
+				for (int i=0; i<KNIGHT_DELTA_FILES.length; i++) {
+					KNIGHT_ATTACKS[index] |= bitOrZero(file + KNIGHT_DELTA_FILES[i], rank + KNIGHT_DELTA_RANKS[i]);
+				}
+				PAWN_ATTACKS[WHITE.ordinal()][index] = bitOrZero(file - 1, rank + 1) | bitOrZero(file + 1, rank + 1);
+				PAWN_ATTACKS[BLACK.ordinal()][index] = bitOrZero(file - 1, rank - 1) | bitOrZero(file + 1, rank - 1);
+			}
+		}
+		for (int index=0; index<64; index++) {
+			for (int direction=0; direction<NR_DIRECTIONS; direction++) {
+				int oppositeDirection = OPPOSITE_DIRECTIONS[direction];
+				long ray = RAYS[direction][index];
+				while (ray != 0) {
+					int otherIndex = Long.numberOfTrailingZeros(ray);
+					ray &= ray - 1;
+					BETWEEN[index][otherIndex] = RAYS[direction][index] & RAYS[oppositeDirection][otherIndex];
+					LINE[index][otherIndex] = RAYS[direction][index] | RAYS[oppositeDirection][index] | (1L << index);
+				}
+			}
+		}
+		for (int file=0; file<8; file++) {
+			FILES[file] = 0xffL << (file * 8);
+		}
+		for (int file=0; file<8; file++) {
+			ADJACENT_FILES[file] = (file > 0 ? FILES[file - 1] : 0) | (file < 7 ? FILES[file + 1] : 0);
+			for (int rank=0; rank<8; rank++) {
+				int index = file * 8 + rank;
+				PASSED_PAWN_SPANS[WHITE.ordinal()][index] = RAYS[NORTH][index]
+						| (file > 0 ? RAYS[NORTH][index - 8] : 0)
+						| (file < 7 ? RAYS[NORTH][index + 8] : 0);
+				PASSED_PAWN_SPANS[BLACK.ordinal()][index] = RAYS[SOUTH][index]
+						| (file > 0 ? RAYS[SOUTH][index - 8] : 0)
+						| (file < 7 ? RAYS[SOUTH][index + 8] : 0);
+			}
+		}
+	}
+
+	private static long ray(int file, int rank, int deltaFile, int deltaRank) {
+		long ray = 0;
+		for (int f = file + deltaFile, r = rank + deltaRank; ((f | r) & ~7) == 0; f += deltaFile, r += deltaRank) {
+			ray |= 1L << (f * 8 + r);
+		}
+		return ray;
+	}
+
+	private static long bitOrZero(int file, int rank) {
+		return ((file | rank) & ~7) == 0 ? 1L << (file * 8 + rank) : 0;
+	}
+
+	public static long bitOf(Square square) {
+		return 1L << square.boardIndex();
+	}
+
+	public static long knightAttacks(int squareIndex) {
+		return KNIGHT_ATTACKS[squareIndex];
+	}
+
+	public static long kingAttacks(int squareIndex) {
+		return KING_ATTACKS[squareIndex];
+	}
+
+	/**
+	 * @param player the player owning the pawn
+	 * @param squareIndex the board index of the pawn's square
+	 * @return the squares attacked by the pawn
+	 */
+	public static long pawnAttacks(Player player, int squareIndex) {
+		return PAWN_ATTACKS[player.ordinal()][squareIndex];
+	}
+
+	/**
+	 * @param file the file in the range [0..7]
+	 * @return all squares of the file
+	 */
+	public static long file(int file) {
+		return FILES[file];
+	}
+
+	/**
+	 * @param file the file in the range [0..7]
+	 * @return all squares of the files left and right of the file
+	 */
+	public static long adjacentFiles(int file) {
+		return ADJACENT_FILES[file];
+	}
+
+	/**
+	 * @param player the player owning the pawn
+	 * @param squareIndex the board index of the pawn's square
+	 * @return the squares in front of the pawn in its own file and in the adjacent files. The pawn is a passed pawn
+	 * if none of these squares contains a pawn of the opponent.
+	 */
+	public static long passedPawnSpan(Player player, int squareIndex) {
+		return PASSED_PAWN_SPANS[player.ordinal()][squareIndex];
+	}
+
+	/**
+	 * @param squareIndex1 the board index of a square
+	 * @param squareIndex2 the board index of another square
+	 * @return the squares strictly between the two squares if they lie on the same rank, file or diagonal;
+	 * 0 otherwise
+	 */
+	public static long between(int squareIndex1, int squareIndex2) {
+		return BETWEEN[squareIndex1][squareIndex2];
+	}
+
+	/**
+	 * @param squareIndex1 the board index of a square
+	 * @param squareIndex2 the board index of another square
+	 * @return all squares of the rank, file or diagonal through both squares, from edge to edge; 0 if the squares
+	 * do not lie on the same rank, file or diagonal
+	 */
+	public static long line(int squareIndex1, int squareIndex2) {
+		return LINE[squareIndex1][squareIndex2];
+	}
+
+	/**
+	 * @param direction the direction in the range [0..7]
+	 * @param squareIndex the board index of the start square
+	 * @return all squares in the direction starting at, but excluding, the start square until the edge of the board
+	 */
+	public static long ray(int direction, int squareIndex) {
+		return RAYS[direction][squareIndex];
+	}
+
+	/**
+	 * Determines the squares attacked in a direction by a sliding piece. The attacked squares include the first
+	 * occupied square in the direction, whoever occupies it.
+	 * @param direction the direction in the range [0..7]
+	 * @param squareIndex the board index of the sliding piece
+	 * @param occupied the occupied squares
+	 * @return the attacked squares
+	 */
+	public static long rayAttacks(int direction, int squareIndex, long occupied) {
+		long ray = RAYS[direction][squareIndex];
+		long blockers = ray & occupied;
+		if (blockers == 0) {
+			return ray;
+		}
+		int blockerIndex = isIncreasingDirection(direction) ? Long.numberOfTrailingZeros(blockers) : 63 - Long.numberOfLeadingZeros(blockers);
+		return ray ^ RAYS[direction][blockerIndex];
+	}
+
+	/**
+	 * @param direction the direction in the range [0..7]
+	 * @return true if the board index increases when walking in the direction; false otherwise
+	 */
+	public static boolean isIncreasingDirection(int direction) {
+		return DIRECTION_DELTA_FILES[direction] * 8 + DIRECTION_DELTA_RANKS[direction] > 0;
+	}
+
+	/**
+	 * Determines the squares attacked by a rook using a magic bitboard lookup.
+	 * @param squareIndex the board index of the rook
+	 * @param occupied the occupied squares
+	 * @return the attacked squares, including the first occupied square in each direction
+	 */
+	public static long rookAttacks(int squareIndex, long occupied) {
+		return MagicBitboards.rookAttacks(squareIndex, occupied);
+	}
+
+	/**
+	 * Determines the squares attacked by a bishop using a magic bitboard lookup.
+	 * @param squareIndex the board index of the bishop
+	 * @param occupied the occupied squares
+	 * @return the attacked squares, including the first occupied square in each direction
+	 */
+	public static long bishopAttacks(int squareIndex, long occupied) {
+		return MagicBitboards.bishopAttacks(squareIndex, occupied);
+	}
+
+	public static long queenAttacks(int squareIndex, long occupied) {
+		return rookAttacks(squareIndex, occupied) | bishopAttacks(squareIndex, occupied);
+	}
+}
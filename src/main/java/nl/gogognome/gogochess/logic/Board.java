@@ -7,7 +7,6 @@ import static nl.gogognome.gogochess.logic.Square.*;
 import static nl.gogognome.gogochess.logic.Squares.*;
 import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
 import java.util.*;
-import java.util.concurrent.atomic.*;
 import java.util.function.*;
 import nl.gogognome.gogochess.logic.piece.*;
 
@@ -16,12 +15,70 @@ public class Board {
 	private Move lastMove;
 
 	private final PlayerPiece[] playerPiecesPerSquare = new PlayerPiece[8*8];
-	private final Square[] whitePieceSquares = new Square[2*8];
-	private int nrWhitePieces;
-	private final Square[] blackPieceSquares = new Square[2*8];
-	private int nrBlackPieces;
+	private final long[] bitboardPerPlayerPiece = new long[12];
+	private final int[] nrPiecesPerPlayerPiece = new int[12];
+	private int nrNonPawnPieces;
+	private long whitePieces;
+	private long blackPieces;
 	private final BoardHash boardHash = new BoardHash();
-	private final Map<Long, Integer> hashToNumberOfRepetitions = new HashMap<>();
+	private PawnHashTable pawnHashTable;
+
+	/**
+	 * Used to check whether the player to move has a valid move and to remove illegal moves from generated moves.
+	 * Each board has its own instances, so that a search thread that uses its own board does not create objects
+	 * for this.
+	 */
+	private final int[] moveBuffer = new int[EncodedMoves.MAX_NR_MOVES];
+	private final LegalityChecker legalityChecker = new LegalityChecker();
+
+	/**
+	 * Encoded moves made by {@link #makeMove(int)} on top of lastMove.
+	 */
+	private final int[] madeMoves = new int[MAX_NR_MADE_MOVES];
+	private int nrMadeMoves;
+
+	private final static int MAX_NR_MADE_MOVES = 1024;
+
+	public final static int WHITE_QUEEN_SIDE_CASTLING = 1;
+	public final static int WHITE_KING_SIDE_CASTLING = 2;
+	public final static int BLACK_QUEEN_SIDE_CASTLING = 4;
+	public final static int BLACK_KING_SIDE_CASTLING = 8;
+	private final static int ALL_CASTLING_RIGHTS = 15;
+
+	/**
+	 * Castling rights that are lost when a piece is removed from a square, i.e., when the king or a rook moves away
+	 * or a rook is captured.
+	 */
+	private final static int[] CASTLING_RIGHTS_LOST_BY_SQUARE = new int[64];
+
+	static {
+		CASTLING_RIGHTS_LOST_BY_SQUARE[A1.boardIndex()] = WHITE_QUEEN_SIDE_CASTLING;
+		CASTLING_RIGHTS_LOST_BY_SQUARE[E1.boardIndex()] = WHITE_QUEEN_SIDE_CASTLING | WHITE_KING_SIDE_CASTLING;
+		CASTLING_RIGHTS_LOST_BY_SQUARE[H1.boardIndex()] = WHITE_KING_SIDE_CASTLING;
+		CASTLING_RIGHTS_LOST_BY_SQUARE[A8.boardIndex()] = BLACK_QUEEN_SIDE_CASTLING;
+		CASTLING_RIGHTS_LOST_BY_SQUARE[E8.boardIndex()] = BLACK_QUEEN_SIDE_CASTLING | BLACK_KING_SIDE_CASTLING;
+		CASTLING_RIGHTS_LOST_BY_SQUARE[H8.boardIndex()] = BLACK_KING_SIDE_CASTLING;
+	}
+
+	private int castlingRights = ALL_CASTLING_RIGHTS;
+	private int enPassantCapturablePawnIndex = -1;
+
+	/**
+	 * Castling rights and en passant state before each processed or made move. These are restored when the move
+	 * is undone.
+	 */
+	private int[] stateBeforeMove = new int[256];
+	private int nrStatesBeforeMove;
+
+	/**
+	 * Hashes of the positions after each processed or made move, used to detect repeated positions. For each position
+	 * the index of the position after the last irreversible move is stored too. An irreversible move is a capture,
+	 * a pawn move or a move that loses castling rights. Positions before such a move cannot occur again, so the search
+	 * for repetitions stops there.
+	 */
+	private long[] positionHashes = new long[256];
+	private int[] lastIrreversiblePositionIndices = new int[256];
+	private int nrPositions;
 
 	public void process(BoardMutation... boardMutations) {
 		List<Move> moves = lastMove.getPlayer().opponent().validMoves(this);
@@ -33,6 +90,7 @@ public class Board {
 	}
 
 	public void process(Move move) {
+		unmakeMadeMoves();
 		Move commonAncestor = Move.findCommonAncestor(lastMove, move);
 		undoUntil(commonAncestor);
 		processForwardUntil(move, commonAncestor);
@@ -55,41 +113,244 @@ public class Board {
 		}
 	}
 
-	void tryWithMove(Move move, Runnable runnable) {
-		try {
-			processSingleMove(move);
-			runnable.run();
-		} finally {
-			undoSingleMove(move);
-		}
-	}
-
 	private void processSingleMove(Move move) {
+		pushState();
+		int lostCastlingRights = 0;
+		int oldCastlingRights = castlingRights;
 		for (BoardMutation boardMutation : move.getBoardMutations()) {
 			process(boardMutation);
+			if (boardMutation.getMutation() == BoardMutation.Mutation.REMOVE) {
+				lostCastlingRights |= CASTLING_RIGHTS_LOST_BY_SQUARE[boardMutation.getSquare().boardIndex()];
+			}
 		}
+		updateState(castlingRights & ~lostCastlingRights, determineEnPassantCapturablePawnIndex(move));
 		lastMove = move;
-		updateRepetitionCount(count -> count + 1);
+		pushPosition(!isReversible(move) || castlingRights != oldCastlingRights);
 	}
 
 	private void undoSingleMove(Move move) {
-		updateRepetitionCount(count -> count-1);
+		popPosition();
 		List<BoardMutation> boardMutations = move.getBoardMutations();
 		for (int i=boardMutations.size() - 1; i >=0; i--) {
 			undo(boardMutations.get(i));
 		}
+		popState();
 		lastMove = move.getPrecedingMove();
 	}
 
-	private void updateRepetitionCount(Function<Integer, Integer> countChanger) {
-		long hash = getBoardHash();
-		int count = hashToNumberOfRepetitions.getOrDefault(hash, 0);
-		count = countChanger.apply(count);
-		if (count > 0) {
-			hashToNumberOfRepetitions.put(hash, count);
+	private static int determineEnPassantCapturablePawnIndex(Move move) {
+		if (move.getBoardMutations().size() != 2) {
+			return -1;
+		}
+		BoardMutation removeMutation = move.getBoardMutations().get(0);
+		BoardMutation addMutation = move.getBoardMutations().get(1);
+		if (removeMutation.getMutation() == BoardMutation.Mutation.REMOVE && removeMutation.getPlayerPiece().getPiece() == PAWN
+				&& addMutation.getPlayerPiece().equals(removeMutation.getPlayerPiece())
+				&& addMutation.getSquare().file() == removeMutation.getSquare().file()
+				&& Math.abs(addMutation.getSquare().rank() - removeMutation.getSquare().rank()) == 2) {
+			return addMutation.getSquare().boardIndex();
+		}
+		return -1;
+	}
+
+	private void pushState() {
+		if (nrStatesBeforeMove == stateBeforeMove.length) {
+			stateBeforeMove = Arrays.copyOf(stateBeforeMove, 2 * stateBeforeMove.length);
+		}
+		stateBeforeMove[nrStatesBeforeMove++] = castlingRights | ((enPassantCapturablePawnIndex + 1) << 4);
+	}
+
+	private void popState() {
+		int state = stateBeforeMove[--nrStatesBeforeMove];
+		updateState(state & ALL_CASTLING_RIGHTS, (state >>> 4) - 1);
+	}
+
+	private void updateState(int newCastlingRights, int newEnPassantCapturablePawnIndex) {
+		boardHash.toggleCastlingRights(castlingRights ^ newCastlingRights);
+		boardHash.toggleEnPassant(enPassantCapturablePawnIndex);
+		boardHash.toggleEnPassant(newEnPassantCapturablePawnIndex);
+		castlingRights = newCastlingRights;
+		enPassantCapturablePawnIndex = newEnPassantCapturablePawnIndex;
+	}
+
+	/**
+	 * @param move a move
+	 * @return true if the move only moves a piece other than a pawn to an empty square; false otherwise
+	 */
+	private static boolean isReversible(Move move) {
+		List<BoardMutation> boardMutations = move.getBoardMutations();
+		return boardMutations.size() == 2
+				&& boardMutations.get(0).getMutation() == BoardMutation.Mutation.REMOVE
+				&& boardMutations.get(0).getPlayerPiece().getPiece() != PAWN
+				&& boardMutations.get(1).getPlayerPiece().equals(boardMutations.get(0).getPlayerPiece());
+	}
+
+	private void pushPosition(boolean irreversible) {
+		if (nrPositions == positionHashes.length) {
+			positionHashes = Arrays.copyOf(positionHashes, 2 * positionHashes.length);
+			lastIrreversiblePositionIndices = Arrays.copyOf(lastIrreversiblePositionIndices, 2 * lastIrreversiblePositionIndices.length);
+		}
+		positionHashes[nrPositions] = getBoardHash();
+		lastIrreversiblePositionIndices[nrPositions] = irreversible || nrPositions == 0
+				? nrPositions
+				: lastIrreversiblePositionIndices[nrPositions - 1];
+		nrPositions++;
+	}
+
+	private void popPosition() {
+		nrPositions--;
+	}
+
+	/**
+	 * Makes an encoded move on the board. In contrast to {@link #process(Move)} no {@link Move} is created, so
+	 * {@link #lastMove()} is not changed. Each made move must be undone by {@link #unmakeMove(int)} in reverse
+	 * order.
+	 * @param move the encoded move
+	 */
+	public void makeMove(int move) {
+		if (nrMadeMoves == MAX_NR_MADE_MOVES) {
+			throw new IllegalStateException("Too many moves have been made on the board");
+		}
+		pushState();
+		PlayerPiece playerPiece = EncodedMoves.playerPiece(move);
+		int from = EncodedMoves.from(move);
+		int to = EncodedMoves.to(move);
+		removePlayerPiece(playerPiece, from);
+		int lostCastlingRights = CASTLING_RIGHTS_LOST_BY_SQUARE[from];
+		if (EncodedMoves.isCastling(move)) {
+			PlayerPiece rook = PlayerPieces.fromIndex(PlayerPiece.index(playerPiece.getPlayer(), ROOK));
+			removePlayerPiece(rook, EncodedMoves.castlingRookFrom(move));
+			addPlayerPiece(playerPiece, to);
+			addPlayerPiece(rook, EncodedMoves.castlingRookTo(move));
 		} else {
-			hashToNumberOfRepetitions.remove(hash);
+			if (EncodedMoves.isCapture(move)) {
+				int capturedSquare = EncodedMoves.capturedSquare(move);
+				removePlayerPiece(EncodedMoves.capturedPlayerPiece(move), capturedSquare);
+				lostCastlingRights |= CASTLING_RIGHTS_LOST_BY_SQUARE[capturedSquare];
+			}
+			addPlayerPiece(EncodedMoves.playerPieceAfterMove(move), to);
 		}
+		boolean castlingRightsLost = (castlingRights & lostCastlingRights) != 0;
+		updateState(castlingRights & ~lostCastlingRights, EncodedMoves.isDoublePawnPush(move) ? to : -1);
+		madeMoves[nrMadeMoves++] = move;
+		pushPosition(castlingRightsLost || EncodedMoves.isCapture(move) || EncodedMoves.isCastling(move)
+				|| playerPiece.getPiece() == PAWN);
+	}
+
+	/**
+	 * Undoes an encoded move that was made by {@link #makeMove(int)}.
+	 * @param move the encoded move
+	 */
+	public void unmakeMove(int move) {
+		if (nrMadeMoves == 0 || madeMoves[nrMadeMoves - 1] != move) {
+			throw new IllegalStateException("The move to be undone is not the last made move");
+		}
+		popPosition();
+		nrMadeMoves--;
+		PlayerPiece playerPiece = EncodedMoves.playerPiece(move);
+		int from = EncodedMoves.from(move);
+		int to = EncodedMoves.to(move);
+		if (EncodedMoves.isCastling(move)) {
+			PlayerPiece rook = PlayerPieces.fromIndex(PlayerPiece.index(playerPiece.getPlayer(), ROOK));
+			removePlayerPiece(rook, EncodedMoves.castlingRookTo(move));
+			removePlayerPiece(playerPiece, to);
+			addPlayerPiece(rook, EncodedMoves.castlingRookFrom(move));
+		} else {
+			removePlayerPiece(EncodedMoves.playerPieceAfterMove(move), to);
+			if (EncodedMoves.isCapture(move)) {
+				addPlayerPiece(EncodedMoves.capturedPlayerPiece(move), EncodedMoves.capturedSquare(move));
+			}
+		}
+		addPlayerPiece(playerPiece, from);
+		popState();
+	}
+
+	/**
+	 * Passes the turn to the opponent without moving a piece. The null move must be undone by
+	 * {@link #unmakeNullMove()}. The position before the null move is not taken into account to detect repetitions.
+	 */
+	public void makeNullMove() {
+		if (nrMadeMoves == MAX_NR_MADE_MOVES) {
+			throw new IllegalStateException("Too many moves have been made on the board");
+		}
+		int nullMove = EncodedMoves.nullMove(currentPlayer());
+		pushState();
+		updateState(castlingRights, -1);
+		madeMoves[nrMadeMoves++] = nullMove;
+		pushPosition(true);
+	}
+
+	/**
+	 * Undoes a null move that was made by {@link #makeNullMove()}.
+	 */
+	public void unmakeNullMove() {
+		if (nrMadeMoves == 0 || !EncodedMoves.isNullMove(madeMoves[nrMadeMoves - 1])) {
+			throw new IllegalStateException("The move to be undone is not a null move");
+		}
+		popPosition();
+		nrMadeMoves--;
+		popState();
+	}
+
+	private void unmakeMadeMoves() {
+		while (nrMadeMoves > 0) {
+			int move = madeMoves[nrMadeMoves - 1];
+			if (EncodedMoves.isNullMove(move)) {
+				unmakeNullMove();
+			} else {
+				unmakeMove(move);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of encoded moves made on top of the last processed {@link Move}
+	 */
+	public int nrMadeMoves() {
+		return nrMadeMoves;
+	}
+
+	/**
+	 * @return the depth in the tree of the last move, including the moves made by {@link #makeMove(int)}
+	 */
+	public int lastMoveDepthInTree() {
+		return lastMove.depthInTree() + nrMadeMoves;
+	}
+
+	/**
+	 * Copies the position of another board to this board, including the encoded moves made on the other board and
+	 * the hashes of the earlier positions that are needed to detect repetitions. In contrast to
+	 * {@link #process(Move)} the moves that lead to the position are not replayed.
+	 * @param board the board to copy
+	 */
+	public void copyFrom(Board board) {
+		lastMove = board.lastMove;
+		System.arraycopy(board.playerPiecesPerSquare, 0, playerPiecesPerSquare, 0, playerPiecesPerSquare.length);
+		System.arraycopy(board.bitboardPerPlayerPiece, 0, bitboardPerPlayerPiece, 0, bitboardPerPlayerPiece.length);
+		System.arraycopy(board.nrPiecesPerPlayerPiece, 0, nrPiecesPerPlayerPiece, 0, nrPiecesPerPlayerPiece.length);
+		nrNonPawnPieces = board.nrNonPawnPieces;
+		whitePieces = board.whitePieces;
+		blackPieces = board.blackPieces;
+		boardHash.copyFrom(board.boardHash);
+
+		System.arraycopy(board.madeMoves, 0, madeMoves, 0, board.nrMadeMoves);
+		nrMadeMoves = board.nrMadeMoves;
+
+		castlingRights = board.castlingRights;
+		enPassantCapturablePawnIndex = board.enPassantCapturablePawnIndex;
+		if (stateBeforeMove.length < board.nrStatesBeforeMove) {
+			stateBeforeMove = new int[board.stateBeforeMove.length];
+		}
+		System.arraycopy(board.stateBeforeMove, 0, stateBeforeMove, 0, board.nrStatesBeforeMove);
+		nrStatesBeforeMove = board.nrStatesBeforeMove;
+
+		if (positionHashes.length < board.nrPositions) {
+			positionHashes = new long[board.positionHashes.length];
+			lastIrreversiblePositionIndices = new int[board.lastIrreversiblePositionIndices.length];
+		}
+		System.arraycopy(board.positionHashes, 0, positionHashes, 0, board.nrPositions);
+		System.arraycopy(board.lastIrreversiblePositionIndices, 0, lastIrreversiblePositionIndices, 0, board.nrPositions);
+		nrPositions = board.nrPositions;
 	}
 
 	void process(BoardMutation mutation) {
@@ -119,67 +380,72 @@ public class Board {
 	}
 
 	private void addPlayerPiece(PlayerPiece playerPieceToAdd, Square square) {
-		int index = square.boardIndex();
+		addPlayerPiece(playerPieceToAdd, square.boardIndex());
+	}
+
+	private void addPlayerPiece(PlayerPiece playerPieceToAdd, int index) {
 		PlayerPiece playerPiece = playerPiecesPerSquare[index];
 		if (playerPiece != null) {
-			throw new IllegalArgumentException("The square " + square + " is not empty. It contains " + playerPiece + '.');
+			throw new IllegalArgumentException("The square " + Squares.fromBoardIndex(index) + " is not empty. It contains " + playerPiece + '.');
 		}
 		playerPiecesPerSquare[index] = playerPieceToAdd;
 
+		long bit = 1L << index;
+		bitboardPerPlayerPiece[playerPieceToAdd.index()] |= bit;
+		nrPiecesPerPlayerPiece[playerPieceToAdd.index()]++;
+		if (playerPieceToAdd.getPiece() != PAWN) {
+			nrNonPawnPieces++;
+		}
 		if (playerPieceToAdd.getPlayer() == WHITE) {
-			whitePieceSquares[nrWhitePieces++] = square;
+			whitePieces |= bit;
 		} else {
-			blackPieceSquares[nrBlackPieces++] = square;
+			blackPieces |= bit;
 		}
 
-		boardHash.addPlayerPiece(playerPieceToAdd, square);
+		boardHash.addPlayerPiece(playerPieceToAdd, index);
 	}
 
 	private void removePlayerPiece(PlayerPiece playerPieceToRemove, Square square) {
-		int index = square.boardIndex();
+		removePlayerPiece(playerPieceToRemove, square.boardIndex());
+	}
+
+	private void removePlayerPiece(PlayerPiece playerPieceToRemove, int index) {
 		PlayerPiece playerPiece = playerPiecesPerSquare[index];
 		if (playerPiece == null) {
-			throw new IllegalArgumentException("The square " + square + " is empty, instead of containing " + playerPieceToRemove + '.');
+			throw new IllegalArgumentException("The square " + Squares.fromBoardIndex(index) + " is empty, instead of containing " + playerPieceToRemove + '.');
 		}
 		if (!playerPiece.equals(playerPieceToRemove)) {
-			throw new IllegalArgumentException("The square " + square + " does not contain " + playerPieceToRemove + ". It contains " + playerPiece + '.');
+			throw new IllegalArgumentException("The square " + Squares.fromBoardIndex(index) + " does not contain " + playerPieceToRemove + ". It contains " + playerPiece + '.');
 		}
 		playerPiecesPerSquare[index] = null;
 
+		long bit = 1L << index;
+		bitboardPerPlayerPiece[playerPieceToRemove.index()] &= ~bit;
+		nrPiecesPerPlayerPiece[playerPieceToRemove.index()]--;
+		if (playerPieceToRemove.getPiece() != PAWN) {
+			nrNonPawnPieces--;
+		}
 		if (playerPieceToRemove.getPlayer() == WHITE) {
-			for (int i=nrWhitePieces-1; i>=0; i--) {
-				if (whitePieceSquares[i].equals(square)) {
-					whitePieceSquares[i] = whitePieceSquares[--nrWhitePieces];
-					break;
-				}
-			}
+			whitePieces &= ~bit;
 		} else {
-			for (int i=nrBlackPieces-1; i>=0; i--) {
-				if (blackPieceSquares[i].equals(square)) {
-					blackPieceSquares[i] = blackPieceSquares[--nrBlackPieces];
-					break;
-				}
-			}
+			blackPieces &= ~bit;
 		}
 
-		boardHash.removePlayerPiece(playerPieceToRemove, square);
+		boardHash.removePlayerPiece(playerPieceToRemove, index);
 	}
 
 	/**
-	 * Process a move, call the supplier and undo the move.
+	 * Make a move, call the supplier and unmake the move.
 	 *
-	 * @param move the move
+	 * @param move the encoded move
 	 * @param supplier the supplier
 	 * @param <T> type of the return value
 	 * @return the value provided by the supplier
 	 */
-	public <T> T temporarilyMove(Move move, Supplier<T> supplier) {
-		Move lastMove = lastMove();
-		process(move);
-
+	public <T> T temporarilyMakeMove(int move, Supplier<T> supplier) {
+		makeMove(move);
 		T value = supplier.get();
-
-		process(lastMove);
+		unmakeMove(move);
 		return value;
 	}
 
@@ -187,6 +453,14 @@ public class Board {
 		return playerPiecesPerSquare[square.boardIndex()];
 	}
 
+	/**
+	 * @param squareIndex the board index of a square
+	 * @return the player piece on the square or null if the square is empty
+	 */
+	public PlayerPiece pieceAt(int squareIndex) {
+		return playerPiecesPerSquare[squareIndex];
+	}
+
 	/**
 	 * Checks if the square is empty.
 	 * @param square the square
@@ -207,52 +481,78 @@ public class Board {
 	}
 
 	public Square kingSquareOf(Player player) {
-		King king = new King(player);
-		if (player == WHITE) {
-			for (int i=0; i<nrWhitePieces; i++) {
-				if (king.equals(playerPiecesPerSquare[whitePieceSquares[i].boardIndex()])) {
-					return whitePieceSquares[i];
-				}
-			}
-		} else {
-			for (int i=0; i<nrBlackPieces; i++) {
-				if (king.equals(playerPiecesPerSquare[blackPieceSquares[i].boardIndex()])) {
-					return blackPieceSquares[i];
-				}
-			}
-		}
-		return null;
+		long kings = bitboardOf(player, KING);
+		return kings != 0 ? ALL.get(Long.numberOfTrailingZeros(kings)) : null;
+	}
+
+	/**
+	 * @param playerPiece a player piece
+	 * @return bitboard of the squares containing the player piece
+	 */
+	public long bitboardOf(PlayerPiece playerPiece) {
+		return bitboardPerPlayerPiece[playerPiece.index()];
+	}
+
+	/**
+	 * @param player a player
+	 * @param piece a piece
+	 * @return bitboard of the squares containing the piece of the player
+	 */
+	public long bitboardOf(Player player, Piece piece) {
+		return bitboardPerPlayerPiece[PlayerPiece.index(player, piece)];
+	}
+
+	/**
+	 * @param playerPiece a player piece
+	 * @return the number of occurrences of the player piece on the board
+	 */
+	public int nrPiecesOf(PlayerPiece playerPiece) {
+		return nrPiecesPerPlayerPiece[playerPiece.index()];
+	}
+
+	/**
+	 * @param player a player
+	 * @param piece a piece
+	 * @return the number of occurrences of the piece of the player on the board
+	 */
+	public int nrPiecesOf(Player player, Piece piece) {
+		return nrPiecesPerPlayerPiece[PlayerPiece.index(player, piece)];
+	}
+
+	/**
+	 * @param player a player
+	 * @return bitboard of the squares containing a piece of the player
+	 */
+	public long bitboardOf(Player player) {
+		return player == WHITE ? whitePieces : blackPieces;
+	}
+
+	/**
+	 * @return bitboard of the squares containing a piece
+	 */
+	public long occupiedSquares() {
+		return whitePieces | blackPieces;
 	}
 
 	public void forEachPlayerPieceWhere(Player player, BiPredicate<PlayerPiece, Square> where, BiConsumer<PlayerPiece, Square> action) {
 		BiConsumer<PlayerPiece, Square> actionForMatchingPlayerPieceAndSquare = (playerPiece, square) -> {
 			if (where.test(playerPiece, square)) action.accept(playerPiece, square);
 		};
-		forEachPlayerPiece(player, actionForMatchingPlayerPieceAndSquare, () -> false);
+		forEachPlayerPiece(player, actionForMatchingPlayerPieceAndSquare);
 	}
 
 	public void forEachPlayerPiece(Player player, BiConsumer<PlayerPiece, Square> action) {
-		forEachPlayerPiece(player, action, () -> false);
-	}
-
-	void forEachPlayerPiece(Player player, BiConsumer<PlayerPiece, Square> action, Supplier<Boolean> terminateIf) {
-		Square[] tempSquares;
-		int nrTempSquares;
-		if (player == WHITE) {
-			tempSquares = new Square[nrWhitePieces];
-			System.arraycopy(whitePieceSquares, 0, tempSquares, 0, nrWhitePieces);
-			nrTempSquares = nrWhitePieces;
-		} else {
-			tempSquares = new Square[nrBlackPieces];
-			System.arraycopy(blackPieceSquares, 0, tempSquares, 0, nrBlackPieces);
-			nrTempSquares = nrBlackPieces;
-		}
-		for (int i=0; !terminateIf.get() && i<nrTempSquares; i++) {
-			Square square = tempSquares[i];
-			action.accept(playerPiecesPerSquare[square.boardIndex()], square);
+		long pieces = bitboardOf(player);
+		while (pieces != 0) {
+			int index = Long.numberOfTrailingZeros(pieces);
+			pieces &= pieces - 1;
+			action.accept(playerPiecesPerSquare[index], ALL.get(index));
 		}
 	}
 
+	/**
+	 * @return the last processed move. Moves made by {@link #makeMove(int)} are not taken into account.
+	 */
 	public Move lastMove() {
 		return lastMove;
 	}
@@ -262,12 +562,34 @@ public class Board {
 	}
 	
 	public Player currentPlayerOpponent() {
+		if (nrMadeMoves > 0) {
+			return EncodedMoves.player(madeMoves[nrMadeMoves - 1]);
+		}
 		if (lastMove == null) {
 			throw new IllegalStateException("No moves can be determined when the board is empty");
 		}
 		return lastMove().getPlayer();
 	}
 
+	/**
+	 * Determines the pawn that can be captured en passant, i.e., the pawn that moved two squares in the last move.
+	 * @return the board index of the pawn that can be captured en passant or -1 if no pawn can be captured en passant
+	 */
+	public int enPassantCapturablePawnIndex() {
+		return enPassantCapturablePawnIndex;
+	}
+
+	/**
+	 * Checks whether a castling right is still present. A castling right is lost as soon as a piece is removed from
+	 * the start square of the king or of the rook involved, i.e., when one of them has moved or the rook has been
+	 * captured.
+	 * @param castlingRight one of the castling right constants of this class
+	 * @return true if the castling right is present; false otherwise
+	 */
+	public boolean hasCastlingRight(int castlingRight) {
+		return (castlingRights & castlingRight) != 0;
+	}
+
 	/**
 	 * Checks if any piece of the specified player attacks the specified square
 	 * @param player the player
@@ -275,31 +597,96 @@ public class Board {
 	 * @return true if one or more pieces of the player attack the square; false otherwise
 	 */
 	public boolean anyPieceAttacks(Player player, Square square) {
-		AtomicBoolean attacked = new AtomicBoolean();
-		forEachPlayerPiece(player, (playerPiece, pieceSquare) -> attacked.set(attacked.get() || playerPiece.attacks(pieceSquare, square, this)), attacked::get);
-		return attacked.get();
+		return anyPieceAttacks(player, square.boardIndex());
+	}
+
+	/**
+	 * Checks if any piece of the specified player attacks the specified square
+	 * @param player the player
+	 * @param squareIndex the board index of the square
+	 * @return true if one or more pieces of the player attack the square; false otherwise
+	 */
+	public boolean anyPieceAttacks(Player player, int squareIndex) {
+		return attackers(player, squareIndex) != 0;
+	}
+
+	/**
+	 * Checks if the player to move is check mate. A position that occurred three times is a draw instead.
+	 * @return true if the player to move is check mate; false otherwise
+	 */
+	public boolean isCheckMate() {
+		Player player = currentPlayer();
+		return isKingAttacked(player)
+				&& !player.hasValidMove(this, moveBuffer, legalityChecker)
+				&& getNumberOfRepetitionsOfCurrentPosition() < 3;
+	}
+
+	int[] moveBuffer() {
+		return moveBuffer;
+	}
+
+	LegalityChecker legalityChecker() {
+		return legalityChecker;
+	}
+
+	/**
+	 * Checks if the king of the specified player is attacked by any piece of the opponent.
+	 * @param player the player
+	 * @return true if the player has a king and it is attacked; false otherwise
+	 */
+	public boolean isKingAttacked(Player player) {
+		long kings = bitboardOf(player, KING);
+		return kings != 0 && attackers(player.opponent(), Long.numberOfTrailingZeros(kings)) != 0;
+	}
+
+	private long attackers(Player player, int squareIndex) {
+		return attackers(player, squareIndex, occupiedSquares());
 	}
 
+	/**
+	 * Determines the pieces of a player that attack a square, given a set of occupied squares that may differ from
+	 * the squares that are actually occupied.
+	 * @param player the player
+	 * @param squareIndex the board index of the attacked square
+	 * @param occupied the occupied squares, which determine which squares block sliding pieces
+	 * @return the squares of the pieces that attack the square
+	 */
+	long attackers(Player player, int squareIndex, long occupied) {
+		long queens = bitboardOf(player, QUEEN);
+		return (Bitboards.pawnAttacks(player.opponent(), squareIndex) & bitboardOf(player, PAWN))
+				| (Bitboards.knightAttacks(squareIndex) & bitboardOf(player, KNIGHT))
+				| (Bitboards.kingAttacks(squareIndex) & bitboardOf(player, KING))
+				| (Bitboards.bishopAttacks(squareIndex, occupied) & (bitboardOf(player, BISHOP) | queens))
+				| (Bitboards.rookAttacks(squareIndex, occupied) & (bitboardOf(player, ROOK) | queens));
+	}
+
+	/**
+	 * @return the number of pieces of both players that are not pawns, including the kings
+	 */
 	public int numberNonPawnPieces() {
-		return (int) Arrays.stream(playerPiecesPerSquare)
-				.filter(playerPiece -> playerPiece != null && playerPiece.getPiece() != PAWN)
-				.count();
+		return nrNonPawnPieces;
 	}
 
-	public int countPiecesWhere(Predicate<PlayerPiece> mustCountPlayerPiece) {
-		return (int) Arrays.stream(playerPiecesPerSquare)
-				.filter(playerPiece -> playerPiece != null && mustCountPlayerPiece.test(playerPiece))
-				.count();
+	/**
+	 * @param player the player
+	 * @return the number of pieces of the player that are not pawns, including the king
+	 */
+	public int numberNonPawnPieces(Player player) {
+		return Long.bitCount(bitboardOf(player) & ~bitboardOf(player, PAWN));
 	}
 
-	public int countNrOccurrencesInFile(PlayerPiece playerPiece, int file) {
-		int nrPawns = 0;
-		for (int rank=0; rank<8; rank++) {
-			if (playerPiece.equals(pieceAt(new Square(file, rank)))) {
-				nrPawns++;
+	public int countPiecesWhere(Predicate<PlayerPiece> mustCountPlayerPiece) {
+		int count = 0;
+		for (int index=0; index<nrPiecesPerPlayerPiece.length; index++) {
+			if (nrPiecesPerPlayerPiece[index] > 0 && mustCountPlayerPiece.test(PlayerPieces.fromIndex(index))) {
+				count += nrPiecesPerPlayerPiece[index];
 			}
 		}
-		return nrPawns;
+		return count;
+	}
+
+	public int countNrOccurrencesInFile(PlayerPiece playerPiece, int file) {
+		return Long.bitCount(bitboardOf(playerPiece) & Bitboards.file(file));
 	}
 
 	/**
@@ -311,15 +698,7 @@ public class Board {
 	 * @return true if the pawn is isolated; false otherwise
 	 */
 	public boolean isIsolatedPawnInFile(Player player, int file) {
-		PlayerPiece pawn = new Pawn(player);
-		int nrPawnsInAdjacentColumns = 0;
-		if (file > 0) {
-			nrPawnsInAdjacentColumns += countNrOccurrencesInFile(pawn, file - 1);
-		}
-		if (file < 7) {
-			nrPawnsInAdjacentColumns += countNrOccurrencesInFile(pawn, file + 1);
-		}
-		return nrPawnsInAdjacentColumns == 0;
+		return (bitboardOf(player, PAWN) & Bitboards.adjacentFiles(file)) == 0;
 	}
 
 	/**
@@ -334,17 +713,8 @@ public class Board {
 		if (pawn.getPiece() != PAWN) {
 			throw new IllegalArgumentException("Expected a pawn as piece, but got a " + pawn.getPiece());
 		}
-		int delta = pawn.getPlayer() == WHITE ? 1 : -1;
-		int finalRank = pawn.getPlayer() == WHITE ? RANK_8 : RANK_1;
-		for (int file = Math.max(FILE_A, square.file() - 1); file <= Math.min(FILE_H, square.file() + 1); file++) {
-			for (int rank = square.rank() + delta; rank != finalRank; rank += delta) {
-				PlayerPiece otherPiece = pieceAt(new Square(file, rank));
-				if (otherPiece != null && otherPiece.getPiece() == PAWN && otherPiece.getPlayer() != pawn.getPlayer()) {
-					return false;
-				}
-			}
-		}
-		return true;
+		Player player = pawn.getPlayer();
+		return (Bitboards.passedPawnSpan(player, square.boardIndex()) & bitboardOf(player.opponent(), PAWN)) == 0;
 	}
 
 	/**
@@ -357,17 +727,15 @@ public class Board {
 	}
 
 	private boolean isBehindPassedPawn(Square square, PlayerPiece pawn) {
-		int deltaRanks = pawn.getPlayer() == WHITE ? 1 : -1;
-		for (Square currentSquare = square.addRanks(deltaRanks); currentSquare != null; currentSquare = currentSquare.addRanks(deltaRanks)) {
-			PlayerPiece playerPiece = pieceAt(currentSquare);
-			if (pawn.equals(playerPiece) && isPassedPawn(playerPiece, currentSquare)) {
-				return true;
-			}
-			if (playerPiece != null) {
-				return false;
-			}
+		int direction = pawn.getPlayer() == WHITE ? Bitboards.NORTH : Bitboards.SOUTH;
+		long occupiedSquaresInFront = Bitboards.ray(direction, square.boardIndex()) & (whitePieces | blackPieces);
+		if (occupiedSquaresInFront == 0) {
+			return false;
 		}
-		return false;
+		int index = Bitboards.isIncreasingDirection(direction)
+				? Long.numberOfTrailingZeros(occupiedSquaresInFront)
+				: 63 - Long.numberOfLeadingZeros(occupiedSquaresInFront);
+		return (pawnStructure().passedPawns(pawn.getPlayer()) & (1L << index)) != 0;
 	}
 
 	@Override
@@ -376,7 +744,7 @@ public class Board {
 		for (int rank = 7; rank >= 0; rank--) {
 			for (int file = 0; file < 8; file++) {
 				char c = ((rank ^ file) & 1) == 1 ? '*' : ' ';
-				PlayerPiece playerPiece = playerPiecesPerSquare[new Square(file, rank).boardIndex()];
+				PlayerPiece playerPiece = playerPiecesPerSquare[file * 8 + rank];
 				if (playerPiece != null) {
 					c = formatPiece(playerPiece);
 				}
@@ -407,11 +775,45 @@ public class Board {
 	}
 
 	public long getBoardHash() {
-		return boardHash.getHash(lastMove.getPlayer());
+		return boardHash.getHash(currentPlayerOpponent());
 	}
 
-	int getNumberOfRepetitionsOfCurrentPosition() {
-		return hashToNumberOfRepetitions.get(getBoardHash());
+	/**
+	 * @return the hash of the squares of the pawns of both players
+	 */
+	public long getPawnHash() {
+		return boardHash.getPawnHash();
+	}
+
+	/**
+	 * @return the pawn structure of the current position. The pawn structure is cached in a pawn hash table. It
+	 * must not be used anymore after the board has changed.
+	 */
+	public PawnStructure pawnStructure() {
+		if (pawnHashTable == null) {
+			pawnHashTable = new PawnHashTable();
+		}
+		return pawnHashTable.get(this);
+	}
+
+	/**
+	 * Counts how often the current position occurred. Only the positions with the same player to move since the last
+	 * irreversible move are compared with the current position.
+	 * @return the number of occurrences of the current position, including the current position itself
+	 */
+	public int getNumberOfRepetitionsOfCurrentPosition() {
+		if (nrPositions == 0) {
+			return 0;
+		}
+		int current = nrPositions - 1;
+		long hash = positionHashes[current];
+		int nrOccurrences = 1;
+		for (int i=current - 2; i>=lastIrreversiblePositionIndices[current]; i-=2) {
+			if (positionHashes[i] == hash) {
+				nrOccurrences++;
+			}
+		}
+		return nrOccurrences;
 	}
 
 	public void initBoard() {
@@ -431,7 +833,7 @@ public class Board {
 
 	@Override
 	public int hashCode() {
-		return (int) boardHash.getHash(lastMove.getPlayer());
+		return (int) getBoardHash();
 	}
 
 	@Override
@@ -10,15 +10,24 @@ import nl.gogognome.gogochess.logic.piece.*;
 public class BoardHash {
 
 	private final static long[] HASHES = new long[64*12]; // 12 = 6 white pieces + 6 black pieces
+	private final static long[] CASTLING_RIGHT_HASHES = new long[4];
+	private final static long[] EN_PASSANT_FILE_HASHES = new long[8];
 
 	static {
 		Random random = new Random(0);
 		for (int i = 0; i< HASHES.length; i++) {
 			HASHES[i] = random.nextLong();
 		}
+		for (int i = 0; i< CASTLING_RIGHT_HASHES.length; i++) {
+			CASTLING_RIGHT_HASHES[i] = random.nextLong();
+		}
+		for (int i = 0; i< EN_PASSANT_FILE_HASHES.length; i++) {
+			EN_PASSANT_FILE_HASHES[i] = random.nextLong();
+		}
 	}
 
 	private long hash;
+	private long pawnHash;
 
 	public long getHash(Player player) {
 		if (player == WHITE) {
@@ -28,29 +37,63 @@ public class BoardHash {
 		}
 	}
 
+	/**
+	 * @return the hash of the squares of the pawns of both players. Positions with the same pawns have the same
+	 * pawn hash, regardless of the other pieces, the castling rights and the player to move.
+	 */
+	public long getPawnHash() {
+		return pawnHash;
+	}
+
+	void copyFrom(BoardHash boardHash) {
+		hash = boardHash.hash;
+		pawnHash = boardHash.pawnHash;
+	}
+
 	public void addPlayerPiece(PlayerPiece playerPieceToAdd, Square square) {
-		togglePiece(playerPieceToAdd, square);
+		togglePiece(playerPieceToAdd, square.boardIndex());
+	}
+
+	public void addPlayerPiece(PlayerPiece playerPieceToAdd, int squareIndex) {
+		togglePiece(playerPieceToAdd, squareIndex);
 	}
 
 	public void removePlayerPiece(PlayerPiece playerPieceToRemove, Square square) {
-		togglePiece(playerPieceToRemove, square);
+		togglePiece(playerPieceToRemove, square.boardIndex());
 	}
 
-	private void togglePiece(PlayerPiece playerPieceToRemove, Square square) {
-		int index = square.boardIndex() * 12 + toIndex(playerPieceToRemove);
-		hash ^= HASHES[index];
+	public void removePlayerPiece(PlayerPiece playerPieceToRemove, int squareIndex) {
+		togglePiece(playerPieceToRemove, squareIndex);
+	}
+
+	/**
+	 * Toggles castling rights in the hash. The hash does not change for castling rights that are still present.
+	 * @param lostCastlingRights bits of the castling rights that are lost or, when undoing a move, regained
+	 */
+	public void toggleCastlingRights(int lostCastlingRights) {
+		for (int i = 0; i< CASTLING_RIGHT_HASHES.length; i++) {
+			if ((lostCastlingRights & (1 << i)) != 0) {
+				hash ^= CASTLING_RIGHT_HASHES[i];
+			}
+		}
 	}
 
-	private int toIndex(PlayerPiece playerPiece) {
-		int baseIndex = playerPiece.getPlayer() == WHITE ? 0 : 6;
-		switch (playerPiece.getPiece()) {
-			case PAWN: return baseIndex ;
-			case KNIGHT: return baseIndex + 1;
-			case BISHOP: return baseIndex + 2;
-			case ROOK: return baseIndex + 3;
-			case QUEEN: return baseIndex + 4;
-			case KING: return baseIndex + 5;
-			default: throw new IllegalArgumentException("Unknown piece found: " + playerPiece.getPiece());
+	/**
+	 * Toggles the possibility to capture a pawn en passant in the hash.
+	 * @param pawnSquareIndex the board index of the pawn that can be captured en passant or -1 if no pawn can be
+	 *                        captured en passant
+	 */
+	public void toggleEnPassant(int pawnSquareIndex) {
+		if (pawnSquareIndex != -1) {
+			hash ^= EN_PASSANT_FILE_HASHES[pawnSquareIndex >>> 3];
+		}
+	}
+
+	private void togglePiece(PlayerPiece playerPiece, int squareIndex) {
+		int index = squareIndex * 12 + playerPiece.index();
+		hash ^= HASHES[index];
+		if (playerPiece.getPiece() == Piece.PAWN) {
+			pawnHash ^= HASHES[index];
 		}
 	}
 }
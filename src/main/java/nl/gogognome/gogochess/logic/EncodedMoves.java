@@ -0,0 +1,224 @@
+package nl.gogognome.gogochess.logic;
+
+import static nl.gogognome.gogochess.logic.BoardMutation.Mutation.*;
+import static nl.gogognome.gogochess.logic.Piece.*;
+import java.util.*;
+import nl.gogognome.gogochess.logic.piece.*;
+
+/**
+ * This class encodes moves in a single int. The search uses encoded moves instead of {@link Move} instances,
+ * because creating the latter for each generated move puts a lot of pressure on the garbage collector.
+ *
+ * <p>Layout of the bits of an encoded move:</p>
+ * <ul>
+ *     <li>bits 0-5: board index of the square the piece is moved from</li>
+ *     <li>bits 6-11: board index of the square the piece is moved to</li>
+ *     <li>bits 12-15: index of the moved player piece</li>
+ *     <li>bits 16-19: index of the captured player piece plus one, or 0 if no piece is captured</li>
+ *     <li>bits 20-23: index of the player piece a pawn is promoted to plus one, or 0 if no promotion takes place</li>
+ *     <li>bit 24: castling; from and to are the squares of the king</li>
+ *     <li>bit 25: en passant capture</li>
+ *     <li>bit 26: null move; only the moved player piece is present, which is the king of the player passing the turn</li>
+ * </ul>
+ */
+public class EncodedMoves {
+
+	/** Value that never represents a move. */
+	public final static int NO_MOVE = 0;
+
+	/** Maximum number of valid moves in any position. */
+	public final static int MAX_NR_MOVES = 256;
+
+	private final static int TO_SHIFT = 6;
+	private final static int PLAYER_PIECE_SHIFT = 12;
+	private final static int CAPTURED_PLAYER_PIECE_SHIFT = 16;
+	private final static int PROMOTED_PLAYER_PIECE_SHIFT = 20;
+	private final static int CASTLING = 1 << 24;
+	private final static int EN_PASSANT = 1 << 25;
+	private final static int NULL_MOVE = 1 << 26;
+
+	public static int move(PlayerPiece playerPiece, int from, int to) {
+		return from | (to << TO_SHIFT) | (playerPiece.index() << PLAYER_PIECE_SHIFT);
+	}
+
+	public static int capture(PlayerPiece playerPiece, int from, int to, PlayerPiece capturedPlayerPiece) {
+		return move(playerPiece, from, to) | ((capturedPlayerPiece.index() + 1) << CAPTURED_PLAYER_PIECE_SHIFT);
+	}
+
+	public static int enPassantCapture(PlayerPiece pawn, int from, int to, PlayerPiece capturedPawn) {
+		return capture(pawn, from, to, capturedPawn) | EN_PASSANT;
+	}
+
+	public static int castling(PlayerPiece king, int from, int to) {
+		return move(king, from, to) | CASTLING;
+	}
+
+	/**
+	 * Creates a null move: the player passes the turn to the opponent without moving a piece. A null move is not a
+	 * valid move. It is only used by the search, see {@link Board#makeNullMove()}.
+	 * @param player the player passing the turn
+	 * @return the null move
+	 */
+	public static int nullMove(Player player) {
+		return (PlayerPiece.index(player, KING) << PLAYER_PIECE_SHIFT) | NULL_MOVE;
+	}
+
+	public static int promote(int move, PlayerPiece promotedPlayerPiece) {
+		return (move & ~(0xf << PROMOTED_PLAYER_PIECE_SHIFT)) | ((promotedPlayerPiece.index() + 1) << PROMOTED_PLAYER_PIECE_SHIFT);
+	}
+
+	public static int from(int move) {
+		return move & 0x3f;
+	}
+
+	public static int to(int move) {
+		return (move >>> TO_SHIFT) & 0x3f;
+	}
+
+	public static PlayerPiece playerPiece(int move) {
+		return PlayerPieces.fromIndex((move >>> PLAYER_PIECE_SHIFT) & 0xf);
+	}
+
+	public static Player player(int move) {
+		return playerPiece(move).getPlayer();
+	}
+
+	/**
+	 * @param move an encoded move
+	 * @return the captured player piece or null if the move is not a capture
+	 */
+	public static PlayerPiece capturedPlayerPiece(int move) {
+		int index = (move >>> CAPTURED_PLAYER_PIECE_SHIFT) & 0xf;
+		return index == 0 ? null : PlayerPieces.fromIndex(index - 1);
+	}
+
+	/**
+	 * @param move an encoded move
+	 * @return the player piece the pawn is promoted to or null if the move is not a promotion
+	 */
+	public static PlayerPiece promotedPlayerPiece(int move) {
+		int index = (move >>> PROMOTED_PLAYER_PIECE_SHIFT) & 0xf;
+		return index == 0 ? null : PlayerPieces.fromIndex(index - 1);
+	}
+
+	/**
+	 * @param move an encoded move
+	 * @return the player piece that is present on the to square after the move
+	 */
+	public static PlayerPiece playerPieceAfterMove(int move) {
+		PlayerPiece promotedPlayerPiece = promotedPlayerPiece(move);
+		return promotedPlayerPiece != null ? promotedPlayerPiece : playerPiece(move);
+	}
+
+	public static boolean isCapture(int move) {
+		return (move & (0xf << CAPTURED_PLAYER_PIECE_SHIFT)) != 0;
+	}
+
+	public static boolean isCastling(int move) {
+		return (move & CASTLING) != 0;
+	}
+
+	public static boolean isEnPassantCapture(int move) {
+		return (move & EN_PASSANT) != 0;
+	}
+
+	public static boolean isNullMove(int move) {
+		return (move & NULL_MOVE) != 0;
+	}
+
+	public static boolean isDoublePawnPush(int move) {
+		int from = from(move);
+		int to = to(move);
+		return playerPiece(move).getPiece() == PAWN && (to - from == 2 || from - to == 2);
+	}
+
+	/**
+	 * @param move an encoded move
+	 * @return the board index of the captured piece. This differs from the to square for en passant captures.
+	 */
+	public static int capturedSquare(int move) {
+		int to = to(move);
+		return isEnPassantCapture(move) ? (to & ~7) | (from(move) & 7) : to;
+	}
+
+	/**
+	 * @param move an encoded castling move
+	 * @return the board index of the rook before castling
+	 */
+	public static int castlingRookFrom(int move) {
+		int to = to(move);
+		return to > from(move) ? to + 8 : to - 16;
+	}
+
+	/**
+	 * @param move an encoded castling move
+	 * @return the board index of the rook after castling
+	 */
+	public static int castlingRookTo(int move) {
+		int to = to(move);
+		return to > from(move) ? to - 8 : to + 8;
+	}
+
+	/**
+	 * Creates a {@link Move} for an encoded move. The board mutations of the move are in the same order as the
+	 * board mutations created by the pieces before moves were encoded.
+	 * @param precedingMove the preceding move
+	 * @param move the encoded move
+	 * @return the move
+	 */
+	public static Move toMove(Move precedingMove, int move) {
+		PlayerPiece playerPiece = playerPiece(move);
+		Square from = Squares.fromBoardIndex(from(move));
+		Square to = Squares.fromBoardIndex(to(move));
+		List<BoardMutation> boardMutations = new ArrayList<>(4);
+		boardMutations.add(playerPiece.removeFrom(from));
+		if (isCastling(move)) {
+			PlayerPiece rook = PlayerPieces.fromIndex(PlayerPiece.index(playerPiece.getPlayer(), ROOK));
+			boardMutations.add(rook.removeFrom(Squares.fromBoardIndex(castlingRookFrom(move))));
+			boardMutations.add(playerPiece.addTo(to));
+			boardMutations.add(rook.addTo(Squares.fromBoardIndex(castlingRookTo(move))));
+		} else {
+			if (isCapture(move)) {
+				boardMutations.add(capturedPlayerPiece(move).removeFrom(Squares.fromBoardIndex(capturedSquare(move))));
+			}
+			boardMutations.add(playerPieceAfterMove(move).addTo(to));
+		}
+		return new Move(precedingMove, playerPiece.getPlayer(), boardMutations);
+	}
+
+	/**
+	 * Encodes a move that moves a single piece, possibly capturing another piece or promoting a pawn, or that
+	 * castles.
+	 * @param move the move
+	 * @return the encoded move
+	 * @throws IllegalArgumentException if the move cannot be encoded
+	 */
+	public static int encode(Move move) {
+		List<BoardMutation> boardMutations = move.getBoardMutations();
+		if (boardMutations.size() < 2 || boardMutations.size() > 4 || boardMutations.get(0).getMutation() != REMOVE) {
+			throw new IllegalArgumentException("Move cannot be encoded: " + move);
+		}
+		BoardMutation removeFromStart = boardMutations.get(0);
+		PlayerPiece playerPiece = removeFromStart.getPlayerPiece();
+		int from = removeFromStart.getSquare().boardIndex();
+		if (boardMutations.size() == 4) {
+			return castling(playerPiece, from, boardMutations.get(2).getSquare().boardIndex());
+		}
+
+		BoardMutation addAtDestination = boardMutations.get(boardMutations.size() - 1);
+		int to = addAtDestination.getSquare().boardIndex();
+		int encodedMove;
+		if (boardMutations.size() == 3) {
+			BoardMutation removeCapturedPiece = boardMutations.get(1);
+			encodedMove = removeCapturedPiece.getSquare().boardIndex() == to
+					? capture(playerPiece, from, to, removeCapturedPiece.getPlayerPiece())
+					: enPassantCapture(playerPiece, from, to, removeCapturedPiece.getPlayerPiece());
+		} else {
+			encodedMove = move(playerPiece, from, to);
+		}
+		if (!addAtDestination.getPlayerPiece().equals(playerPiece)) {
+			encodedMove = promote(encodedMove, addAtDestination.getPlayerPiece());
+		}
+		return encodedMove;
+	}
+}
@@ -0,0 +1,105 @@
+package nl.gogognome.gogochess.logic;
+
+import static nl.gogognome.gogochess.logic.Piece.*;
+
+/**
+ * This class checks whether pseudo-legal moves, i.e., moves that obey the movement rules of the pieces but may leave
+ * the own king in check, are legal. The pieces giving check and the pinned pieces are determined once per position
+ * by {@link #init(Board, Player)}. After that most moves can be checked with a few bit operations instead of making
+ * the move and checking whether the king is attacked.
+ *
+ * <p>An instance can be reused for other positions by calling init again.</p>
+ */
+public class LegalityChecker {
+
+	private Board board;
+	private Player player;
+	private int kingSquare;
+	private int nrCheckers;
+	private long checkMask;
+	private long pinnedPieces;
+
+	/**
+	 * Determines the check mask and pinned pieces for a player in the current position of the board.
+	 * The board must not be changed as long as this instance is used to check moves for this position.
+	 * @param board the board
+	 * @param player the player whose moves will be checked
+	 */
+	public void init(Board board, Player player) {
+		this.board = board;
+		this.player = player;
+		long kings = board.bitboardOf(player, KING);
+		if (kings == 0) {
+			kingSquare = -1; // can happen in tests where board contains just a few pieces but not the king
+			return;
+		}
+		kingSquare = Long.numberOfTrailingZeros(kings);
+
+		Player opponent = player.opponent();
+		long checkers = board.attackers(opponent, kingSquare, board.occupiedSquares());
+		nrCheckers = Long.bitCount(checkers);
+		checkMask = nrCheckers == 1
+				? checkers | Bitboards.between(kingSquare, Long.numberOfTrailingZeros(checkers))
+				: (nrCheckers == 0 ? -1L : 0L);
+
+		pinnedPieces = 0;
+		long ownPieces = board.bitboardOf(player);
+		long opponentPieces = board.bitboardOf(opponent);
+		long opponentQueens = board.bitboardOf(opponent, QUEEN);
+		long pinners = (Bitboards.rookAttacks(kingSquare, opponentPieces) & (board.bitboardOf(opponent, ROOK) | opponentQueens))
+				| (Bitboards.bishopAttacks(kingSquare, opponentPieces) & (board.bitboardOf(opponent, BISHOP) | opponentQueens));
+		while (pinners != 0) {
+			int pinnerSquare = Long.numberOfTrailingZeros(pinners);
+			pinners &= pinners - 1;
+			long piecesInBetween = Bitboards.between(kingSquare, pinnerSquare) & (ownPieces | opponentPieces);
+			if (Long.bitCount(piecesInBetween) == 1 && (piecesInBetween & ownPieces) != 0) {
+				pinnedPieces |= piecesInBetween;
+			}
+		}
+	}
+
+	/**
+	 * @return true if the king of the player is in check in the position for which this instance was initialized
+	 */
+	public boolean isInCheck() {
+		return nrCheckers > 0;
+	}
+
+	/**
+	 * Checks whether a pseudo-legal move of the player does not leave the player's king in check.
+	 * @param move the encoded move
+	 * @return true if the move is legal; false otherwise
+	 */
+	public boolean isLegal(int move) {
+		if (kingSquare == -1) {
+			return true;
+		}
+
+		int from = EncodedMoves.from(move);
+		int to = EncodedMoves.to(move);
+		if (from == kingSquare) {
+			if (EncodedMoves.isCastling(move)) {
+				return true; // castling moves are only generated if the squares the king passes are not attacked
+			}
+			long occupiedWithoutKing = board.occupiedSquares() & ~(1L << kingSquare);
+			return board.attackers(player.opponent(), to, occupiedWithoutKing) == 0;
+		}
+		if (nrCheckers > 1) {
+			return false;
+		}
+		if (EncodedMoves.isEnPassantCapture(move)) {
+			return isLegalByMakingMove(move); // removes two pieces from a rank, which can reveal an attack on the king
+		}
+		if ((checkMask & (1L << to)) == 0) {
+			return false;
+		}
+		return (pinnedPieces & (1L << from)) == 0 || (Bitboards.line(kingSquare, from) & (1L << to)) != 0;
+	}
+
+	private boolean isLegalByMakingMove(int move) {
+		board.makeMove(move);
+		boolean kingAttacked = board.isKingAttacked(player);
+		board.unmakeMove(move);
+		return !kingAttacked;
+	}
+}
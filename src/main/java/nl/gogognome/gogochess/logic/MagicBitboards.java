@@ -0,0 +1,123 @@
+package nl.gogognome.gogochess.logic;
+
+/**
+ * This class implements lookup tables for the attacks of sliding pieces using magic bitboards. For each square
+ * the relevant occupied squares are multiplied by a magic number. The highest bits of the product form an index
+ * in a table containing the attacked squares. The tables are generated when this class is loaded.
+ */
+class MagicBitboards {
+
+	private final static int[] ROOK_DIRECTIONS = new int[] { Bitboards.EAST, Bitboards.WEST, Bitboards.NORTH, Bitboards.SOUTH };
+	private final static int[] BISHOP_DIRECTIONS = new int[] { Bitboards.NORTH_EAST, Bitboards.SOUTH_EAST, Bitboards.NORTH_WEST, Bitboards.SOUTH_WEST };
+
+	/**
+	 * Magic numbers per square. These have been found by trying random numbers until the product of a magic number
+	 * and the relevant occupied squares maps each set of relevant occupied squares to a table entry without
+	 * conflicting with other sets.
+	 */
+	private final static long[] ROOK_MAGICS = new long[] {
+			0x8600_1040_8200_2102L, 0x00c0_0110_0020_0040L, 0x4080_2000_8008_1000L, 0x8100_1001_0008_2004L,
+			0x0280_1800_0204_0080L, 0x0100_0400_0100_0802L, 0x0080_0080_0200_0100L, 0x0200_0100_2210_4084L,
+			0x4411_8000_4000_2080L, 0x4280_8020_0080_400cL, 0x4110_8080_1000_2000L, 0x0900_8008_0080_1006L,
+			0x0100_8004_0080_0800L, 0x0002_0004_1008_0200L, 0x3041_0004_0100_0200L, 0xa002_0000_8401_2042L,
+			0xc000_2080_0080_4004L, 0x0020_0040_1000_4029L, 0x0010_0280_2000_8012L, 0x0250_0080_1008_0080L,
+			0x0040_8080_0800_0400L, 0x0010_8080_0400_0201L, 0x8100_0400_0201_8810L, 0x0000_0200_0080_4114L,
+			0x1088_4004_8000_8020L, 0x5440_1000_2008_0020L, 0x8803_0191_0040_a000L, 0x2200_1000_8008_0080L,
+			0x0490_0400_8008_0080L, 0x1004_0080_8002_0004L, 0x0081_0029_0004_1200L, 0x001c_0102_0024_428cL,
+			0x9000_8040_1080_0028L, 0x0230_1020_0140_0042L, 0x1000_8201_4600_1122L, 0x6050_0080_0808_0100L,
+			0x2000_0800_8080_0400L, 0x0412_0024_5200_1008L, 0x0200_0150_0400_0208L, 0x0021_0000_8300_0142L,
+			0x0800_4001_80a9_8008L, 0x1102_0040_8102_0024L, 0x9000_2000_1000_8080L, 0x0030_0010_0800_8080L,
+			0xc040_2801_0005_0030L, 0x000e_0200_0400_8080L, 0x0200_1001_0804_0002L, 0x1000_0641_0982_002cL,
+			0x0000_4080_0100_2500L, 0x2b02_4031_0600_8200L, 0x0000_1020_0041_0100L, 0x4100_0800_1000_8280L,
+			0x0081_0048_0030_0500L, 0x1204_0100_0200_4040L, 0x0001_0024_0200_1100L, 0x040c_3080_4401_0200L,
+			0x000a_0300_2010_4482L, 0x0000_8040_1300_2602L, 0x2200_2010_0880_4202L, 0x2004_2090_0100_0409L,
+			0x0016_0008_2004_1002L, 0x8022_0001_0410_0802L, 0x0208_0082_0110_281cL, 0x2000_0a21_0044_1082L
+	};
+
+	private final static long[] BISHOP_MAGICS = new long[] {
+			0x0520_0404_0800_2424L, 0x1020_0481_2200_2208L, 0x0090_0c10_9028_4200L, 0x1182_2082_0410_4012L,
+			0x1204_0b08_0040_00b5L, 0x0241_0420_0499_0000L, 0x3012_0210_4208_4805L, 0x0010_2082_0090_4000L,
+			0x0020_04a0_0811_4103L, 0x0710_9151_0104_0480L, 0x0014_1220_8202_0002L, 0x1081_0c41_0020_0200L,
+			0x0130_0110_4002_0040L, 0x0002_0201_8420_4000L, 0x0001_0228_0404_0400L, 0x6042_0101_088a_200eL,
+			0x0008_0404_0890_0400L, 0x0002_4908_0214_0420L, 0x3002_0004_0022_0a00L, 0x0008_0006_8821_0080L,
+			0x0202_0004_00a2_0300L, 0x0241_0108_80a0_0112L, 0x0404_1002_0104_8240L, 0x01c4_2080_8084_1002L,
+			0x0018_4000_a032_8280L, 0x0004_1400_2288_0840L, 0x4008_0419_0808_a0e0L, 0x0004_0401_9040_1080L,
+			0x0050_8400_2080_2000L, 0x8400_4200_2d01_010cL, 0x1082_0a21_0888_0100L, 0xc044_0700_1030_8211L,
+			0x0042_2090_8404_1000L, 0x0002_5114_2030_5005L, 0x8001_0801_0028_1040L, 0x2102_0080_2042_0200L,
+			0x0000_4100_4004_0040L, 0x200a_0801_0802_0280L, 0x0041_0c44_0000_8210L, 0x0014_0080_8412_0060L,
+			0x4040_8404_c008_2040L, 0x0244_0422_0318_0806L, 0xc000_2200_3004_4200L, 0x1140_0601_0240_2400L,
+			0x0508_0801_0310_5404L, 0x4001_2008_0642_2080L, 0x0020_0800_a900_0080L, 0xe010_3900_4100_4090L,
+			0x1003_1090_1029_4000L, 0x4300_8201_0120_0880L, 0x801c_3201_0088_2011L, 0x000c_000c_8404_2000L,
+			0xa010_0110_e022_0000L, 0x040c_4004_0800_8600L, 0x08a0_0490_0200_4201L, 0x0820_024a_0602_3004L,
+			0x2201_4044_0409_40c1L, 0x0004_4082_0090_2420L, 0x2040_4014_2615_1008L, 0x5000_0018_5420_8809L,
+			0x0010_0101_2020_4120L, 0x0000_0010_a001_8100L, 0x0220_0405_103e_020cL, 0x0003_0448_c204_0108L
+	};
+
+	private final static long[] ROOK_MASKS = new long[64];
+	private final static int[] ROOK_SHIFTS = new int[64];
+	private final static long[][] ROOK_ATTACKS = new long[64][];
+
+	private final static long[] BISHOP_MASKS = new long[64];
+	private final static int[] BISHOP_SHIFTS = new int[64];
+	private final static long[][] BISHOP_ATTACKS = new long[64][];
+
+	static {
+		for (int squareIndex=0; squareIndex<64; squareIndex++) {
+			initTable(squareIndex, ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_ATTACKS);
+			initTable(squareIndex, BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_ATTACKS);
+		}
+	}
+
+	static long rookAttacks(int squareIndex, long occupied) {
+		return ROOK_ATTACKS[squareIndex][(int) (((occupied & ROOK_MASKS[squareIndex]) * ROOK_MAGICS[squareIndex]) >>> ROOK_SHIFTS[squareIndex])];
+	}
+
+	static long bishopAttacks(int squareIndex, long occupied) {
+		return BISHOP_ATTACKS[squareIndex][(int) (((occupied & BISHOP_MASKS[squareIndex]) * BISHOP_MAGICS[squareIndex]) >>> BISHOP_SHIFTS[squareIndex])];
+	}
+
+	private static void initTable(int squareIndex, int[] directions, long[] magics, long[] masks, int[] shifts, long[][] attacks) {
+		long mask = relevantOccupancyMask(squareIndex, directions);
+		int nrBits = Long.bitCount(mask);
+		int shift = 64 - nrBits;
+		long[] table = new long[1 << nrBits];
+		long occupied = 0;
+		do {
+			int index = (int) ((occupied * magics[squareIndex]) >>> shift);
+			long attackedSquares = slidingAttacks(squareIndex, directions, occupied);
+			if (table[index] != 0 && table[index] != attackedSquares) {
+				throw new IllegalStateException("Invalid magic number found for square " + squareIndex);
+			}
+			table[index] = attackedSquares;
+			occupied = (occupied - mask) & mask; // enumerates all subsets of mask
+		} while (occupied != 0);
+
+		masks[squareIndex] = mask;
+		shifts[squareIndex] = shift;
+		attacks[squareIndex] = table;
+	}
+
+	/**
+	 * Determines the squares whose occupancy influences the attacks of a sliding piece. The last square of each ray
+	 * is excluded because it is attacked whether it is occupied or not.
+	 */
+	private static long relevantOccupancyMask(int squareIndex, int[] directions) {
+		long mask = 0;
+		for (int direction : directions) {
+			long ray = Bitboards.ray(direction, squareIndex);
+			if (ray != 0) {
+				long lastSquare = Bitboards.isIncreasingDirection(direction) ? Long.highestOneBit(ray) : Long.lowestOneBit(ray);
+				mask |= ray & ~lastSquare;
+			}
+		}
+		return mask;
+	}
+
+	private static long slidingAttacks(int squareIndex, int[] directions, long occupied) {
+		long attacks = 0;
+		for (int direction : directions) {
+			attacks |= Bitboards.rayAttacks(direction, squareIndex, occupied);
+		}
+		return attacks;
+	}
+}
@@ -0,0 +1,131 @@
+package nl.gogognome.gogochess.logic;
+
+import static nl.gogognome.gogochess.logic.Piece.*;
+import static nl.gogognome.gogochess.logic.Player.*;
+
+/**
+ * This class counts the moves of a player from the attack sets of its pieces, without generating the moves and
+ * without checking whether the moves leave the own king in check. The count is used as an approximation of the
+ * number of valid moves of the player.
+ *
+ * <p>The count contains the pawn moves including en passant captures (promotions count as four moves, one per
+ * promoted piece), the moves of the knights, bishops, rooks and queens to squares that are not occupied by own
+ * pieces and the moves of the king to squares that are not attacked by the opponent. Castling is not counted.</p>
+ */
+public class Mobility {
+
+	private final static long RANK_3 = 0x0404_0404_0404_0404L;
+	private final static long RANK_6 = 0x2020_2020_2020_2020L;
+	private final static long RANK_1_AND_8 = 0x8181_8181_8181_8181L;
+
+	/**
+	 * @param board the board
+	 * @param player the player
+	 * @return the number of moves of the player
+	 */
+	public static int count(Board board, Player player) {
+		return count(board, player, false);
+	}
+
+	/**
+	 * Counts the moves of the player, like {@link #count(Board, Player)}, but leaves out the moves of knights,
+	 * bishops, rooks and queens to squares attacked by pawns of the opponent.
+	 * @param board the board
+	 * @param player the player
+	 * @return the number of moves of the player to safe squares
+	 */
+	public static int countSafe(Board board, Player player) {
+		return count(board, player, true);
+	}
+
+	private static int count(Board board, Player player, boolean safeSquaresOnly) {
+		long ownPieces = board.bitboardOf(player);
+		long opponentPieces = board.bitboardOf(player.opponent());
+		long occupied = ownPieces | opponentPieces;
+
+		int nrMoves = countPawnMoves(board, player, occupied, opponentPieces);
+
+		long destinations = ~ownPieces;
+		if (safeSquaresOnly) {
+			destinations &= ~pawnAttacks(player.opponent(), board.bitboardOf(player.opponent(), PAWN));
+		}
+		for (long knights = board.bitboardOf(player, KNIGHT); knights != 0; knights &= knights - 1) {
+			nrMoves += Long.bitCount(Bitboards.knightAttacks(Long.numberOfTrailingZeros(knights)) & destinations);
+		}
+		long bishopsAndQueens = board.bitboardOf(player, BISHOP) | board.bitboardOf(player, QUEEN);
+		for (long pieces = bishopsAndQueens; pieces != 0; pieces &= pieces - 1) {
+			nrMoves += Long.bitCount(Bitboards.bishopAttacks(Long.numberOfTrailingZeros(pieces), occupied) & destinations);
+		}
+		long rooksAndQueens = board.bitboardOf(player, ROOK) | board.bitboardOf(player, QUEEN);
+		for (long pieces = rooksAndQueens; pieces != 0; pieces &= pieces - 1) {
+			nrMoves += Long.bitCount(Bitboards.rookAttacks(Long.numberOfTrailingZeros(pieces), occupied) & destinations);
+		}
+
+		long king = board.bitboardOf(player, KING);
+		if (king != 0) {
+			long attackedByOpponent = attacks(board, player.opponent(), occupied & ~king);
+			nrMoves += Long.bitCount(Bitboards.kingAttacks(Long.numberOfTrailingZeros(king)) & ~ownPieces & ~attackedByOpponent);
+		}
+		return nrMoves;
+	}
+
+	private static int countPawnMoves(Board board, Player player, long occupied, long opponentPieces) {
+		long pawns = board.bitboardOf(player, PAWN);
+		long empty = ~occupied;
+		long singlePushes;
+		long doublePushes;
+		if (player == WHITE) {
+			singlePushes = (pawns << 1) & empty;
+			doublePushes = ((singlePushes & RANK_3) << 1) & empty;
+		} else {
+			singlePushes = (pawns >>> 1) & empty;
+			doublePushes = ((singlePushes & RANK_6) >>> 1) & empty;
+		}
+		int nrMoves = Long.bitCount(singlePushes) + 3 * Long.bitCount(singlePushes & RANK_1_AND_8) + Long.bitCount(doublePushes);
+
+		long capturableSquares = opponentPieces;
+		int enPassantCapturablePawnIndex = board.enPassantCapturablePawnIndex();
+		if (enPassantCapturablePawnIndex != -1 && (opponentPieces & (1L << enPassantCapturablePawnIndex)) != 0) {
+			capturableSquares |= 1L << (enPassantCapturablePawnIndex + (player == WHITE ? 1 : -1));
+		}
+		for (; pawns != 0; pawns &= pawns - 1) {
+			long captures = Bitboards.pawnAttacks(player, Long.numberOfTrailingZeros(pawns)) & capturableSquares;
+			nrMoves += Long.bitCount(captures) + 3 * Long.bitCount(captures & RANK_1_AND_8);
+		}
+		return nrMoves;
+	}
+
+	/**
+	 * @param board the board
+	 * @param player the player
+	 * @param occupied the squares that block sliding pieces
+	 * @return the squares attacked by the pieces of the player
+	 */
+	private static long attacks(Board board, Player player, long occupied) {
+		long attacks = pawnAttacks(player, board.bitboardOf(player, PAWN));
+		for (long knights = board.bitboardOf(player, KNIGHT); knights != 0; knights &= knights - 1) {
+			attacks |= Bitboards.knightAttacks(Long.numberOfTrailingZeros(knights));
+		}
+		long bishopsAndQueens = board.bitboardOf(player, BISHOP) | board.bitboardOf(player, QUEEN);
+		for (long pieces = bishopsAndQueens; pieces != 0; pieces &= pieces - 1) {
+			attacks |= Bitboards.bishopAttacks(Long.numberOfTrailingZeros(pieces), occupied);
+		}
+		long rooksAndQueens = board.bitboardOf(player, ROOK) | board.bitboardOf(player, QUEEN);
+		for (long pieces = rooksAndQueens; pieces != 0; pieces &= pieces - 1) {
+			attacks |= Bitboards.rookAttacks(Long.numberOfTrailingZeros(pieces), occupied);
+		}
+		long king = board.bitboardOf(player, KING);
+		if (king != 0) {
+			attacks |= Bitboards.kingAttacks(Long.numberOfTrailingZeros(king));
+		}
+		return attacks;
+	}
+
+	private static long pawnAttacks(Player player, long pawns) {
+		long attacks = 0;
+		for (; pawns != 0; pawns &= pawns - 1) {
+			attacks |= Bitboards.pawnAttacks(player, Long.numberOfTrailingZeros(pawns));
+		}
+		return attacks;
+	}
+}
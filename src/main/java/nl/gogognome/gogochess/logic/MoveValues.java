@@ -16,7 +16,20 @@ public class MoveValues {
 		// Reduce max value with depth in tree dependent value. This ensures that a check mate in fewer moves
 		// gets a higher value than a check mate in more moves if the latter happens to have a better positional
 		// score or an unnecessary capture.
-		return new MoveValue(10_000_000 - 1000 * depthInTree, player, "max value");
+		return new MoveValue(winScore(depthInTree), player, "max value");
+	}
+
+	/**
+	 * @param player the player that wins
+	 * @param depthInTree the depth in the tree of the move that wins
+	 * @return the combined score of {@link #winValue(Player, int)}
+	 */
+	public static int winScore(Player player, int depthInTree) {
+		return player == WHITE ? winScore(depthInTree) : -winScore(depthInTree);
+	}
+
+	private static int winScore(int depthInTree) {
+		return 10_000_000 - 1000 * depthInTree;
 	}
 
 	public static MoveValue minValue(Player player) {
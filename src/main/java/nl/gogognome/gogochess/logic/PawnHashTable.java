@@ -0,0 +1,35 @@
+package nl.gogognome.gogochess.logic;
+
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+
+/**
+ * This class caches a {@link PawnStructure} per pawn hash. The table has a fixed number of entries. An entry is
+ * replaced when another pawn structure maps to the same entry.
+ *
+ * <p>Within a search the pawns change far less often than the other pieces, so most lookups find the pawn structure
+ * in the table.</p>
+ */
+class PawnHashTable {
+
+	private final static int NR_ENTRIES = 1 << 10;
+
+	private final PawnStructure[] entries = new PawnStructure[NR_ENTRIES];
+
+	/**
+	 * @param board the board
+	 * @return the pawn structure of the board
+	 */
+	PawnStructure get(Board board) {
+		long pawnHash = board.getPawnHash();
+		int index = (int) (pawnHash ^ (pawnHash >>> 32)) & (NR_ENTRIES - 1);
+		PawnStructure pawnStructure = entries[index];
+		if (pawnStructure == null) {
+			pawnStructure = new PawnStructure();
+			entries[index] = pawnStructure;
+		} else if (pawnStructure.getPawnHash() == pawnHash) {
+			return pawnStructure;
+		}
+		pawnStructure.init(pawnHash, board.bitboardOf(WHITE_PAWN), board.bitboardOf(BLACK_PAWN));
+		return pawnStructure;
+	}
+}
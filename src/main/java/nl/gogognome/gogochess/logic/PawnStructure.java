@@ -0,0 +1,77 @@
+package nl.gogognome.gogochess.logic;
+
+import static nl.gogognome.gogochess.logic.Player.*;
+
+/**
+ * This class contains facts about the pawns of both players that only depend on the squares of the pawns. The
+ * facts are determined once per pawn structure and cached by the {@link PawnHashTable} of the board, using the
+ * pawn hash of {@link BoardHash#getPawnHash()} as key.
+ *
+ * <p>Instances are reused by the pawn hash table for other pawn structures. Do not keep a reference to an instance
+ * after the board has changed.</p>
+ */
+public class PawnStructure {
+
+	private long pawnHash;
+	private final long[] passedPawns = new long[2];
+	private final long[] isolatedPawns = new long[2];
+	private final long[] doubledPawns = new long[2];
+
+	void init(long pawnHash, long whitePawns, long blackPawns) {
+		this.pawnHash = pawnHash;
+		init(WHITE, whitePawns, blackPawns);
+		init(BLACK, blackPawns, whitePawns);
+	}
+
+	private void init(Player player, long ownPawns, long opponentPawns) {
+		long passed = 0;
+		long isolated = 0;
+		long doubled = 0;
+		for (long pawns = ownPawns; pawns != 0; pawns &= pawns - 1) {
+			int index = Long.numberOfTrailingZeros(pawns);
+			long bit = 1L << index;
+			int file = index >>> 3;
+			if ((Bitboards.passedPawnSpan(player, index) & opponentPawns) == 0) {
+				passed |= bit;
+			}
+			if ((Bitboards.adjacentFiles(file) & ownPawns) == 0) {
+				isolated |= bit;
+			}
+			if (Long.bitCount(Bitboards.file(file) & ownPawns) > 1) {
+				doubled |= bit;
+			}
+		}
+		passedPawns[player.ordinal()] = passed;
+		isolatedPawns[player.ordinal()] = isolated;
+		doubledPawns[player.ordinal()] = doubled;
+	}
+
+	long getPawnHash() {
+		return pawnHash;
+	}
+
+	/**
+	 * @param player a player
+	 * @return bitboard of the pawns of the player that have no opposing pawns in front of them in the same file or
+	 * the adjacent files
+	 */
+	public long passedPawns(Player player) {
+		return passedPawns[player.ordinal()];
+	}
+
+	/**
+	 * @param player a player
+	 * @return bitboard of the pawns of the player that have no pawns of the player in the adjacent files
+	 */
+	public long isolatedPawns(Player player) {
+		return isolatedPawns[player.ordinal()];
+	}
+
+	/**
+	 * @param player a player
+	 * @return bitboard of the pawns of the player that share their file with another pawn of the player
+	 */
+	public long doubledPawns(Player player) {
+		return doubledPawns[player.ordinal()];
+	}
+}
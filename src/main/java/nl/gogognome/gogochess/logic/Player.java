@@ -2,8 +2,6 @@ package nl.gogognome.gogochess.logic;
 
 import static nl.gogognome.gogochess.logic.Status.*;
 import java.util.*;
-import java.util.concurrent.atomic.*;
-import java.util.function.*;
 
 public enum Player {
 	WHITE,
@@ -18,98 +16,143 @@ public enum Player {
 	}
 
 	public List<Move> validMoves(Board board) {
-		List<Move> moves = new ArrayList<>(40);
-		addMovesIgnoringCheck(board, moves);
-		removeMovesCausingCheckForOwnPlayer(board, moves);
-		updateStatusForMoves(board, moves);
-		return moves;
+		int[] moves = new int[EncodedMoves.MAX_NR_MOVES];
+		int nrMoves = validMoves(board, moves, 0);
+		return toMovesIncludingStatus(board, moves, nrMoves);
 	}
 
 	public List<Move> validCaptures(Board board) {
-		List<Move> moves = new ArrayList<>(40);
-		addMovesIgnoringCheck(board, moves);
-		removeMovesWhere(moves, move -> !move.isCapture());
-		removeMovesCausingCheckForOwnPlayer(board, moves);
-		updateStatusForMoves(board, moves);
-		return moves;
+		int[] moves = new int[EncodedMoves.MAX_NR_MOVES];
+		int nrMoves = validCaptures(board, moves, 0);
+		return toMovesIncludingStatus(board, moves, nrMoves);
 	}
 
-	private void addMovesIgnoringCheck(Board board, List<Move> moves) {
-		board.forEachPlayerPiece(this, (playerPiece, square) -> playerPiece.addPossibleMoves(moves, square, board));
+	/**
+	 * Adds the encoded valid moves of this player to an array of moves.
+	 * @param board the board
+	 * @param moves the array to which the moves are added
+	 * @param nrMoves the number of moves already present in the array
+	 * @return the number of moves present in the array after adding the valid moves
+	 */
+	public int validMoves(Board board, int[] moves, int nrMoves) {
+		int end = pseudoLegalMoves(board, moves, nrMoves);
+		return removeIllegalMoves(board, board.legalityChecker(), moves, nrMoves, end);
 	}
 
-	private void updateStatusForMoves(Board board, List<Move> moves) {
-		for (Move move : moves) {
-			updateStatusForMove(board, move);
-		}
+	/**
+	 * Adds the encoded valid moves of this player that capture a piece to an array of moves.
+	 * @param board the board
+	 * @param moves the array to which the moves are added
+	 * @param nrMoves the number of moves already present in the array
+	 * @return the number of moves present in the array after adding the valid captures
+	 */
+	public int validCaptures(Board board, int[] moves, int nrMoves) {
+		int end = pseudoLegalCaptures(board, moves, nrMoves);
+		return removeIllegalMoves(board, board.legalityChecker(), moves, nrMoves, end);
 	}
 
-	private void updateStatusForMove(Board board, Move move) {
-		Square oppositeKingSquare = board.kingSquareOf(opponent());
-		if (oppositeKingSquare == null) {
-			return; // can happen in tests where board contains just a few pieces but not the opponent's king
+	/**
+	 * Adds the encoded pseudo-legal moves of this player to an array of moves. Pseudo-legal moves may leave the
+	 * king of this player in check. Use a {@link LegalityChecker} to check a move before it is made.
+	 * @param board the board
+	 * @param moves the array to which the moves are added
+	 * @param nrMoves the number of moves already present in the array
+	 * @return the number of moves present in the array after adding the pseudo-legal moves
+	 */
+	public int pseudoLegalMoves(Board board, int[] moves, int nrMoves) {
+		long pieces = board.bitboardOf(this);
+		while (pieces != 0) {
+			int index = Long.numberOfTrailingZeros(pieces);
+			pieces &= pieces - 1;
+			nrMoves = board.pieceAt(index).addPossibleMoves(moves, nrMoves, index, board);
 		}
-		board.tryWithMove(move, () -> {
-			if (board.getNumberOfRepetitionsOfCurrentPosition() >= 3) {
-				move.setStatus(DRAW_BECAUSE_OF_THREEFOLD_REPETITION);
-			} else {
-				determineCheck(board, move, oppositeKingSquare);
-				determineCheckMateAndStaleMate(board, move);
+		return nrMoves;
+	}
+
+	/**
+	 * Adds the encoded pseudo-legal moves of this player that capture a piece to an array of moves.
+	 * @param board the board
+	 * @param moves the array to which the moves are added
+	 * @param nrMoves the number of moves already present in the array
+	 * @return the number of moves present in the array after adding the pseudo-legal captures
+	 */
+	public int pseudoLegalCaptures(Board board, int[] moves, int nrMoves) {
+		int end = pseudoLegalMoves(board, moves, nrMoves);
+		int newEnd = nrMoves;
+		for (int i=nrMoves; i<end; i++) {
+			if (EncodedMoves.isCapture(moves[i])) {
+				moves[newEnd++] = moves[i];
 			}
-		});
+		}
+		return newEnd;
 	}
 
-	public void removeMovesCausingCheckForOwnPlayer(Board board, List<Move> moves) {
-		removeMovesWhere(moves, move -> {
-			AtomicBoolean attacksKing = new AtomicBoolean();
-			board.tryWithMove(move, () -> {
-				Square kingSquare = board.kingSquareOf(this);
-				if (kingSquare != null) {
-					board.forEachPlayerPiece(
-							opponent(),
-							(playerPiece, square) -> attacksKing.set(attacksKing.get() || playerPiece.attacks(square, kingSquare, board)),
-							attacksKing::get);
+	/**
+	 * Checks whether this player has at least one valid move. This is cheaper than determining all valid moves.
+	 * @param board the board
+	 * @param moves an array in which the moves of a single piece are generated; its contents are overwritten
+	 * @param legalityChecker a legality checker; it is initialized for the current position of the board
+	 * @return true if this player has a valid move; false otherwise
+	 */
+	public boolean hasValidMove(Board board, int[] moves, LegalityChecker legalityChecker) {
+		legalityChecker.init(board, this);
+		long pieces = board.bitboardOf(this);
+		while (pieces != 0) {
+			int index = Long.numberOfTrailingZeros(pieces);
+			pieces &= pieces - 1;
+			int nrMoves = board.pieceAt(index).addPossibleMoves(moves, 0, index, board);
+			for (int i=0; i<nrMoves; i++) {
+				if (legalityChecker.isLegal(moves[i])) {
+					return true;
 				}
-			});
-			return attacksKing.get();
-		});
+			}
+		}
+		return false;
 	}
 
-	public void removeMovesWhere(List<Move> moves, Predicate<Move> mustRemove) {
-		int index = 0;
-		while (index < moves.size()) {
-			Move move = moves.get(index);
-			if (mustRemove.test(move)) {
-				moves.remove(index);
-			} else {
-				index++;
+	private int removeIllegalMoves(Board board, LegalityChecker legalityChecker, int[] moves, int start, int end) {
+		legalityChecker.init(board, this);
+		int newEnd = start;
+		for (int i=start; i<end; i++) {
+			if (legalityChecker.isLegal(moves[i])) {
+				moves[newEnd++] = moves[i];
 			}
 		}
+		return newEnd;
 	}
 
-	private void determineCheck(Board board, Move move, Square oppositeKingSquare) {
-		AtomicBoolean attacksKing = new AtomicBoolean();
-		board.forEachPlayerPiece(
-				this,
-				(playerPiece, square) -> attacksKing.set(attacksKing.get() || playerPiece.attacks(square, oppositeKingSquare, board)),
-				attacksKing::get);
+	private List<Move> toMovesIncludingStatus(Board board, int[] moves, int nrMoves) {
+		List<Move> result = new ArrayList<>(nrMoves);
+		for (int i=0; i<nrMoves; i++) {
+			Move move = EncodedMoves.toMove(board.lastMove(), moves[i]);
+			updateStatusForMove(board, move, moves[i]);
+			result.add(move);
+		}
+		return result;
+	}
+
+	private void updateStatusForMove(Board board, Move move, int encodedMove) {
+		if (board.bitboardOf(opponent(), Piece.KING) == 0) {
+			return; // can happen in tests where board contains just a few pieces but not the opponent's king
+		}
+		board.makeMove(encodedMove);
+		if (board.getNumberOfRepetitionsOfCurrentPosition() >= 3) {
+			move.setStatus(DRAW_BECAUSE_OF_THREEFOLD_REPETITION);
+		} else {
+			determineCheck(board, move);
+			determineCheckMateAndStaleMate(board, move);
+		}
+		board.unmakeMove(encodedMove);
+	}
 
-		if (attacksKing.get()) {
+	private void determineCheck(Board board, Move move) {
+		if (board.isKingAttacked(opponent())) {
 			move.setStatus(CHECK);
 		}
 	}
 
 	private void determineCheckMateAndStaleMate(Board board, Move move) {
-		List<Move> otherPlayerMoves = new ArrayList<>();
-		board.forEachPlayerPiece(
-				opponent(),
-				(opponentPiece, square) -> {
-					opponentPiece.addPossibleMoves(otherPlayerMoves, square, board);
-					opponent().removeMovesCausingCheckForOwnPlayer(board, otherPlayerMoves);
-				},
-				() -> !otherPlayerMoves.isEmpty());
-
-		if (otherPlayerMoves.isEmpty()) {
+		if (!opponent().hasValidMove(board, board.moveBuffer(), board.legalityChecker())) {
 			move.setStatus(move.getStatus() == CHECK ? CHECK_MATE : STALE_MATE);
 		}
 	}
@@ -24,36 +24,53 @@ public class Square {
 	public final static int RANK_7 = 6;
 	public final static int RANK_8 = 7;
 
-	public Square(String square) {
-		if (square == null || square.length() != 2) {
-			throw new IllegalArgumentException("Square must be a string of length 2 like B6");
+	private final static Square[] SQUARES = new Square[8*8];
+
+	static {
+		for (int boardIndex=0; boardIndex<SQUARES.length; boardIndex++) {
+			SQUARES[boardIndex] = new Square(boardIndex);
 		}
-		int file = square.charAt(0) - 'a';
-		int rank = square.charAt(1) - '1';
-		validateFileAndRank(file, rank);
-		boardIndex = file * 8 + rank;
 	}
 
-	public Square(int file, int rank) {
-		validateFileAndRank(file, rank);
-		this.boardIndex = file * 8 + rank;
+	/**
+	 * Squares are flyweights: there is exactly one instance per square. Use the static methods to get a square.
+	 */
+	private Square(int boardIndex) {
+		this.boardIndex = boardIndex;
 	}
 
-	private void validateFileAndRank(int file, int rank) {
-		if (((file | rank) & MASK) != 0) {
-			throw new IllegalArgumentException("file and rank must be in the range [0..7]");
+	/**
+	 * @param square a square like "b6"
+	 * @return the square
+	 */
+	public static Square fromString(String square) {
+		if (square == null || square.length() != 2) {
+			throw new IllegalArgumentException("Square must be a string of length 2 like B6");
 		}
+		return fromFileAndRank(square.charAt(0) - 'a', square.charAt(1) - '1');
 	}
 
-	public Square(int boardIndex) {
-		validateBoardIndex(boardIndex);
-		this.boardIndex = boardIndex;
+	/**
+	 * @param file the file in the range [0..7]
+	 * @param rank the rank in the range [0..7]
+	 * @return the square
+	 */
+	public static Square fromFileAndRank(int file, int rank) {
+		if (((file | rank) & MASK) != 0) {
+			throw new IllegalArgumentException("file and rank must be in the range [0..7]");
+		}
+		return SQUARES[file * 8 + rank];
 	}
 
-	private void validateBoardIndex(int boardIndex) {
+	/**
+	 * @param boardIndex the board index in the range [0..63]
+	 * @return the square with the specified board index
+	 */
+	public static Square fromBoardIndex(int boardIndex) {
 		if (boardIndex < 0 || boardIndex >= 8*8) {
 			throw new IllegalArgumentException("Board index must be in the range [0..63]");
 		}
+		return SQUARES[boardIndex];
 	}
 
 	/**
@@ -75,7 +92,10 @@ public class Square {
 		return Character.toString((char)('a' + file())) + (rank() + 1);
 	}
 
-	int boardIndex() {
+	/**
+	 * @return the index of the square in the range [0..63], which equals file * 8 + rank
+	 */
+	public int boardIndex() {
 		return boardIndex;
 	}
 
@@ -88,18 +108,13 @@ public class Square {
 	}
 
 	private Square buildSquareIfValid(int newFile, int newRank) {
-		return ((newFile | newRank) & MASK) == 0 ? new Square(newFile, newRank) : null;
-	}
-
-	@Override
-	public boolean equals(Object obj) {
-		if (obj == null || !obj.getClass().equals(this.getClass())) {
-			return false;
-		}
-		Square that = (Square) obj;
-		return this.boardIndex == that.boardIndex;
+		return ((newFile | newRank) & MASK) == 0 ? SQUARES[newFile * 8 + newRank] : null;
 	}
 
+	/**
+	 * There is exactly one instance per square, so equality is identity. The hash code is overridden to get the same
+	 * iteration order in hash based collections in each run.
+	 */
 	@Override
 	public int hashCode() {
 		return boardIndex;
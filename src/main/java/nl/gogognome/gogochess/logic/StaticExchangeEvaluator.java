@@ -0,0 +1,86 @@
+package nl.gogognome.gogochess.logic;
+
+import nl.gogognome.gogochess.logic.piece.*;
+
+/**
+ * This class determines the material balance of a capture after all captures and recaptures on the square of the
+ * capture (static exchange evaluation, SEE). Each player recaptures with its least valuable piece and may stop
+ * recapturing when that is better. Sliding pieces behind the pieces that have captured (x-rays) take part in the
+ * exchange too. Pins and checks are ignored.
+ *
+ * <p>An instance contains the intermediate results of an evaluation, so it must not be shared between threads.</p>
+ */
+public class StaticExchangeEvaluator {
+
+	/** Values of the pieces indexed by the ordinal of the piece. */
+	private final static int[] PIECE_VALUES = { 100, 330, 330, 500, 900, 15000 };
+
+	private final static Piece[] PIECES = Piece.values();
+
+	/** A capture is followed by at most 31 recaptures. */
+	private final int[] gains = new int[32];
+
+	/**
+	 * Evaluates a capture or a promotion. The board must contain the position before the move.
+	 * @param board the board
+	 * @param capture the encoded capture or promotion
+	 * @return the material gained by the player making the move; negative if the move loses material
+	 */
+	public int evaluate(Board board, int capture) {
+		int to = EncodedMoves.to(capture);
+		int from = EncodedMoves.from(capture);
+		long occupied = board.occupiedSquares() & ~(1L << from);
+		if (EncodedMoves.isEnPassantCapture(capture)) {
+			occupied &= ~(1L << EncodedMoves.capturedSquare(capture));
+		}
+
+		PlayerPiece playerPiece = EncodedMoves.playerPiece(capture);
+		PlayerPiece playerPieceAfterMove = EncodedMoves.playerPieceAfterMove(capture);
+		PlayerPiece capturedPlayerPiece = EncodedMoves.capturedPlayerPiece(capture);
+		gains[0] = (capturedPlayerPiece != null ? value(capturedPlayerPiece.getPiece()) : 0)
+				+ value(playerPieceAfterMove.getPiece()) - value(playerPiece.getPiece());
+		int valueOnSquare = value(playerPieceAfterMove.getPiece());
+		Player player = playerPiece.getPlayer().opponent();
+
+		int depth = 0;
+		while (true) {
+			long attackers = board.attackers(player, to, occupied) & occupied;
+			if (attackers == 0) {
+				break;
+			}
+			int attackerSquare = -1;
+			Piece attacker = null;
+			for (Piece piece : PIECES) {
+				long attackersOfType = attackers & board.bitboardOf(player, piece);
+				if (attackersOfType != 0) {
+					attackerSquare = Long.numberOfTrailingZeros(attackersOfType);
+					attacker = piece;
+					break;
+				}
+			}
+
+			depth++;
+			gains[depth] = valueOnSquare - gains[depth - 1];
+			if (Math.max(-gains[depth - 1], gains[depth]) < 0) {
+				break; // the outcome does not change whatever happens next
+			}
+			occupied &= ~(1L << attackerSquare);
+			valueOnSquare = value(attacker);
+			player = player.opponent();
+		}
+
+		while (depth > 0) {
+			gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+			depth--;
+		}
+		return gains[0];
+	}
+
+	/**
+	 * @param piece a piece
+	 * @return the value of the piece used to evaluate exchanges
+	 */
+	public static int value(Piece piece) {
+		return PIECE_VALUES[piece.ordinal()];
+	}
+}
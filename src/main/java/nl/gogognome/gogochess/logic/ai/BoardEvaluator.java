@@ -4,5 +4,21 @@ import nl.gogognome.gogochess.logic.*;
 
 public interface BoardEvaluator {
 
+	/**
+	 * Evaluates the board and explains how the value was built up. Use this method to explain the value of a
+	 * position; the search uses {@link #score(Board)}.
+	 * @param board the board
+	 * @return the value of the board
+	 */
 	MoveValue value(Board board);
+
+	/**
+	 * Evaluates the board without building an explanation. This method is called for each evaluated position
+	 * of the search, so implementations should override it to avoid creating objects.
+	 * @param board the board
+	 * @return the combined score of the board, positive if white is better and negative if black is better
+	 */
+	default int score(Board board) {
+		return value(board).getCombinedScore();
+	}
 }
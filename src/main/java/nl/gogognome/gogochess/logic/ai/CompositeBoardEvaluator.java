@@ -23,4 +23,14 @@ public class CompositeBoardEvaluator implements BoardEvaluator {
 		}
 		return value;
 	}
+
+	@Override
+	public int score(Board board) {
+		int score = 0;
+		//noinspection ForLoopReplaceableByForEach
+		for (int i=0; i<evaluators.size(); i++) {
+			score += evaluators.get(i).score(board);
+		}
+		return score;
+	}
 }
@@ -1,17 +1,23 @@
 package nl.gogognome.gogochess.logic.ai;
 
 import static nl.gogognome.gogochess.logic.MoveValue.*;
-import static nl.gogognome.gogochess.logic.Status.*;
 import nl.gogognome.gogochess.logic.*;
 
 public class EndOfGameBoardEvaluator implements BoardEvaluator {
 
 	@Override
 	public MoveValue value(Board board) {
-		Status status = board.lastMove().getStatus();
-		if (status == CHECK_MATE) {
-			return MoveValues.winValue(board.lastMove().getPlayer(), board.lastMove().depthInTree());
+		if (board.isCheckMate()) {
+			return MoveValues.winValue(board.currentPlayerOpponent(), board.lastMoveDepthInTree());
 		}
 		return ZERO;
 	}
+
+	@Override
+	public int score(Board board) {
+		if (board.isCheckMate()) {
+			return MoveValues.winScore(board.currentPlayerOpponent(), board.lastMoveDepthInTree());
+		}
+		return 0;
+	}
 }
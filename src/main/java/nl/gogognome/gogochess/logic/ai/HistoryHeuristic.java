@@ -0,0 +1,80 @@
+package nl.gogognome.gogochess.logic.ai;
+
+import static nl.gogognome.gogochess.logic.EncodedMoves.*;
+
+/**
+ * This class keeps track of quiet moves that caused cut-offs, to order the quiet moves of other positions.
+ *
+ * <p>The history table contains a value per player, from square and to square of a move (butterfly board). Each time
+ * a quiet move causes a cut-off its value is increased by the square of the remaining depth, because a cut-off close
+ * to the root saves more work than a cut-off close to the leaves. The counter move table contains the last quiet move
+ * that caused a cut-off as response to a move, indexed by the player piece and the to square of that move.</p>
+ *
+ * <p>Moves are encoded by {@link nl.gogognome.gogochess.logic.EncodedMoves}. Captures and promotions are ordered by
+ * their static exchange evaluation and are not stored in the tables.</p>
+ */
+public class HistoryHeuristic {
+
+	/** When a value of the history table exceeds this value, all values are halved. */
+	private final static int MAX_HISTORY_VALUE = 1 << 20;
+
+	private final int[][][] history = new int[2][64][64];
+	private final int[][] counterMoves = new int[12][64];
+
+	/**
+	 * Updates the tables for a move that caused a cut-off.
+	 * @param move the move that caused the cut-off
+	 * @param previousMove the move that preceded the move
+	 * @param remainingDepth the remaining depth of the position in which the move was made
+	 */
+	void onCutOff(int move, int previousMove, int remainingDepth) {
+		if (!isQuiet(move)) {
+			return;
+		}
+		int[] values = history[player(move).ordinal()][from(move)];
+		values[to(move)] += remainingDepth * remainingDepth;
+		if (values[to(move)] > MAX_HISTORY_VALUE) {
+			age();
+		}
+		if (previousMove != NO_MOVE && !isNullMove(previousMove)) {
+			counterMoves[playerPiece(previousMove).index()][to(previousMove)] = move;
+		}
+	}
+
+	/**
+	 * @param move a quiet move
+	 * @return the value of the move in the history table; a higher value means that the move caused more cut-offs
+	 */
+	int historyValue(int move) {
+		return history[player(move).ordinal()][from(move)][to(move)];
+	}
+
+	/**
+	 * @param previousMove a move
+	 * @return the quiet move that caused the last cut-off as response to the move or
+	 *         {@link nl.gogognome.gogochess.logic.EncodedMoves#NO_MOVE}
+	 */
+	int counterMove(int previousMove) {
+		if (previousMove == NO_MOVE || isNullMove(previousMove)) {
+			return NO_MOVE;
+		}
+		return counterMoves[playerPiece(previousMove).index()][to(previousMove)];
+	}
+
+	/**
+	 * Halves the values of the history table, so that cut-offs of earlier searches weigh less than recent cut-offs.
+	 */
+	void age() {
+		for (int[][] historyOfPlayer : history) {
+			for (int[] values : historyOfPlayer) {
+				for (int to=0; to<values.length; to++) {
+					values[to] /= 2;
+				}
+			}
+		}
+	}
+
+	static boolean isQuiet(int move) {
+		return !isCapture(move) && promotedPlayerPiece(move) == null;
+	}
+}
@@ -1,111 +1,94 @@
 package nl.gogognome.gogochess.logic.ai;
 
-import static java.util.Collections.swap;
-import static nl.gogognome.gogochess.logic.Player.WHITE;
-import java.util.*;
-import nl.gogognome.gogochess.logic.*;
+import static java.util.Arrays.*;
+import static nl.gogognome.gogochess.logic.EncodedMoves.*;
 
 /**
  * This class keeps track of the killer move per depth of the search tree. The idea behind the killer heuristic is that
  * a move that leads to alpha or beta cutoff very often leads to cutoff again for the next move of one level higher
  * in the tree. Thus by trying a killer move as first move at a certain level, a cutoff is very probable.
+ *
+ * <p>Moves are encoded by {@link nl.gogognome.gogochess.logic.EncodedMoves}. The level of a move is its depth in
+ * the tree.</p>
  */
 public class KillerHeuristic {
 
-	private static class KillerMove {
-		private final Move move;
-		private int count;
-
-		private KillerMove(Move move) {
-			this.move = move;
-		}
-
-		public Move getMove() {
-			return move;
-		}
-
-		void incrementCount() {
-			count++;
-		}
-
-		int getCount() {
-			return count;
-		}
-	}
-
-	private final static KillerMove NullMove = new KillerMove(new Move(WHITE));
-
-	private final List<KillerMove> levelToKillerMove1 = new ArrayList<>();
-	private final List<KillerMove> levelToKillerMove2 = new ArrayList<>();
+	private int[] levelToKillerMove1 = new int[0];
+	private int[] levelToKillerMove2 = new int[0];
+	private int[] levelToCount1 = new int[0];
+	private int[] levelToCount2 = new int[0];
 
 	/**
 	 * Marks the specified move as killer move.
 	 * @param move the killer move
-	 * @return true if the move was already the killer move at the move's level (tree depth); false otherwise
+	 * @param level the level (tree depth) of the move
+	 * @return true if the move was already the killer move at the level; false otherwise
 	 */
-	boolean markAsKiller(Move move) {
-		int level = move.depthInTree();
-		while (levelToKillerMove1.size() <= level) {
-			levelToKillerMove1.add(NullMove);
-			levelToKillerMove2.add(NullMove);
+	boolean markAsKiller(int move, int level) {
+		if (isNullMove(move)) {
+			return false;
 		}
-		if (moveIsAlreadyKillerMove(move, level, levelToKillerMove1)) {
+		ensureLevelIsPresent(level);
+		if (levelToKillerMove1[level] == move) {
+			levelToCount1[level]++;
 			return true;
 		}
-		if (moveIsAlreadyKillerMove(move, level, levelToKillerMove2)) {
+		if (levelToKillerMove2[level] == move) {
+			levelToCount2[level]++;
 			return true;
 		}
 
-		List<KillerMove> levelToKillerMove = getLeastUsedKillerMove(level);
-		levelToKillerMove.set(level, new KillerMove(move));
-		return false;
-	}
-
-	private boolean moveIsAlreadyKillerMove(Move move, int level, List<KillerMove> levelToKillerMove) {
-		if (areEqual(levelToKillerMove.get(level).getMove(), move)) {
-			levelToKillerMove.get(level).incrementCount();
-			return true;
+		if (levelToCount1[level] < levelToCount2[level]) {
+			levelToKillerMove1[level] = move;
+			levelToCount1[level] = 0;
+		} else {
+			levelToKillerMove2[level] = move;
+			levelToCount2[level] = 0;
 		}
 		return false;
 	}
 
-	List<Move> putKillerMoveFirst(List<Move> moves) {
-		if (moves.isEmpty()) {
-			return moves;
+	private void ensureLevelIsPresent(int level) {
+		if (levelToKillerMove1.length <= level) {
+			int newLength = Math.max(level + 1, 2 * levelToKillerMove1.length);
+			levelToKillerMove1 = copyOf(levelToKillerMove1, newLength);
+			levelToKillerMove2 = copyOf(levelToKillerMove2, newLength);
+			levelToCount1 = copyOf(levelToCount1, newLength);
+			levelToCount2 = copyOf(levelToCount2, newLength);
 		}
-
-		List<Move> killers = findKillerMoves(moves.get(0).depthInTree());
-		int killerIndex = 0;
-		for (Move killer : killers) {
-			for (int index = killerIndex; index < moves.size(); index++) {
-				if (areEqual(killer, moves.get(index))) {
-					swap(moves, killerIndex, index);
-					killerIndex++;
-					break;
-				}
-			}
-		}
-		return moves;
 	}
 
-	private List<Move> findKillerMoves(int level) {
-		List<Move> killerMoves = new ArrayList<>();
-		if (level < levelToKillerMove1.size()) {
-			killerMoves.add(getMostUsedKillerMove(level).get(level).getMove());
-			killerMoves.add(getLeastUsedKillerMove(level).get(level).getMove());
+	/**
+	 * Puts the killer moves first, the most used killer move before the least used killer move.
+	 * @param moves array containing the moves
+	 * @param start index of the first move
+	 * @param end index after the last move
+	 * @param level the level (tree depth) of the moves
+	 * @return the index after the killer moves that were put first
+	 */
+	int putKillerMovesFirst(int[] moves, int start, int end, int level) {
+		if (level >= levelToKillerMove1.length) {
+			return start;
 		}
-		return killerMoves;
-	}
-
-	private List<KillerMove> getMostUsedKillerMove(int level) {
-		return levelToKillerMove1.get(level).getCount() >= levelToKillerMove2.get(level).getCount() ? levelToKillerMove1 : levelToKillerMove2;
-	}
 
-	private List<KillerMove> getLeastUsedKillerMove(int level) {
-		return levelToKillerMove1.get(level).getCount() < levelToKillerMove2.get(level).getCount() ? levelToKillerMove1 : levelToKillerMove2;
+		boolean killerMove1MostUsed = levelToCount1[level] >= levelToCount2[level];
+		int mostUsedKillerMove = killerMove1MostUsed ? levelToKillerMove1[level] : levelToKillerMove2[level];
+		int leastUsedKillerMove = killerMove1MostUsed ? levelToKillerMove2[level] : levelToKillerMove1[level];
+		int killerIndex = putKillerMoveAt(moves, start, end, mostUsedKillerMove);
+		return putKillerMoveAt(moves, killerIndex, end, leastUsedKillerMove);
 	}
 
-	private boolean areEqual(Move m1, Move m2) {
-		return m1.boardMutationsEqual(m2);
+	private int putKillerMoveAt(int[] moves, int killerIndex, int end, int killerMove) {
+		if (killerMove == NO_MOVE) {
+			return killerIndex;
+		}
+		for (int index = killerIndex; index < end; index++) {
+			if (moves[index] == killerMove) {
+				moves[index] = moves[killerIndex];
+				moves[killerIndex] = killerMove;
+				return killerIndex + 1;
+			}
+		}
+		return killerIndex;
 	}
 }
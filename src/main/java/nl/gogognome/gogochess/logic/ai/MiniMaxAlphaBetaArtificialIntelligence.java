@@ -1,8 +1,11 @@
 package nl.gogognome.gogochess.logic.ai;
 
 import static java.lang.Math.*;
+import static nl.gogognome.gogochess.logic.Player.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
+import java.util.function.*;
 import java.util.stream.*;
 import javax.inject.*;
 import org.slf4j.*;
@@ -13,21 +16,103 @@ public class MiniMaxAlphaBetaArtificialIntelligence implements ArtificialIntelli
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
+	private final static int TRANSPOSITION_TABLE_SIZE_IN_MEGABYTES = 16;
+
+	/**
+	 * Values of positions that lead to check mate are at least this large. They depend on the depth in the tree
+	 * of the check mate, see {@link MoveValues#winValue(Player, int)}.
+	 */
+	private final static int MIN_WIN_VALUE = 9_000_000;
+	private final static int WIN_VALUE_PER_DEPTH = 1000;
+
+	/**
+	 * Value of a position that is a draw, because the player to move is stale mate or because the position occurred
+	 * before. A position that is repeated once is already considered a draw: a player who is ahead will avoid it and
+	 * make progress instead of moving back and forth.
+	 */
+	private final static int DRAW_VALUE = 0;
+
+	/** Maximum depth of iterative deepening when the search is limited by a time control. */
+	private final static int MAX_TIME_CONTROLLED_DEPTH = 32;
+
+	/** The search reports the number of searched nodes to the time manager each time it has searched this many nodes. */
+	private final static int NODES_PER_TIME_CHECK = 256;
+
+	/** Half the width of the window around the value of the best move of the previous iteration of iterative deepening. */
+	private final static int ASPIRATION_WINDOW = 50;
+
+	/** Null moves are only tried in positions with at least this remaining depth. */
+	private final static int NULL_MOVE_MIN_DEPTH = 3;
+
+	/** Late moves are only reduced in positions with at least this remaining depth. */
+	private final static int LATE_MOVE_REDUCTION_MIN_DEPTH = 3;
+
+	/** Moves with a lower index in the ordered child moves are not reduced. Neither are the hash move and killer moves. */
+	private final static int LATE_MOVE_REDUCTION_MIN_MOVE_INDEX = 3;
+
+	/** Reduction of the depth of the search after a null move, indexed by the remaining depth. */
+	private final static int[] NULL_MOVE_REDUCTIONS = new int[PrincipalVariation.MAX_PLY + 1];
+
+	/** Reduction of the depth of a late move, indexed by the remaining depth and the index of the move. */
+	private final static int[][] LATE_MOVE_REDUCTIONS = new int[PrincipalVariation.MAX_PLY + 1][EncodedMoves.MAX_NR_MOVES];
+
+	static {
+		for (int depth=0; depth<=PrincipalVariation.MAX_PLY; depth++) {
+			NULL_MOVE_REDUCTIONS[depth] = depth > 6 ? 3 : 2;
+			for (int moveIndex=1; moveIndex<EncodedMoves.MAX_NR_MOVES; moveIndex++) {
+				int reduction = depth == 0 ? 0 : (int) (0.5 + Math.log(depth) * Math.log(moveIndex) / 2.0);
+				// keep at least one ply, so that the reduced search does not go straight into the quiescence search
+				LATE_MOVE_REDUCTIONS[depth][moveIndex] = max(0, min(reduction, depth - 2));
+			}
+		}
+	}
+
 	private int initialMaxDepth;
 	private int initialAlpha;
 	private int initialBeta;
 	private int maxDepth;
-	private AtomicInteger maxDepthDelta;
+	private TimeControl timeControl;
+	private SearchAlgorithm searchAlgorithm = SearchAlgorithm.ALPHA_BETA;
+	private boolean nullMovePruning;
+	private boolean lateMoveReductions;
+
+	/** Sum of the reductions of the depth of the null moves and late moves that lead to the current position. */
+	private int depthReduction;
 
 	private AtomicBoolean canceled = new AtomicBoolean();
 
+	/** Limits the search of the current move; null if the search is only limited by the max depth. */
+	private TimeManager timeManager;
+	private int nrNodesSinceTimeCheck;
+
 	private final BoardEvaluator boardEvaluator;
 	private final PositionalAnalysis positonalAnalysis;
 	private final MoveSort moveSort;
 	private final Statistics statistics;
 	private final KillerHeuristic killerHeuristic;
 	private final QuiescenceSearch quiescenceSearch;
-	private final TranspositionTable transpositionTable = new TranspositionTable();
+	private final TranspositionTable transpositionTable;
+	private final PrincipalVariation principalVariation = new PrincipalVariation();
+	private final HistoryHeuristic historyHeuristic = new HistoryHeuristic();
+	private final int[][] movesPerPly = new int[PrincipalVariation.MAX_PLY + 1][EncodedMoves.MAX_NR_MOVES];
+	private final MovePicker[] movePickerPerPly = new MovePicker[PrincipalVariation.MAX_PLY + 1];
+	private final LegalityChecker[] legalityCheckerPerPly = new LegalityChecker[PrincipalVariation.MAX_PLY + 1];
+
+	/**
+	 * Helpers search in their own threads. They share the transposition table with this instance.
+	 * With {@link ParallelSearchMode#LAZY_SMP} they search the same root moves as this instance. With
+	 * {@link ParallelSearchMode#ROOT_SPLIT} they search the root moves together with this instance.
+	 */
+	private final List<MiniMaxAlphaBetaArtificialIntelligence> helpers = new ArrayList<>();
+	private ExecutorService helperExecutorService;
+	private ForkJoinPool rootSplitPool;
+	private final BlockingQueue<MiniMaxAlphaBetaArtificialIntelligence> idleRootSplitSearchers = new LinkedBlockingQueue<>();
+
+	/**
+	 * The board on which this instance searches when it searches in parallel with other instances. It is a copy of the
+	 * board of the current move, made once per move.
+	 */
+	private final Board searchBoard = new Board();
 
 	@Inject
 	public MiniMaxAlphaBetaArtificialIntelligence(
@@ -36,12 +121,29 @@ public class MiniMaxAlphaBetaArtificialIntelligence implements ArtificialIntelli
 			MoveSort moveSort,
 			Statistics statistics,
 			QuiescenceSearch quiescenceSearch, KillerHeuristic killerHeuristic) {
+		this(boardEvaluator, positionalAnalysis, moveSort, statistics, quiescenceSearch, killerHeuristic,
+				new TranspositionTable(TRANSPOSITION_TABLE_SIZE_IN_MEGABYTES));
+	}
+
+	private MiniMaxAlphaBetaArtificialIntelligence(
+			BoardEvaluator boardEvaluator,
+			PositionalAnalysis positionalAnalysis,
+			MoveSort moveSort,
+			Statistics statistics,
+			QuiescenceSearch quiescenceSearch, KillerHeuristic killerHeuristic,
+			TranspositionTable transpositionTable) {
 		this.boardEvaluator = boardEvaluator;
 		this.positonalAnalysis = positionalAnalysis;
 		this.moveSort = moveSort;
 		this.statistics = statistics;
 		this.quiescenceSearch = quiescenceSearch;
 		this.killerHeuristic = killerHeuristic;
+		this.transpositionTable = transpositionTable;
+		StaticExchangeEvaluator staticExchangeEvaluator = new StaticExchangeEvaluator();
+		for (int ply=0; ply<legalityCheckerPerPly.length; ply++) {
+			legalityCheckerPerPly[ply] = new LegalityChecker();
+			movePickerPerPly[ply] = new MovePicker(killerHeuristic, historyHeuristic, staticExchangeEvaluator);
+		}
 		this.initialMaxDepth = 3;
 		this.initialAlpha = Integer.MIN_VALUE;
 		this.initialBeta = Integer.MAX_VALUE;
@@ -51,158 +153,736 @@ public class MiniMaxAlphaBetaArtificialIntelligence implements ArtificialIntelli
 		this.initialMaxDepth = initialMaxDepth;
 	}
 
+	@Override
+	public void setTimeControl(TimeControl timeControl) {
+		this.timeControl = timeControl;
+	}
+
+	@Override
+	public void setSearchAlgorithm(SearchAlgorithm searchAlgorithm) {
+		this.searchAlgorithm = searchAlgorithm;
+		helpers.forEach(helper -> helper.setSearchAlgorithm(searchAlgorithm));
+	}
+
+	/**
+	 * @param nullMovePruning true if a position is pruned when passing the turn to the opponent and searching the
+	 *                        resulting position with a reduced depth still causes a cut-off
+	 */
+	public void setNullMovePruning(boolean nullMovePruning) {
+		this.nullMovePruning = nullMovePruning;
+		helpers.forEach(helper -> helper.setNullMovePruning(nullMovePruning));
+	}
+
+	/**
+	 * @param lateMoveReductions true if quiet moves that come late in the move ordering are searched with a reduced
+	 *                           depth first; they are searched again with the full depth if they turn out to be better
+	 *                           than the best move so far
+	 */
+	public void setLateMoveReductions(boolean lateMoveReductions) {
+		this.lateMoveReductions = lateMoveReductions;
+		helpers.forEach(helper -> helper.setLateMoveReductions(lateMoveReductions));
+	}
+
+	/**
+	 * Sets the number of threads that search for the next move. Each thread searches with its own board. The threads
+	 * share the transposition table.
+	 * @param nrThreads the number of threads; must be at least 1
+	 * @param parallelSearchMode determines how the search is divided over the threads
+	 */
+	public void setNrThreads(int nrThreads, ParallelSearchMode parallelSearchMode) {
+		if (nrThreads < 1) {
+			throw new IllegalArgumentException("Number of threads must be at least 1");
+		}
+		if (helperExecutorService != null) {
+			helperExecutorService.shutdownNow();
+			helperExecutorService = null;
+		}
+		if (rootSplitPool != null) {
+			rootSplitPool.shutdownNow();
+			rootSplitPool = null;
+		}
+		helpers.clear();
+		idleRootSplitSearchers.clear();
+		if (nrThreads == 1) {
+			return;
+		}
+
+		for (int i=1; i<nrThreads; i++) {
+			Statistics helperStatistics = new Statistics();
+			KillerHeuristic helperKillerHeuristic = new KillerHeuristic();
+			helpers.add(new MiniMaxAlphaBetaArtificialIntelligence(boardEvaluator, positonalAnalysis, moveSort,
+					helperStatistics, new QuiescenceSearch(boardEvaluator, helperStatistics, helperKillerHeuristic),
+					helperKillerHeuristic, transpositionTable));
+		}
+		for (MiniMaxAlphaBetaArtificialIntelligence helper : helpers) {
+			helper.setSearchAlgorithm(searchAlgorithm);
+			helper.setNullMovePruning(nullMovePruning);
+			helper.setLateMoveReductions(lateMoveReductions);
+		}
+		if (parallelSearchMode == ParallelSearchMode.ROOT_SPLIT) {
+			rootSplitPool = new ForkJoinPool(nrThreads);
+			idleRootSplitSearchers.add(this);
+			idleRootSplitSearchers.addAll(helpers);
+		} else {
+			helperExecutorService = Executors.newFixedThreadPool(helpers.size(), runnable -> {
+				Thread thread = new Thread(runnable, "search helper");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
 	@Override
 	public Move nextMove(Board board, Player player, ProgressListener progressListener) {
 		canceled.set(false);
-		maxDepth = initialMaxDepth;
-		maxDepthDelta = progressListener.getMaxDepthDelta();
+		depthReduction = 0;
+		timeManager = timeControl != null ? new TimeManager(timeControl) : null;
+		nrNodesSinceTimeCheck = 0;
 		statistics.reset();
-		transpositionTable.clear();
+		transpositionTable.newSearch();
+		historyHeuristic.age();
 
-		logger.debug("maxDepth: " + maxDepth);
+		logger.debug(timeControl != null ? "time control: " + timeControl : "maxDepth: " + initialMaxDepth);
 		List<Move> nextMoves = board.currentPlayer().validMoves(board);
 		positonalAnalysis.evaluate(board, nextMoves);
 		moveSort.sort(nextMoves);
 		Map<Move, MoveValue> positionalValues = nextMoves.stream().collect(Collectors.toMap(m -> m, Move::getValue));
-
 		statistics.onPositionsGenerated(nextMoves.size());
-		Progress progress = new Progress(progressListener.getProgressUpdateConsumer());
-		Progress.Job job = progress.onStartJobWithNrSteps(nextMoves.size());
-		Map<Move, Move> moveToBestDeepestMove = new HashMap<>();
-		for (Move move : nextMoves) {
-			Move bestDeepestMove = alphaBeta(board, move, 1, initialAlpha, initialBeta, progress);
-			moveToBestDeepestMove.put(move, bestDeepestMove);
-			job.onNextStep();
-		}
 
-		nextMoves.forEach(m -> m.setValue(m.getValue().add(positionalValues.get(m), "positional value")));
-		moveSort.sort(nextMoves);
-		Move nextMove = nextMoves.get(0);
-		progressListener.consumeBestMoves(nextMove.pathTo(moveToBestDeepestMove.get(nextMove)));
+		for (MiniMaxAlphaBetaArtificialIntelligence helper : helpers) {
+			helper.canceled.set(false);
+			helper.timeManager = timeManager;
+			helper.nrNodesSinceTimeCheck = 0;
+			helper.statistics.reset();
+			helper.historyHeuristic.age();
+			helper.searchBoard.copyFrom(board);
+		}
+		if (rootSplitPool != null) {
+			searchBoard.copyFrom(board);
+		}
+		Move nextMove;
+		List<Future<?>> helperFutures = startHelpers(nextMoves);
+		try {
+			nextMove = iterativeDeepening(board, nextMoves, positionalValues, progressListener);
+		} finally {
+			stopHelpers(helperFutures);
+		}
+		helpers.forEach(helper -> statistics.add(helper.statistics));
 		statistics.logStatistics();
 		return nextMove;
 	}
 
-	private Move alphaBeta(Board board, Move move, int depth, int alpha, int beta, Progress progress) {
+	private Move iterativeDeepening(Board board, List<Move> nextMoves, Map<Move, MoveValue> positionalValues,
+			ProgressListener progressListener) {
+		Map<Move, Integer> searchValues = new ConcurrentHashMap<>();
+		Map<Move, int[]> moveToPrincipalVariation = new ConcurrentHashMap<>();
+		Move nextMove = null;
+		Move initialLastMove = board.lastMove();
+		int lastMaxDepth = timeManager != null ? MAX_TIME_CONTROLLED_DEPTH : initialMaxDepth;
+		for (maxDepth = min(1, lastMaxDepth); maxDepth <= lastMaxDepth; maxDepth++) {
+			logger.debug("iteration with maxDepth: " + maxDepth);
+			Progress progress = new Progress(iterationProgressUpdateConsumer(progressListener));
+			Progress.Job job = progress.onStartJobWithNrSteps(nextMoves.size());
+			try {
+				if (rootSplitPool != null) {
+					searchRootMovesInParallel(board, nextMoves, positionalValues, searchValues, moveToPrincipalVariation, progress, job);
+				} else {
+					searchRootMoves(board, nextMoves, positionalValues, searchValues, moveToPrincipalVariation, progress, job);
+				}
+			} catch (ArtificalIntelligenceCanceledException e) {
+				if (timeManager == null || !timeManager.isStopped()) {
+					throw e;
+				}
+				// The time is up. The incomplete iteration is ignored in favor of the last completed iteration.
+				logger.debug("iteration with maxDepth " + maxDepth + " was stopped by the time manager");
+				board.process(initialLastMove);
+				return nextMove != null ? nextMove : nextMoves.get(0);
+			}
+
+			nextMoves.forEach(m -> m.setValue(new MoveValue(searchValues.get(m), 0, "alpha-beta search")
+					.add(positionalValues.get(m), "positional value")));
+			moveSort.sort(nextMoves);
+			nextMove = nextMoves.get(0);
+			progressListener.consumeBestMoves(toMoves(board, nextMove, moveToPrincipalVariation.get(nextMove)));
+
+			if (timeManager != null) {
+				int value = nextMove.getValue().getCombinedScore();
+				timeManager.onIterationFinished(nextMove, board.currentPlayer() == WHITE ? value : -value);
+				if (nextMoves.size() == 1 || !timeManager.canStartNextIteration()) {
+					break;
+				}
+			}
+		}
+		return nextMove;
+	}
+
+	private Consumer<Integer> iterationProgressUpdateConsumer(ProgressListener progressListener) {
+		if (timeManager != null) {
+			return percentage -> progressListener.getProgressUpdateConsumer().accept(timeManager.progressPercentage());
+		}
+		// Only the last iteration reports progress, because the earlier iterations take a small part of the time
+		return maxDepth == initialMaxDepth ? progressListener.getProgressUpdateConsumer() : percentage -> {};
+	}
+
+	/**
+	 * Searches the root moves one after the other. The first move, which is the best move of the previous iteration,
+	 * is searched with an aspiration window around its value in the previous iteration. The other moves are searched
+	 * with a null window, which only determines whether the move is better than the best move so far, including the
+	 * positional values. A move that is better is searched again with the window opened at the side of the player.
+	 * A move that is not better gets a bound instead of its exact value, but that bound is worse than the value of the
+	 * best move.
+	 */
+	private void searchRootMoves(Board board, List<Move> nextMoves, Map<Move, MoveValue> positionalValues,
+			Map<Move, Integer> searchValues, Map<Move, int[]> moveToPrincipalVariation, Progress progress, Progress.Job job) {
+		Player player = board.currentPlayer();
+		int bestValue = 0;
+		for (int i=0; i<nextMoves.size(); i++) {
+			Move move = nextMoves.get(i);
+			int encodedMove = EncodedMoves.encode(move);
+			int positionalValue = positionalValues.get(move).getCombinedScore();
+			int value;
+			if (i == 0) {
+				Integer previousValue = searchValues.get(move);
+				value = previousValue == null
+						? alphaBeta(board, encodedMove, 1, initialAlpha, initialBeta, progress)
+						: aspirationSearch(board, encodedMove, previousValue, progress);
+				bestValue = value + positionalValue;
+			} else if (player == WHITE) {
+				int alpha = bestValue - positionalValue - 1;
+				value = alphaBeta(board, encodedMove, 1, alpha, alpha + 1, progress);
+				if (value > alpha) {
+					value = alphaBeta(board, encodedMove, 1, alpha, initialBeta, progress);
+					bestValue = max(bestValue, value + positionalValue);
+				}
+			} else {
+				int beta = bestValue - positionalValue + 1;
+				value = alphaBeta(board, encodedMove, 1, beta - 1, beta, progress);
+				if (value < beta) {
+					value = alphaBeta(board, encodedMove, 1, initialAlpha, beta, progress);
+					bestValue = min(bestValue, value + positionalValue);
+				}
+			}
+			searchValues.put(move, value);
+			moveToPrincipalVariation.put(move, principalVariation.get(1));
+			job.onNextStep();
+		}
+	}
+
+	/**
+	 * Divides the root moves over the threads of the fork join pool. The first move, which is the most promising one,
+	 * is searched before the others. Each search that results in a better value for the player tightens the window
+	 * of the moves that are searched after it. A move that fails low gets an upper bound instead of its exact value,
+	 * but that bound is worse than the value of the best move, including the positional value.
+	 */
+	private void searchRootMovesInParallel(Board board, List<Move> nextMoves, Map<Move, MoveValue> positionalValues,
+			Map<Move, Integer> searchValues, Map<Move, int[]> moveToPrincipalVariation, Progress progress, Progress.Job job) {
+		Player player = board.currentPlayer();
+		AtomicInteger bestValue = new AtomicInteger(player == WHITE ? Integer.MIN_VALUE : Integer.MAX_VALUE);
+		searchRootMove(nextMoves.get(0), positionalValues, player, bestValue, searchValues,
+				moveToPrincipalVariation, progress, job);
+
+		List<ForkJoinTask<?>> tasks = new ArrayList<>();
+		for (Move move : nextMoves.subList(1, nextMoves.size())) {
+			tasks.add(rootSplitPool.submit(() -> searchRootMove(move, positionalValues, player, bestValue,
+					searchValues, moveToPrincipalVariation, progress, job)));
+		}
+		RuntimeException exception = null;
+		for (ForkJoinTask<?> task : tasks) {
+			try {
+				task.join();
+			} catch (RuntimeException e) {
+				cancel();
+				exception = exception != null ? exception : e;
+			}
+		}
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+	private void searchRootMove(Move move, Map<Move, MoveValue> positionalValues, Player player,
+			AtomicInteger bestValue, Map<Move, Integer> searchValues, Map<Move, int[]> moveToPrincipalVariation,
+			Progress progress, Progress.Job job) {
+		MiniMaxAlphaBetaArtificialIntelligence searcher = takeIdleRootSplitSearcher();
+		try {
+			searcher.maxDepth = maxDepth;
+			searcher.depthReduction = 0;
+
+			int positionalValue = positionalValues.get(move).getCombinedScore();
+			int best = bestValue.get();
+			int alpha = initialAlpha;
+			int beta = initialBeta;
+			if (player == WHITE && best != Integer.MIN_VALUE) {
+				alpha = best - positionalValue - 1;
+			} else if (player == BLACK && best != Integer.MAX_VALUE) {
+				beta = best - positionalValue + 1;
+			}
+			int value = searcher.alphaBeta(searcher.searchBoard, EncodedMoves.encode(move), 1, alpha, beta, new Progress(percentage -> {}));
+			if (value > alpha && value < beta) {
+				bestValue.accumulateAndGet(value + positionalValue, player == WHITE ? Math::max : Math::min);
+			}
+			searchValues.put(move, value);
+			moveToPrincipalVariation.put(move, searcher.principalVariation.get(1));
+			synchronized (progress) {
+				job.onNextStep();
+			}
+		} finally {
+			idleRootSplitSearchers.add(searcher);
+		}
+	}
+
+	private MiniMaxAlphaBetaArtificialIntelligence takeIdleRootSplitSearcher() {
+		try {
+			return idleRootSplitSearchers.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ArtificalIntelligenceCanceledException();
+		}
+	}
+
+	private List<Future<?>> startHelpers(List<Move> nextMoves) {
+		List<Future<?>> futures = new ArrayList<>();
+		if (helperExecutorService == null || nextMoves.isEmpty()) {
+			return futures;
+		}
+		int[] rootMoves = nextMoves.stream().mapToInt(EncodedMoves::encode).toArray();
+		int targetMaxDepth = timeManager != null ? MAX_TIME_CONTROLLED_DEPTH : initialMaxDepth;
+		for (int i=0; i<helpers.size(); i++) {
+			MiniMaxAlphaBetaArtificialIntelligence helper = helpers.get(i);
+			int helperIndex = i + 1;
+			futures.add(helperExecutorService.submit(
+					() -> helper.searchAsHelper(rootMoves, helperIndex, targetMaxDepth)));
+		}
+		return futures;
+	}
+
+	private void stopHelpers(List<Future<?>> helperFutures) {
+		helpers.forEach(MiniMaxAlphaBetaArtificialIntelligence::cancel);
+		for (Future<?> future : helperFutures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (ExecutionException e) {
+				logger.warn("Search helper failed", e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Searches the root moves until it is canceled, only to fill the shared transposition table. To make the helpers
+	 * search different parts of the tree, each helper starts with a different move and odd helpers start at a larger
+	 * depth.
+	 */
+	private void searchAsHelper(int[] rootMoves, int helperIndex, int targetMaxDepth) {
+		depthReduction = 0;
+		try {
+			for (maxDepth = 1 + helperIndex % 2; maxDepth <= targetMaxDepth + 1; maxDepth++) {
+				Progress progress = new Progress(percentage -> {});
+				Progress.Job job = progress.onStartJobWithNrSteps(rootMoves.length);
+				for (int i=0; i<rootMoves.length; i++) {
+					alphaBeta(searchBoard, rootMoves[(i + helperIndex) % rootMoves.length], 1, initialAlpha, initialBeta, progress);
+					job.onNextStep();
+				}
+			}
+		} catch (ArtificalIntelligenceCanceledException e) {
+			// the main search has finished
+		}
+	}
+
+	/**
+	 * Determines the value of the best move of the previous iteration with a window around its value in the previous
+	 * iteration. If the value falls outside the window, the move is searched again with the window widened at that
+	 * side.
+	 */
+	private int aspirationSearch(Board board, int move, int previousValue, Progress progress) {
+		int alpha = previousValue > initialAlpha + ASPIRATION_WINDOW ? previousValue - ASPIRATION_WINDOW : initialAlpha;
+		int beta = previousValue < initialBeta - ASPIRATION_WINDOW ? previousValue + ASPIRATION_WINDOW : initialBeta;
+		while (true) {
+			int value = alphaBeta(board, move, 1, alpha, beta, progress);
+			if (value <= alpha && alpha != initialAlpha) {
+				statistics.onAspirationWindowFailure();
+				alpha = initialAlpha;
+			} else if (value >= beta && beta != initialBeta) {
+				statistics.onAspirationWindowFailure();
+				beta = initialBeta;
+			} else {
+				return value;
+			}
+		}
+	}
+
+	/**
+	 * Converts the principal variation following a move to {@link Move}s, including their status.
+	 */
+	private List<Move> toMoves(Board board, Move move, int[] principalVariation) {
+		Move initialLastMove = board.lastMove();
+		List<Move> moves = new ArrayList<>();
+		moves.add(move);
 		board.process(move);
+		for (int encodedMove : principalVariation) {
+			Move nextMove = board.currentPlayer().validMoves(board).stream()
+					.filter(m -> EncodedMoves.encode(m) == encodedMove)
+					.findFirst()
+					.orElseThrow(() -> new IllegalStateException("Move of principal variation is not a valid move"));
+			moves.add(nextMove);
+			board.process(nextMove);
+		}
+		board.process(initialLastMove);
+		return moves;
+	}
+
+	/**
+	 * Determines the value of a move using the alpha-beta algorithm.
+	 * @param board the board
+	 * @param move the encoded move
+	 * @param depth the depth of the position after the move; this is the ply in the principal variation too
+	 * @param alpha alpha
+	 * @param beta beta
+	 * @param progress progress
+	 * @return the value of the move
+	 */
+	private int alphaBeta(Board board, int move, int depth, int alpha, int beta, Progress progress) {
+		board.makeMove(move);
+		int value = alphaBetaAfterMove(board, move, depth, alpha, beta, progress);
+		board.unmakeMove(move);
+		return value;
+	}
+
+	private int alphaBetaAfterMove(Board board, int move, int depth, int alpha, int beta, Progress progress) {
 		long hash = board.getBoardHash();
-		TranspositionTable.BoardPosition cachedBoardPosition = transpositionTable.getCachedBoardPosition(hash, alpha, beta, move.depthInTree());
-		if (cachedBoardPosition != null) {
-			statistics.onCacheHit();
-			move.setValue(cachedBoardPosition.getValue());
-			return cachedBoardPosition.getBestDeepestMove();
+		int depthInTree = board.lastMoveDepthInTree();
+		int remainingDepth = max(0, maxDepth - depth - depthReduction);
+		if (timeManager != null && ++nrNodesSinceTimeCheck == NODES_PER_TIME_CHECK) {
+			nrNodesSinceTimeCheck = 0;
+			if (timeManager.onNodesSearched(NODES_PER_TIME_CHECK)) {
+				throw new ArtificalIntelligenceCanceledException();
+			}
+		}
+		if (board.getNumberOfRepetitionsOfCurrentPosition() > 1) {
+			principalVariation.clear(depth);
+			return DRAW_VALUE;
+		}
+		long entry = transpositionTable.probe(hash);
+		int hashMove = EncodedMoves.NO_MOVE;
+		if (entry != TranspositionTable.NO_ENTRY) {
+			hashMove = TranspositionTable.bestMove(entry);
+			if (TranspositionTable.depth(entry) >= remainingDepth) {
+				int cachedValue = valueFromTable(TranspositionTable.value(entry), depthInTree);
+				int bound = TranspositionTable.bound(entry);
+				if (bound == TranspositionTable.EXACT
+						|| (bound == TranspositionTable.LOWER_BOUND && cachedValue >= beta)
+						|| (bound == TranspositionTable.UPPER_BOUND && cachedValue <= alpha)) {
+					statistics.onCacheHit();
+					principalVariation.clear(depth);
+					if (hashMove != EncodedMoves.NO_MOVE) {
+						principalVariation.set(depth, hashMove);
+					}
+					return cachedValue;
+				}
+			}
 		}
 
-		if (depth >= maxDepth + maxDepthDelta.get()) {
-			Move bestDeepestMove = quiescenceSearch.search(board, move, alpha, beta);
-			storeBestDeepestMoveInCache(move, hash, alpha, beta, bestDeepestMove);
-			return bestDeepestMove;
+		int value;
+		boolean inCheck = remainingDepth > 0 && (nullMovePruning || lateMoveReductions) && board.isKingAttacked(board.currentPlayer());
+		if (remainingDepth == 0) {
+			value = quiescenceSearch.search(board, move, alpha, beta, depth, principalVariation);
+		} else if (nullMoveCausesCutOff(board, move, depth, remainingDepth, inCheck, alpha, beta, progress)) {
+			principalVariation.clear(depth);
+			value = board.currentPlayer() == Player.WHITE ? beta : alpha;
+		} else {
+			int[] childMoves = movesPerPly[depth];
+			int nrChildMoves = getChildMoves(board, depth, childMoves);
+			statistics.onPositionsGenerated(nrChildMoves);
+			if (nrChildMoves == 0) {
+				principalVariation.clear(depth);
+				value = board.isKingAttacked(board.currentPlayer()) ? evaluate(board) : DRAW_VALUE;
+			} else {
+				MovePicker movePicker = movePickerPerPly[depth];
+				movePicker.init(board, childMoves, nrChildMoves, hashMove, move, depthInTree + 1);
+				value = alphaBetaWithChildMoves(board, move, depth, depthInTree + 1, remainingDepth, inCheck, alpha, beta,
+						progress, movePicker);
+			}
 		}
+		int bound = value <= alpha ? TranspositionTable.UPPER_BOUND
+				: (value >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT);
+		transpositionTable.store(hash, valueToTable(value, depthInTree), bound, remainingDepth, principalVariation.bestMove(depth));
+		return value;
+	}
 
-		List<Move> childMoves = getChildMoves(board, move);
-		statistics.onPositionsGenerated(childMoves.size());
-		if (childMoves.isEmpty()) {
-			evaluateMove(board, move);
-			storeBestDeepestMoveInCache(move, hash, alpha, beta, move);
-			return move;
+	/**
+	 * Checks whether the player to move is so far ahead that passing the turn to the opponent still leads to a cut-off.
+	 * This is not done if the player is in check, if the previous move was a null move, or if the player only has
+	 * pawns besides the king: in such endgames zugzwang is common, in which passing would be the best move.
+	 */
+	private boolean nullMoveCausesCutOff(Board board, int move, int depth, int remainingDepth, boolean inCheck,
+			int alpha, int beta, Progress progress) {
+		Player player = board.currentPlayer();
+		if (!nullMovePruning || inCheck || remainingDepth < NULL_MOVE_MIN_DEPTH || EncodedMoves.isNullMove(move)
+				|| board.numberNonPawnPieces(player) <= 1) {
+			return false;
+		}
+		int bound = player == Player.WHITE ? beta : alpha;
+		if (bound == Integer.MAX_VALUE || bound == Integer.MIN_VALUE || abs(bound) >= MIN_WIN_VALUE) {
+			return false;
 		}
 
-		killerHeuristic.putKillerMoveFirst(childMoves);
-		Move bestDeepestMove = alphaBetaWithChildMoves(board, move, depth, alpha, beta, progress, childMoves);
-		storeBestDeepestMoveInCache(move, hash, alpha, beta, bestDeepestMove);
-		return bestDeepestMove;
+		int reduction = NULL_MOVE_REDUCTIONS[remainingDepth];
+		int nullMove = EncodedMoves.nullMove(player);
+		board.makeNullMove();
+		depthReduction += reduction;
+		int value = player == Player.WHITE
+				? alphaBetaAfterMove(board, nullMove, depth + 1, beta - 1, beta, progress)
+				: alphaBetaAfterMove(board, nullMove, depth + 1, alpha, alpha + 1, progress);
+		depthReduction -= reduction;
+		board.unmakeNullMove();
+
+		boolean cutOff = player == Player.WHITE ? value >= beta : value <= alpha;
+		if (cutOff) {
+			statistics.onNullMoveCutOff(remainingDepth);
+		}
+		return cutOff;
 	}
 
-	private Move alphaBetaWithChildMoves(Board board, Move move, int depth, int alpha, int beta, Progress progress, List<Move> childMoves) {
+	/**
+	 * Determines the reduction of the depth for a child move. Only quiet moves that come late in the move ordering
+	 * are reduced, and only if the player is not in check.
+	 * @return the reduction or 0 if the move must be searched with the full depth
+	 */
+	private int lateMoveReduction(MovePicker movePicker, int moveIndex, int remainingDepth, boolean inCheck) {
+		if (!lateMoveReductions || inCheck || moveIndex < LATE_MOVE_REDUCTION_MIN_MOVE_INDEX
+				|| remainingDepth < LATE_MOVE_REDUCTION_MIN_DEPTH || !movePicker.isLastMoveOrderedByHistory()) {
+			return 0;
+		}
+		return LATE_MOVE_REDUCTIONS[min(remainingDepth, PrincipalVariation.MAX_PLY)][moveIndex];
+	}
+
+	/**
+	 * Determines the value of a move like {@link #alphaBeta(Board, int, int, int, int, Progress)}, but with a reduced
+	 * remaining depth.
+	 */
+	private int reducedAlphaBeta(Board board, int move, int depth, int alpha, int beta, int reduction, Progress progress) {
+		depthReduction += reduction;
+		int value = alphaBeta(board, move, depth, alpha, beta, progress);
+		depthReduction -= reduction;
+		return value;
+	}
+
+	/**
+	 * Converts a value to a value that can be stored in the transposition table. The value of a check mate depends
+	 * on the depth in the tree of the check mate. The stored value depends on the distance to the check mate instead,
+	 * because the position can be reached at a different depth in the tree.
+	 */
+	private int valueToTable(int value, int depthInTree) {
+		if (value >= MIN_WIN_VALUE) {
+			return value + WIN_VALUE_PER_DEPTH * depthInTree;
+		}
+		if (value <= -MIN_WIN_VALUE) {
+			return value - WIN_VALUE_PER_DEPTH * depthInTree;
+		}
+		return value;
+	}
+
+	private int valueFromTable(int value, int depthInTree) {
+		if (value >= MIN_WIN_VALUE) {
+			return value - WIN_VALUE_PER_DEPTH * depthInTree;
+		}
+		if (value <= -MIN_WIN_VALUE) {
+			return value + WIN_VALUE_PER_DEPTH * depthInTree;
+		}
+		return value;
+	}
+
+	private int alphaBetaWithChildMoves(Board board, int move, int depth, int childLevel, int remainingDepth, boolean inCheck,
+			int alpha, int beta, Progress progress, MovePicker movePicker) {
 		if (canceled.get()) {
 			throw new ArtificalIntelligenceCanceledException();
 		}
 
 		Progress.Job job = null;
 		if (depth <= 1) {
-			job = progress.onStartJobWithNrSteps(childMoves.size());
+			job = progress.onStartJobWithNrSteps(movePicker.getNrMoves());
+		}
+
+		principalVariation.clear(depth);
+		if (searchAlgorithm == SearchAlgorithm.PRINCIPAL_VARIATION_SEARCH) {
+			return principalVariationSearch(board, move, depth, childLevel, remainingDepth, inCheck, alpha, beta, progress, job,
+					movePicker);
 		}
 
-		Move bestDeepestMove = null;
-		if (childMoves.get(0).getPlayer() == Player.WHITE) {
-			MoveValue value = MoveValue.WHITE_MIN_VALUE;
-			for (Move childMove  : childMoves) {
-				Move deepestChildMove = alphaBeta(board, childMove, depth + 1, alpha, beta, progress);
-				MoveValue childMoveValue = childMove.getValue();
-				if (childMoveValue.isGreaterThan(value)) {
+		int value;
+		if (board.currentPlayer() == Player.WHITE) {
+			value = MoveValue.WHITE_MIN_VALUE.getCombinedScore();
+			int childMove;
+			for (int i=0; (childMove = movePicker.next()) != EncodedMoves.NO_MOVE; i++) {
+				int reduction = lateMoveReduction(movePicker, i, remainingDepth, inCheck);
+				int childMoveValue = Integer.MAX_VALUE;
+				if (reduction > 0) {
+					statistics.onLateMoveReduction(remainingDepth);
+					childMoveValue = reducedAlphaBeta(board, childMove, depth + 1, alpha, alpha + 1, reduction, progress);
+				}
+				if (childMoveValue > alpha) {
+					if (reduction > 0) {
+						statistics.onLateMoveReductionReSearch();
+					}
+					childMoveValue = alphaBeta(board, childMove, depth + 1, alpha, beta, progress);
+				}
+				if (childMoveValue > value) {
 					value = childMoveValue;
-					bestDeepestMove = deepestChildMove;
+					principalVariation.update(depth, childMove);
 				}
-				alpha = max(alpha, value.getCombinedScore());
+				alpha = max(alpha, value);
 
 				if (job != null) {
 					job.onNextStep();
 				}
 				if (beta <= alpha) {
-					if (killerHeuristic.markAsKiller(childMove)) {
-						statistics.onCutOffByKillerMove();
-					}
+					onCutOff(childMove, move, childLevel, remainingDepth);
 					break; // beta cut-off
 				}
 			}
-			move.setValue(value);
 		} else {
-			MoveValue value = MoveValue.BLACK_MIN_VALUE;
-			for (Move childMove  : childMoves) {
-				Move deepestChildMove = alphaBeta(board, childMove, depth + 1, alpha, beta, progress);
-				MoveValue childMoveValue = childMove.getValue();
-				if (childMoveValue.isLessThan(value)) {
+			value = MoveValue.BLACK_MIN_VALUE.getCombinedScore();
+			int childMove;
+			for (int i=0; (childMove = movePicker.next()) != EncodedMoves.NO_MOVE; i++) {
+				int reduction = lateMoveReduction(movePicker, i, remainingDepth, inCheck);
+				int childMoveValue = Integer.MIN_VALUE;
+				if (reduction > 0) {
+					statistics.onLateMoveReduction(remainingDepth);
+					childMoveValue = reducedAlphaBeta(board, childMove, depth + 1, beta - 1, beta, reduction, progress);
+				}
+				if (childMoveValue < beta) {
+					if (reduction > 0) {
+						statistics.onLateMoveReductionReSearch();
+					}
+					childMoveValue = alphaBeta(board, childMove, depth + 1, alpha, beta, progress);
+				}
+				if (childMoveValue < value) {
 					value = childMoveValue;
-					bestDeepestMove = deepestChildMove;
+					principalVariation.update(depth, childMove);
 				}
-				beta = min(beta, value.getCombinedScore());
+				beta = min(beta, value);
 
 				if (job != null) {
 					job.onNextStep();
 				}
 
 				if (beta <= alpha) {
-					if (killerHeuristic.markAsKiller(childMove)) {
-						statistics.onCutOffByKillerMove();
-					}
+					onCutOff(childMove, move, childLevel, remainingDepth);
 					break; // alpha cut-off
 				}
 			}
-			move.setValue(value);
 		}
 
-		return bestDeepestMove;
+		return value;
 	}
 
-	private void storeBestDeepestMoveInCache(Move move, long hash, int alpha, int beta, Move bestDeepestMove) {
-		transpositionTable.store(hash, alpha, beta, move.getValue(), move.depthInTree(), bestDeepestMove);
+	/**
+	 * Searches the child moves with the principal variation search algorithm in negamax form: within this method
+	 * values and windows are from the perspective of the player to move.
+	 */
+	private int principalVariationSearch(Board board, int move, int depth, int childLevel, int remainingDepth, boolean inCheck,
+			int alpha, int beta, Progress progress, Progress.Job job, MovePicker movePicker) {
+		int sign = board.currentPlayer() == Player.WHITE ? 1 : -1;
+		int playerAlpha = sign == 1 ? alpha : negate(beta);
+		int playerBeta = sign == 1 ? beta : negate(alpha);
+		int value = MoveValue.WHITE_MIN_VALUE.getCombinedScore();
+		int childMove;
+		for (int i=0; (childMove = movePicker.next()) != EncodedMoves.NO_MOVE; i++) {
+			int childMoveValue;
+			if (i == 0) {
+				childMoveValue = searchChild(board, childMove, depth, sign, playerAlpha, playerBeta, 0, progress);
+			} else {
+				int reduction = lateMoveReduction(movePicker, i, remainingDepth, inCheck);
+				childMoveValue = Integer.MAX_VALUE;
+				if (reduction > 0) {
+					statistics.onLateMoveReduction(remainingDepth);
+					childMoveValue = searchChild(board, childMove, depth, sign, playerAlpha, playerAlpha + 1, reduction, progress);
+					if (childMoveValue > playerAlpha) {
+						statistics.onLateMoveReductionReSearch();
+					}
+				}
+				if (childMoveValue > playerAlpha) {
+					childMoveValue = searchChild(board, childMove, depth, sign, playerAlpha, playerAlpha + 1, 0, progress);
+				}
+				if (childMoveValue > playerAlpha && childMoveValue < playerBeta) {
+					childMoveValue = searchChild(board, childMove, depth, sign, playerAlpha, playerBeta, 0, progress);
+				}
+			}
+			if (childMoveValue > value) {
+				value = childMoveValue;
+				principalVariation.update(depth, childMove);
+			}
+			playerAlpha = max(playerAlpha, value);
+
+			if (job != null) {
+				job.onNextStep();
+			}
+			if (playerBeta <= playerAlpha) {
+				onCutOff(childMove, move, childLevel, remainingDepth);
+				break; // cut-off
+			}
+		}
+		return sign * value;
 	}
 
-	private List<Move> getChildMoves(Board board, Move move) {
-		board.process(move);
-		Player player = board.currentPlayer();
-		List<Move> childMoves = player.validMoves(board);
+	private void onCutOff(int childMove, int move, int childLevel, int remainingDepth) {
+		if (killerHeuristic.markAsKiller(childMove, childLevel)) {
+			statistics.onCutOffByKillerMove();
+		}
+		historyHeuristic.onCutOff(childMove, move, remainingDepth);
+	}
 
-		evaluateMoves(board, childMoves);
-		moveSort.sort(childMoves);
+	/**
+	 * Determines the value of a child move from the perspective of the player making the move.
+	 */
+	private int searchChild(Board board, int childMove, int depth, int sign, int playerAlpha, int playerBeta,
+			int reduction, Progress progress) {
+		int alpha = sign == 1 ? playerAlpha : negate(playerBeta);
+		int beta = sign == 1 ? playerBeta : negate(playerAlpha);
+		return sign * reducedAlphaBeta(board, childMove, depth + 1, alpha, beta, reduction, progress);
+	}
 
-		return childMoves;
+	/**
+	 * Negates a bound of a window. The bounds of the initial window are swapped, because -Integer.MIN_VALUE overflows.
+	 */
+	private static int negate(int bound) {
+		if (bound == Integer.MIN_VALUE) {
+			return Integer.MAX_VALUE;
+		}
+		if (bound == Integer.MAX_VALUE) {
+			return Integer.MIN_VALUE;
+		}
+		return -bound;
 	}
 
-	private void evaluateMoves(Board board, List<Move> moves) {
-		for (Move move : moves) {
-			evaluateMove(board, move);
+	/**
+	 * Determines the legal child moves. Pseudo-legal moves are generated and their legality is checked one by one.
+	 */
+	private int getChildMoves(Board board, int depth, int[] childMoves) {
+		Player player = board.currentPlayer();
+		int nrPseudoLegalMoves = player.pseudoLegalMoves(board, childMoves, 0);
+		LegalityChecker legalityChecker = legalityCheckerPerPly[depth];
+		legalityChecker.init(board, player);
+		int nrChildMoves = 0;
+		for (int i=0; i<nrPseudoLegalMoves; i++) {
+			int childMove = childMoves[i];
+			if (legalityChecker.isLegal(childMove)) {
+				childMoves[nrChildMoves++] = childMove;
+			}
 		}
+		return nrChildMoves;
 	}
 
-	private void evaluateMove(Board board, Move move) {
-		board.process(move);
-		move.setValue(boardEvaluator.value(board));
+	private int evaluate(Board board) {
 		statistics.onPositionEvaluated();
+		return boardEvaluator.score(board);
 	}
 
 	public void cancel() {
 		canceled.set(true);
+		helpers.forEach(MiniMaxAlphaBetaArtificialIntelligence::cancel);
 	}
 
 }
@@ -0,0 +1,179 @@
+package nl.gogognome.gogochess.logic.ai;
+
+import static nl.gogognome.gogochess.logic.EncodedMoves.*;
+import nl.gogognome.gogochess.logic.*;
+
+/**
+ * This class returns the moves of a position one by one in the order in which they are searched. The moves are
+ * returned in stages:
+ * <ol>
+ *     <li>the hash move, which is the best move found by an earlier search of the position</li>
+ *     <li>captures and promotions that do not lose material according to the static exchange evaluation, most
+ *     valuable gain first</li>
+ *     <li>the killer moves and the counter move of the previous move</li>
+ *     <li>the other quiet moves, ordered by the {@link HistoryHeuristic}</li>
+ *     <li>captures and promotions that lose material</li>
+ * </ol>
+ *
+ * <p>Within a stage the next move is selected when it is needed. The moves are not sorted completely, because
+ * often the first moves already cause a cut-off.</p>
+ *
+ * <p>An instance is used for a single ply of the search.</p>
+ */
+class MovePicker {
+
+	private enum Stage {
+		HASH_MOVE,
+		GOOD_CAPTURES,
+		KILLER_MOVES,
+		QUIET_MOVES,
+		BAD_CAPTURES,
+		DONE
+	}
+
+	private final KillerHeuristic killerHeuristic;
+	private final HistoryHeuristic historyHeuristic;
+	private final StaticExchangeEvaluator staticExchangeEvaluator;
+
+	private final int[] captures = new int[MAX_NR_MOVES];
+	private final int[] captureValues = new int[MAX_NR_MOVES];
+	private final int[] quietMoves = new int[MAX_NR_MOVES];
+	private final int[] quietMoveValues = new int[MAX_NR_MOVES];
+
+	private Stage stage;
+	private int hashMove;
+	private int nrMoves;
+	private int nrCaptures;
+	private int captureIndex;
+	private int nrQuietMoves;
+	private int nrKillerMoves;
+	private int quietMoveIndex;
+
+	MovePicker(KillerHeuristic killerHeuristic, HistoryHeuristic historyHeuristic, StaticExchangeEvaluator staticExchangeEvaluator) {
+		this.killerHeuristic = killerHeuristic;
+		this.historyHeuristic = historyHeuristic;
+		this.staticExchangeEvaluator = staticExchangeEvaluator;
+	}
+
+	/**
+	 * Prepares picking the moves of a position.
+	 * @param board the board containing the position
+	 * @param moves the legal moves of the position
+	 * @param nrMoves the number of moves
+	 * @param hashMove the hash move or {@link EncodedMoves#NO_MOVE}
+	 * @param previousMove the move that lead to the position
+	 * @param level the level (tree depth) of the moves
+	 */
+	void init(Board board, int[] moves, int nrMoves, int hashMove, int previousMove, int level) {
+		this.nrMoves = nrMoves;
+		this.hashMove = NO_MOVE;
+		nrCaptures = 0;
+		nrQuietMoves = 0;
+		for (int i=0; i<nrMoves; i++) {
+			int move = moves[i];
+			if (move == hashMove) {
+				this.hashMove = move;
+			} else if (HistoryHeuristic.isQuiet(move)) {
+				quietMoves[nrQuietMoves++] = move;
+			} else {
+				captureValues[nrCaptures] = staticExchangeEvaluator.evaluate(board, move) * 8 + victimOrdinal(move);
+				captures[nrCaptures++] = move;
+			}
+		}
+
+		nrKillerMoves = killerHeuristic.putKillerMovesFirst(quietMoves, 0, nrQuietMoves, level);
+		int counterMove = historyHeuristic.counterMove(previousMove);
+		for (int i=nrKillerMoves; i<nrQuietMoves && counterMove != NO_MOVE; i++) {
+			if (quietMoves[i] == counterMove) {
+				quietMoves[i] = quietMoves[nrKillerMoves];
+				quietMoves[nrKillerMoves++] = counterMove;
+				break;
+			}
+		}
+
+		captureIndex = 0;
+		quietMoveIndex = 0;
+		stage = Stage.HASH_MOVE;
+	}
+
+	int getNrMoves() {
+		return nrMoves;
+	}
+
+	/**
+	 * @return the next move or {@link EncodedMoves#NO_MOVE} if all moves have been returned
+	 */
+	int next() {
+		switch (stage) {
+			case HASH_MOVE:
+				stage = Stage.GOOD_CAPTURES;
+				if (hashMove != NO_MOVE) {
+					return hashMove;
+				}
+				// fall through
+			case GOOD_CAPTURES:
+				if (captureIndex < nrCaptures) {
+					selectBestMove(captures, captureValues, captureIndex, nrCaptures);
+					if (captureValues[captureIndex] >= 0) {
+						return captures[captureIndex++];
+					}
+				}
+				stage = Stage.KILLER_MOVES;
+				// fall through
+			case KILLER_MOVES:
+				if (quietMoveIndex < nrKillerMoves) {
+					return quietMoves[quietMoveIndex++];
+				}
+				for (int i=nrKillerMoves; i<nrQuietMoves; i++) {
+					quietMoveValues[i] = historyHeuristic.historyValue(quietMoves[i]);
+				}
+				stage = Stage.QUIET_MOVES;
+				// fall through
+			case QUIET_MOVES:
+				if (quietMoveIndex < nrQuietMoves) {
+					selectBestMove(quietMoves, quietMoveValues, quietMoveIndex, nrQuietMoves);
+					return quietMoves[quietMoveIndex++];
+				}
+				stage = Stage.BAD_CAPTURES;
+				// fall through
+			case BAD_CAPTURES:
+				if (captureIndex < nrCaptures) {
+					selectBestMove(captures, captureValues, captureIndex, nrCaptures);
+					return captures[captureIndex++];
+				}
+				stage = Stage.DONE;
+				// fall through
+			default:
+				return NO_MOVE;
+		}
+	}
+
+	/**
+	 * @return true if the last returned move is a quiet move that is ordered by the history heuristic only
+	 */
+	boolean isLastMoveOrderedByHistory() {
+		return stage == Stage.QUIET_MOVES;
+	}
+
+	private static int victimOrdinal(int move) {
+		return isCapture(move) ? capturedPlayerPiece(move).getPiece().ordinal() : 0;
+	}
+
+	/**
+	 * Swaps the move with the highest value between start (inclusive) and end (exclusive) with the move at start.
+	 */
+	private static void selectBestMove(int[] moves, int[] values, int start, int end) {
+		int bestIndex = start;
+		for (int i=start + 1; i<end; i++) {
+			if (values[i] > values[bestIndex]) {
+				bestIndex = i;
+			}
+		}
+		int move = moves[bestIndex];
+		int value = values[bestIndex];
+		moves[bestIndex] = moves[start];
+		values[bestIndex] = values[start];
+		moves[start] = move;
+		values[start] = value;
+	}
+}
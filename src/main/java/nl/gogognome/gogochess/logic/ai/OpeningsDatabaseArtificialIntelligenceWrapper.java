@@ -42,6 +42,20 @@ public class OpeningsDatabaseArtificialIntelligenceWrapper implements Artificial
 		}
 	}
 
+	@Override
+	public void setTimeControl(TimeControl timeControl) {
+		if (wrappedArtificialIntelligence instanceof RecursiveSearchAI) {
+			((RecursiveSearchAI) wrappedArtificialIntelligence).setTimeControl(timeControl);
+		}
+	}
+
+	@Override
+	public void setSearchAlgorithm(SearchAlgorithm searchAlgorithm) {
+		if (wrappedArtificialIntelligence instanceof RecursiveSearchAI) {
+			((RecursiveSearchAI) wrappedArtificialIntelligence).setSearchAlgorithm(searchAlgorithm);
+		}
+	}
+
 	@Override
 	public Move nextMove(Board board, Player player, ProgressListener progressListener) {
 		List<Integer> matchingOpenings = new ArrayList<>();
@@ -0,0 +1,18 @@
+package nl.gogognome.gogochess.logic.ai;
+
+/**
+ * Determines how {@link MiniMaxAlphaBetaArtificialIntelligence} divides the search over multiple threads.
+ */
+public enum ParallelSearchMode {
+
+	/**
+	 * All threads search all root moves. The helper threads only fill the shared transposition table.
+	 */
+	LAZY_SMP,
+
+	/**
+	 * The root moves are divided over the threads. The best value found so far narrows the window of the root moves
+	 * that are searched later.
+	 */
+	ROOT_SPLIT
+}
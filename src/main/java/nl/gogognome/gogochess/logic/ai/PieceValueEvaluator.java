@@ -1,36 +1,40 @@
 package nl.gogognome.gogochess.logic.ai;
 
-import static java.util.stream.Collectors.*;
 import static nl.gogognome.gogochess.logic.Piece.*;
 import static nl.gogognome.gogochess.logic.Player.*;
 import java.util.*;
-import java.util.concurrent.atomic.*;
-import com.google.common.collect.*;
 import nl.gogognome.gogochess.logic.*;
 
+/**
+ * This evaluator sums the values of the pieces of each player. The values are indexed by the ordinal of the
+ * {@link Piece}. The number of pieces is maintained by the {@link Board} when pieces are added and removed,
+ * so the evaluation does not have to visit the squares of the board.
+ */
 public class PieceValueEvaluator implements BoardEvaluator {
 
-	private Map<Piece, Integer> whitePieceToValue = ImmutableMap.<Piece, Integer>builder()
-			.put(PAWN, 100)
-			.put(KNIGHT, 330)
-			.put(BISHOP, 330)
-			.put(ROOK, 500)
-			.put(QUEEN, 900)
-			.put(KING, 15000)
-			.build();
+	private final static Piece[] PIECES = Piece.values();
 
-	private Map<Piece, Integer> blackPieceToValue = whitePieceToValue;
+	private int[] whitePieceToValue = new int[] { 100, 330, 330, 500, 900, 15000 };
+
+	private int[] blackPieceToValue = whitePieceToValue;
 
 	@Override
 	public MoveValue value(Board board) {
 		return new MoveValue(getValueForPieces(board, WHITE), getValueForPieces(board, BLACK), "piece values");
 	}
 
+	@Override
+	public int score(Board board) {
+		return getValueForPieces(board, WHITE) - getValueForPieces(board, BLACK);
+	}
+
 	public int getValueForPieces(Board board, Player player) {
-		AtomicInteger whiteValue = new AtomicInteger();
-		Map<Piece, Integer> playerPieceToValue = player == WHITE ? whitePieceToValue : blackPieceToValue;
-		board.forEachPlayerPiece(player, (playerPiece, square) -> whiteValue.getAndAdd(playerPieceToValue.get(playerPiece.getPiece())));
-		return whiteValue.get();
+		int[] playerPieceToValue = player == WHITE ? whitePieceToValue : blackPieceToValue;
+		int value = 0;
+		for (Piece piece : PIECES) {
+			value += board.nrPiecesOf(player, piece) * playerPieceToValue[piece.ordinal()];
+		}
+		return value;
 	}
 
 	public void readjustWhitePieceValues(float factor) {
@@ -42,18 +46,21 @@ public class PieceValueEvaluator implements BoardEvaluator {
 	}
 
 	public void setWhitePawnValue(int newValue) {
-		whitePieceToValue = new HashMap<>(blackPieceToValue);
-		whitePieceToValue.put(PAWN, newValue);
+		whitePieceToValue = blackPieceToValue.clone();
+		whitePieceToValue[PAWN.ordinal()] = newValue;
 	}
 
 	public void setBlackPawnValue(int newValue) {
-		blackPieceToValue = new HashMap<>(blackPieceToValue);
-		blackPieceToValue.put(PAWN, newValue);
+		blackPieceToValue = blackPieceToValue.clone();
+		blackPieceToValue[PAWN.ordinal()] = newValue;
 	}
 
-	private Map<Piece, Integer> readjustBlackPieceValues(Map<Piece, Integer> pieceToValue, float factor) {
-		return pieceToValue.keySet().stream()
-				.collect(toMap(piece -> piece, piece -> applyFactor(piece, pieceToValue.get(piece), factor)));
+	private int[] readjustBlackPieceValues(int[] pieceToValue, float factor) {
+		int[] readjustedPieceToValue = new int[pieceToValue.length];
+		for (Piece piece : PIECES) {
+			readjustedPieceToValue[piece.ordinal()] = applyFactor(piece, pieceToValue[piece.ordinal()], factor);
+		}
+		return readjustedPieceToValue;
 	}
 
 	private int applyFactor(Piece piece, int oldValue, float factor) {
@@ -63,8 +70,16 @@ public class PieceValueEvaluator implements BoardEvaluator {
 		return (int)(oldValue * factor + 0.5f);
 	}
 
+	private static Map<Piece, Integer> toMap(int[] pieceToValue) {
+		Map<Piece, Integer> map = new EnumMap<>(Piece.class);
+		for (Piece piece : PIECES) {
+			map.put(piece, pieceToValue[piece.ordinal()]);
+		}
+		return map;
+	}
+
 	@Override
 	public String toString() {
-		return "White piece values: " + whitePieceToValue + "; black piece values: " + blackPieceToValue;
+		return "White piece values: " + toMap(whitePieceToValue) + "; black piece values: " + toMap(blackPieceToValue);
 	}
 }
@@ -0,0 +1,57 @@
+package nl.gogognome.gogochess.logic.ai;
+
+import static java.util.Arrays.*;
+import nl.gogognome.gogochess.logic.*;
+
+/**
+ * This class keeps track of the principal variation, i.e., the sequence of best moves, per ply of the search tree.
+ * It is a triangular table: the principal variation of a ply consists of the best move at that ply followed by
+ * the principal variation of the next ply. Moves are encoded by {@link nl.gogognome.gogochess.logic.EncodedMoves}.
+ */
+class PrincipalVariation {
+
+	/** Maximum number of plies of a search, including quiescence search. */
+	final static int MAX_PLY = 128;
+
+	private final int[][] movesPerPly = new int[MAX_PLY + 1][MAX_PLY + 1];
+	private final int[] lengthPerPly = new int[MAX_PLY + 1];
+
+	void clear(int ply) {
+		lengthPerPly[ply] = 0;
+	}
+
+	/**
+	 * Sets the principal variation of a ply to the best move followed by the principal variation of the next ply.
+	 * @param ply the ply
+	 * @param bestMove the best move at the ply
+	 */
+	void update(int ply, int bestMove) {
+		int[] moves = movesPerPly[ply];
+		moves[0] = bestMove;
+		int childLength = lengthPerPly[ply + 1];
+		System.arraycopy(movesPerPly[ply + 1], 0, moves, 1, childLength);
+		lengthPerPly[ply] = childLength + 1;
+	}
+
+	/**
+	 * Sets the principal variation of a ply to a single move.
+	 * @param ply the ply
+	 * @param bestMove the best move at the ply
+	 */
+	void set(int ply, int bestMove) {
+		movesPerPly[ply][0] = bestMove;
+		lengthPerPly[ply] = 1;
+	}
+
+	/**
+	 * @param ply the ply
+	 * @return the first move of the principal variation of the ply or {@link EncodedMoves#NO_MOVE} if it is empty
+	 */
+	int bestMove(int ply) {
+		return lengthPerPly[ply] > 0 ? movesPerPly[ply][0] : EncodedMoves.NO_MOVE;
+	}
+
+	int[] get(int ply) {
+		return copyOf(movesPerPly[ply], lengthPerPly[ply]);
+	}
+}
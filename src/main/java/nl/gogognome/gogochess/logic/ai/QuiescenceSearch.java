@@ -1,12 +1,20 @@
 package nl.gogognome.gogochess.logic.ai;
 
-import static nl.gogognome.gogochess.logic.MoveValue.*;
 import static nl.gogognome.gogochess.logic.Player.*;
-import java.util.*;
+import static nl.gogognome.gogochess.logic.ai.PrincipalVariation.*;
 import nl.gogognome.gogochess.logic.*;
 
 /**
  * Implementation of quiescence search based on https://chessprogramming.wikispaces.com/Quiescence+Search
+ *
+ * <p>The search uses moves encoded by {@link EncodedMoves}. Pseudo-legal captures are generated in a buffer per ply.
+ * The legality of a capture is only checked when the capture is about to be searched.</p>
+ *
+ * <p>Captures are ordered by their static exchange evaluation, and by the value of the captured piece if those are
+ * equal. Captures that lose material according to the static exchange evaluation are not searched.</p>
+ *
+ * <p>Only quiet moves are marked as killer moves, because the killer moves are tried among the quiet moves by the
+ * {@link MovePicker}. Cut-offs by captures would push the quiet killer moves out.</p>
  */
 public class QuiescenceSearch {
 
@@ -15,82 +23,156 @@ public class QuiescenceSearch {
 	private final KillerHeuristic killerHeuristic;
 	private int margin = 1000;
 
+	private final int[][] movesPerPly = new int[MAX_PLY + 1][EncodedMoves.MAX_NR_MOVES];
+	private final int[][] valuesPerPly = new int[MAX_PLY + 1][EncodedMoves.MAX_NR_MOVES];
+	private final StaticExchangeEvaluator staticExchangeEvaluator = new StaticExchangeEvaluator();
+	private final LegalityChecker[] legalityCheckerPerPly = new LegalityChecker[MAX_PLY + 1];
+
+	/** Value of the node for which the last call to {@link #searchDeepestValue} was made. */
+	private int nodeValue;
+
 	public QuiescenceSearch(
 			BoardEvaluator boardEvaluator, Statistics statistics,
 			KillerHeuristic killerHeuristic) {
 		this.boardEvaluator = boardEvaluator;
 		this.statistics = statistics;
 		this.killerHeuristic = killerHeuristic;
+		for (int ply=0; ply<legalityCheckerPerPly.length; ply++) {
+			legalityCheckerPerPly[ply] = new LegalityChecker();
+		}
 	}
 
 	Move search(Board board, Move move, int alpha, int beta) {
-		board.process(move);
+		board.process(move.getPrecedingMove());
+		int encodedMove = EncodedMoves.encode(move);
+		board.makeMove(encodedMove);
+		int value = search(board, encodedMove, alpha, beta, 0, new PrincipalVariation());
+		board.unmakeMove(encodedMove);
+		move.setValue(new MoveValue(value, 0, "quiescence search"));
+		return move;
+	}
+
+	/**
+	 * Performs a quiescence search for the position after the specified move.
+	 * @param board the board on which the move has already been made
+	 * @param move the last move made on the board
+	 * @param alpha alpha
+	 * @param beta beta
+	 * @param ply the ply of the position after the move
+	 * @param principalVariation the principal variation, which is updated for the ply
+	 * @return the value of the position
+	 */
+	int search(Board board, int move, int alpha, int beta, int ply, PrincipalVariation principalVariation) {
+		searchDeepestValue(board, move, alpha, beta, ply, principalVariation);
+		return nodeValue;
+	}
+
+	/**
+	 * @return the value of the deepest position of the principal variation. The value of the position after the
+	 * move itself is stored in {@link #nodeValue}.
+	 */
+	private int searchDeepestValue(Board board, int move, int alpha, int beta, int ply, PrincipalVariation principalVariation) {
+		principalVariation.clear(ply);
 		statistics.onPositionEvaluated();
-		MoveValue value = boardEvaluator.value(board);
-		move.setValue(value);
+		int value = boardEvaluator.score(board);
+		int level = board.lastMoveDepthInTree();
 
-		Player playerForNextMove = move.getPlayer().opponent();
+		Player playerForNextMove = EncodedMoves.player(move).opponent();
 		if (playerForNextMove == WHITE) {
-			if (value.getCombinedScore() - margin >= beta) {
-				move.setValue(MoveValue.forWhite(beta, "Beta cut off"));
-				if (killerHeuristic.markAsKiller(move)) {
-					statistics.onCutOffByKillerMove();
-				}
-				return move;
+			if (value - margin >= beta) {
+				nodeValue = beta;
+				markAsKillerIfQuiet(move, level);
+				return nodeValue;
 			}
-			if (value.getCombinedScore() > alpha) {
-				alpha = value.getCombinedScore();
+			if (value > alpha) {
+				alpha = value;
 			}
 		} else {
-			if (value.getCombinedScore() + margin <= alpha) {
-				move.setValue(forBlack(alpha, "Alpha cut off"));
-				if (killerHeuristic.markAsKiller(move)) {
-					statistics.onCutOffByKillerMove();
-				}
-				return move;
+			if (value + margin <= alpha) {
+				nodeValue = alpha;
+				markAsKillerIfQuiet(move, level);
+				return nodeValue;
 			}
-			if (beta > value.getCombinedScore()) {
-				beta = value.getCombinedScore();
+			if (beta > value) {
+				beta = value;
 			}
 		}
 
-		Move bestDeepestMove = move;
-		List<Move> childMoves = board.currentPlayer().validCaptures(board);
-		statistics.onPositionsGenerated(childMoves.size());
-		killerHeuristic.putKillerMoveFirst(childMoves);
-		for (Move childMove : childMoves) {
+		int bestValue = value;
+		int[] childMoves = movesPerPly[ply];
+		int nrChildMoves = playerForNextMove.pseudoLegalCaptures(board, childMoves, 0);
+		statistics.onPositionsGenerated(nrChildMoves);
+		nrChildMoves = sortCapturesAndRemoveLosingCaptures(board, childMoves, valuesPerPly[ply], nrChildMoves);
+		LegalityChecker legalityChecker = legalityCheckerPerPly[ply];
+		legalityChecker.init(board, playerForNextMove);
+		for (int i=0; i<nrChildMoves; i++) {
+			int childMove = childMoves[i];
+			if (!legalityChecker.isLegal(childMove)) {
+				continue;
+			}
 			statistics.onPositionEvaluated();
-			Move deepestMove = search(board, childMove, alpha, beta);
-			value = deepestMove.getValue();
+			board.makeMove(childMove);
+			value = searchDeepestValue(board, childMove, alpha, beta, ply + 1, principalVariation);
+			board.unmakeMove(childMove);
 			if (playerForNextMove == WHITE) {
-				if (value.getCombinedScore() >= beta) {
-					move.setValue(MoveValue.forWhite(beta, "Beta cut off"));
-					if (killerHeuristic.markAsKiller(childMove)) {
-						statistics.onCutOffByKillerMove();
-					}
-					return deepestMove;
+				if (value >= beta) {
+					nodeValue = beta;
+					principalVariation.update(ply, childMove);
+					return value;
 				}
-				if (value.getCombinedScore() > alpha) {
-					alpha = value.getCombinedScore();
-					move.setValue(value);
-					bestDeepestMove = deepestMove;
+				if (value > alpha) {
+					alpha = value;
+					bestValue = value;
+					principalVariation.update(ply, childMove);
 				}
 			} else {
-				if (value.getCombinedScore() <= alpha) {
-					move.setValue(forBlack(-alpha, "Alpha cut off"));
-					if (killerHeuristic.markAsKiller(childMove)) {
-						statistics.onCutOffByKillerMove();
-					}
-					return deepestMove;
+				if (value <= alpha) {
+					nodeValue = alpha;
+					principalVariation.update(ply, childMove);
+					return value;
 				}
-				if (value.getCombinedScore() < beta) {
-					beta = value.getCombinedScore();
-					move.setValue(value);
-					bestDeepestMove = deepestMove;
+				if (value < beta) {
+					beta = value;
+					bestValue = value;
+					principalVariation.update(ply, childMove);
 				}
 			}
 		}
 
-		return bestDeepestMove;
+		nodeValue = bestValue;
+		return bestValue;
+	}
+
+	private void markAsKillerIfQuiet(int move, int level) {
+		if (HistoryHeuristic.isQuiet(move) && killerHeuristic.markAsKiller(move, level)) {
+			statistics.onCutOffByKillerMove();
+		}
+	}
+
+	/**
+	 * Sorts captures so that the capture with the highest static exchange evaluation comes first. Captures that lose
+	 * material are removed.
+	 * @return the number of remaining captures
+	 */
+	private int sortCapturesAndRemoveLosingCaptures(Board board, int[] captures, int[] values, int nrCaptures) {
+		int nrRemainingCaptures = 0;
+		for (int i=0; i<nrCaptures; i++) {
+			int capture = captures[i];
+			int exchangeValue = staticExchangeEvaluator.evaluate(board, capture);
+			if (exchangeValue < 0) {
+				statistics.onLosingCapturePruned();
+				continue;
+			}
+			int value = exchangeValue * 8 + EncodedMoves.capturedPlayerPiece(capture).getPiece().ordinal();
+			int j = nrRemainingCaptures++;
+			while (j > 0 && values[j - 1] < value) {
+				captures[j] = captures[j - 1];
+				values[j] = values[j - 1];
+				j--;
+			}
+			captures[j] = capture;
+			values[j] = value;
+		}
+		return nrRemainingCaptures;
 	}
 }
@@ -10,4 +10,15 @@ public interface RecursiveSearchAI {
      * @param maxDepth the maximum depth of the search. Must be a positive number.
      */
     void setMaxDepth(int maxDepth);
+
+    /**
+     * @param timeControl the time control that limits the search, in which case the max depth is ignored; null
+     *                    if the search is limited by the max depth only
+     */
+    void setTimeControl(TimeControl timeControl);
+
+    /**
+     * @param searchAlgorithm the algorithm used to search the tree
+     */
+    void setSearchAlgorithm(SearchAlgorithm searchAlgorithm);
 }
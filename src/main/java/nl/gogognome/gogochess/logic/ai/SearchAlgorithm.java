@@ -0,0 +1,19 @@
+package nl.gogognome.gogochess.logic.ai;
+
+/**
+ * The algorithm that a {@link RecursiveSearchAI} uses to search the tree of moves.
+ */
+public enum SearchAlgorithm {
+
+	/**
+	 * Minimax with alpha-beta pruning. Every child move is searched with the full window.
+	 */
+	ALPHA_BETA,
+
+	/**
+	 * Principal variation search. The first child move is searched with the full window. The other child moves
+	 * are searched with a null window, which only determines whether they are better than the best move so far.
+	 * A child move that turns out to be better is searched again with the full window.
+	 */
+	PRINCIPAL_VARIATION_SEARCH
+}
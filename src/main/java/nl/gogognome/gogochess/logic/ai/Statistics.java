@@ -1,5 +1,6 @@
 package nl.gogognome.gogochess.logic.ai;
 
+import java.util.Arrays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -7,19 +8,50 @@ public class Statistics {
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
+	/** Depths larger than this value are counted as this value. */
+	private final static int MAX_DEPTH = 20;
+
 	private int nrPositionsEvaluated;
 	private int nrPositionsGenerated;
 	private int nrCutOffsByKillerMove;
 	private int nrCacheHits;
+	private int nrAspirationWindowFailures;
+	private final int[] nrNullMoveCutOffsPerDepth = new int[MAX_DEPTH + 1];
+	private final int[] nrLateMoveReductionsPerDepth = new int[MAX_DEPTH + 1];
+	private int nrLateMoveReductionReSearches;
+	private int nrLosingCapturesPruned;
 	private long startTime;
 
 	void reset() {
 		nrPositionsEvaluated = 0;
 		nrPositionsGenerated = 0;
 		nrCutOffsByKillerMove = 0;
+		nrCacheHits = 0;
+		nrAspirationWindowFailures = 0;
+		Arrays.fill(nrNullMoveCutOffsPerDepth, 0);
+		Arrays.fill(nrLateMoveReductionsPerDepth, 0);
+		nrLateMoveReductionReSearches = 0;
+		nrLosingCapturesPruned = 0;
 		startTime = System.nanoTime();
 	}
 
+	/**
+	 * Adds the numbers of another instance, for example of another search thread, to the numbers of this instance.
+	 */
+	void add(Statistics that) {
+		nrPositionsEvaluated += that.nrPositionsEvaluated;
+		nrPositionsGenerated += that.nrPositionsGenerated;
+		nrCutOffsByKillerMove += that.nrCutOffsByKillerMove;
+		nrCacheHits += that.nrCacheHits;
+		nrAspirationWindowFailures += that.nrAspirationWindowFailures;
+		for (int depth=0; depth<=MAX_DEPTH; depth++) {
+			nrNullMoveCutOffsPerDepth[depth] += that.nrNullMoveCutOffsPerDepth[depth];
+			nrLateMoveReductionsPerDepth[depth] += that.nrLateMoveReductionsPerDepth[depth];
+		}
+		nrLateMoveReductionReSearches += that.nrLateMoveReductionReSearches;
+		nrLosingCapturesPruned += that.nrLosingCapturesPruned;
+	}
+
 	void onPositionsGenerated(int nrPositions) {
 		nrPositionsGenerated += nrPositions;
 	}
@@ -36,6 +68,32 @@ public class Statistics {
 		nrCacheHits++;
 	}
 
+	void onAspirationWindowFailure() {
+		nrAspirationWindowFailures++;
+	}
+
+	/**
+	 * @param remainingDepth the remaining depth of the position in which the null move caused a cut-off
+	 */
+	void onNullMoveCutOff(int remainingDepth) {
+		nrNullMoveCutOffsPerDepth[Math.min(remainingDepth, MAX_DEPTH)]++;
+	}
+
+	/**
+	 * @param remainingDepth the remaining depth of the position in which a move was searched with a reduced depth
+	 */
+	void onLateMoveReduction(int remainingDepth) {
+		nrLateMoveReductionsPerDepth[Math.min(remainingDepth, MAX_DEPTH)]++;
+	}
+
+	void onLateMoveReductionReSearch() {
+		nrLateMoveReductionReSearches++;
+	}
+
+	void onLosingCapturePruned() {
+		nrLosingCapturesPruned++;
+	}
+
 	int getNrPositionsEvaluated() {
 		return nrPositionsEvaluated;
 	}
@@ -52,6 +110,26 @@ public class Statistics {
 		return nrCacheHits;
 	}
 
+	int getNrAspirationWindowFailures() {
+		return nrAspirationWindowFailures;
+	}
+
+	int getNrNullMoveCutOffs(int remainingDepth) {
+		return nrNullMoveCutOffsPerDepth[Math.min(remainingDepth, MAX_DEPTH)];
+	}
+
+	int getNrLateMoveReductions(int remainingDepth) {
+		return nrLateMoveReductionsPerDepth[Math.min(remainingDepth, MAX_DEPTH)];
+	}
+
+	int getNrLateMoveReductionReSearches() {
+		return nrLateMoveReductionReSearches;
+	}
+
+	int getNrLosingCapturesPruned() {
+		return nrLosingCapturesPruned;
+	}
+
 	void logStatistics() {
 		long endTime = System.nanoTime();
 		double durationMillis = (endTime - startTime) / 1000000000.0;
@@ -59,5 +137,10 @@ public class Statistics {
 		logger.debug("generating " + nrPositionsGenerated + " positions took " + durationMillis + " s (" + (nrPositionsGenerated / (durationMillis)) + " positions/s");
 		logger.debug("nr cut offs caused by killer heuristic: " + nrCutOffsByKillerMove);
 		logger.debug("nr cache hits: " + nrCacheHits);
+		logger.debug("nr aspiration window failures: " + nrAspirationWindowFailures);
+		logger.debug("nr null move cut offs per remaining depth: " + Arrays.toString(nrNullMoveCutOffsPerDepth));
+		logger.debug("nr late move reductions per remaining depth: " + Arrays.toString(nrLateMoveReductionsPerDepth));
+		logger.debug("nr re-searches after late move reduction: " + nrLateMoveReductionReSearches);
+		logger.debug("nr losing captures pruned in quiescence search: " + nrLosingCapturesPruned);
 	}
 }
@@ -0,0 +1,101 @@
+package nl.gogognome.gogochess.logic.ai;
+
+/**
+ * Limits the resources that the search for a single move may use. A {@link TimeManager} derives the limits of the
+ * search from the time control.
+ */
+public class TimeControl {
+
+	enum Type {
+		CLOCK,
+		MOVE_TIME,
+		NODES
+	}
+
+	private final Type type;
+	private final long remainingMillis;
+	private final long incrementMillis;
+	private final int movesToGo;
+	private final long moveTimeMillis;
+	private final long nrNodes;
+
+	/**
+	 * Creates a time control for a player with a clock.
+	 * @param remainingMillis the time left on the clock of the player in milliseconds
+	 * @param incrementMillis the time that is added to the clock after each move in milliseconds
+	 * @param movesToGo the number of moves until the next time control or 0 if the remaining time must last
+	 *                  for the rest of the game
+	 */
+	public static TimeControl clock(long remainingMillis, long incrementMillis, int movesToGo) {
+		if (remainingMillis < 0 || incrementMillis < 0 || movesToGo < 0) {
+			throw new IllegalArgumentException("Remaining time, increment and moves to go must not be negative");
+		}
+		return new TimeControl(Type.CLOCK, remainingMillis, incrementMillis, movesToGo, 0, 0);
+	}
+
+	/**
+	 * Creates a time control that gives each move a fixed amount of time.
+	 * @param moveTimeMillis the time for the move in milliseconds
+	 */
+	public static TimeControl moveTime(long moveTimeMillis) {
+		if (moveTimeMillis < 1) {
+			throw new IllegalArgumentException("Move time must be at least 1 millisecond");
+		}
+		return new TimeControl(Type.MOVE_TIME, 0, 0, 0, moveTimeMillis, 0);
+	}
+
+	/**
+	 * Creates a time control that lets each move search a fixed number of nodes, independent of the speed of
+	 * the computer.
+	 * @param nrNodes the number of nodes
+	 */
+	public static TimeControl nodes(long nrNodes) {
+		if (nrNodes < 1) {
+			throw new IllegalArgumentException("Number of nodes must be at least 1");
+		}
+		return new TimeControl(Type.NODES, 0, 0, 0, 0, nrNodes);
+	}
+
+	private TimeControl(Type type, long remainingMillis, long incrementMillis, int movesToGo, long moveTimeMillis, long nrNodes) {
+		this.type = type;
+		this.remainingMillis = remainingMillis;
+		this.incrementMillis = incrementMillis;
+		this.movesToGo = movesToGo;
+		this.moveTimeMillis = moveTimeMillis;
+		this.nrNodes = nrNodes;
+	}
+
+	Type getType() {
+		return type;
+	}
+
+	long getRemainingMillis() {
+		return remainingMillis;
+	}
+
+	long getIncrementMillis() {
+		return incrementMillis;
+	}
+
+	int getMovesToGo() {
+		return movesToGo;
+	}
+
+	long getMoveTimeMillis() {
+		return moveTimeMillis;
+	}
+
+	long getNrNodes() {
+		return nrNodes;
+	}
+
+	@Override
+	public String toString() {
+		switch (type) {
+			case CLOCK: return remainingMillis + " ms + " + incrementMillis + " ms" + (movesToGo > 0 ? " for " + movesToGo + " moves" : "");
+			case MOVE_TIME: return moveTimeMillis + " ms per move";
+			case NODES: return nrNodes + " nodes per move";
+			default: throw new IllegalStateException("Unknown type encountered: " + type);
+		}
+	}
+}
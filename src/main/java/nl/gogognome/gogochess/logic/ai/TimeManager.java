@@ -0,0 +1,172 @@
+package nl.gogognome.gogochess.logic.ai;
+
+import static java.lang.Math.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+import nl.gogognome.gogochess.logic.*;
+
+/**
+ * Decides how long the search for a single move may take, based on a {@link TimeControl}.
+ *
+ * <p>The time manager determines two limits. The soft limit is checked after each iteration of iterative deepening:
+ * once it has passed, no new iteration is started. The hard limit stops the search in the middle of an iteration.
+ * The search reports the number of nodes it has searched at regular intervals. Checking the hard limit is done
+ * at those moments only, so the search does not have to read the clock for every node.</p>
+ *
+ * <p>The soft limit is extended when the best move changed in the last iterations or when the value of the best
+ * move dropped, because in those cases a deeper search is more likely to find a better move. The extended soft limit
+ * never exceeds the hard limit.</p>
+ *
+ * <p>The number of nodes can be reported by several search threads at the same time. The other methods must be
+ * called by the thread that performs the iterative deepening.</p>
+ */
+public class TimeManager {
+
+	/** Time in milliseconds that is kept in reserve for making the move after the search has finished. */
+	private final static long MOVE_OVERHEAD_MILLIS = 50;
+
+	/** Number of moves that the remaining time must last if the time control does not specify the moves to go. */
+	private final static int EXPECTED_NR_MOVES_TO_GO = 30;
+
+	/** Larger numbers of moves to go are treated as this number, so that the time is not spread too thin. */
+	private final static int MAX_NR_MOVES_TO_GO = 50;
+
+	/** The hard limit is at most this factor times the time that is allotted to a move. */
+	private final static int HARD_LIMIT_FACTOR = 4;
+
+	/** The hard limit never exceeds this fraction of the remaining time on the clock. */
+	private final static double MAX_FRACTION_OF_REMAINING_TIME = 0.75;
+
+	/** The soft limit is extended by this fraction for each recent change of the best move. */
+	private final static double BEST_MOVE_CHANGE_EXTENSION = 0.5;
+
+	/** Drops of the value of the best move up to this value are not considered to be a problem. */
+	private final static int SCORE_DROP_MARGIN = 30;
+
+	/** A drop of the value of the best move of this value or more doubles the soft limit. */
+	private final static int SCORE_DROP_FOR_DOUBLE_TIME = 200;
+
+	private final LongSupplier currentTimeMillis;
+	private final long startTime;
+	private final long softLimitMillis;
+	private final long hardLimitMillis;
+	private final long maxNrNodes;
+
+	private final AtomicLong nrNodes = new AtomicLong();
+	private volatile boolean stopped;
+
+	private Move previousBestMove;
+	private int previousValue;
+	private double bestMoveInstability;
+	private double scoreDropFactor = 1;
+
+	public TimeManager(TimeControl timeControl) {
+		this(timeControl, System::currentTimeMillis);
+	}
+
+	TimeManager(TimeControl timeControl, LongSupplier currentTimeMillis) {
+		this.currentTimeMillis = currentTimeMillis;
+		this.startTime = currentTimeMillis.getAsLong();
+		switch (timeControl.getType()) {
+			case CLOCK:
+				long availableMillis = max(0, timeControl.getRemainingMillis() - MOVE_OVERHEAD_MILLIS);
+				int movesToGo = timeControl.getMovesToGo() > 0
+						? min(timeControl.getMovesToGo(), MAX_NR_MOVES_TO_GO)
+						: EXPECTED_NR_MOVES_TO_GO;
+				long allottedMillis = availableMillis / movesToGo + timeControl.getIncrementMillis() * 3 / 4;
+				hardLimitMillis = min(allottedMillis * HARD_LIMIT_FACTOR, (long) (availableMillis * MAX_FRACTION_OF_REMAINING_TIME));
+				softLimitMillis = min(allottedMillis, hardLimitMillis);
+				maxNrNodes = Long.MAX_VALUE;
+				break;
+			case MOVE_TIME:
+				long moveTimeMillis = timeControl.getMoveTimeMillis();
+				hardLimitMillis = moveTimeMillis - min(MOVE_OVERHEAD_MILLIS, moveTimeMillis / 2);
+				// the next iteration typically takes longer than all previous iterations together
+				softLimitMillis = hardLimitMillis / 2;
+				maxNrNodes = Long.MAX_VALUE;
+				break;
+			case NODES:
+				hardLimitMillis = Long.MAX_VALUE;
+				softLimitMillis = Long.MAX_VALUE;
+				maxNrNodes = timeControl.getNrNodes();
+				break;
+			default:
+				throw new IllegalStateException("Unknown type encountered: " + timeControl.getType());
+		}
+	}
+
+	/**
+	 * Reports nodes searched by one of the search threads.
+	 * @param nrNodes the number of nodes searched since the previous report of the thread
+	 * @return true if the search must stop; false otherwise
+	 */
+	public boolean onNodesSearched(int nrNodes) {
+		long totalNrNodes = this.nrNodes.addAndGet(nrNodes);
+		if (!stopped && (totalNrNodes >= maxNrNodes || elapsedMillis() >= hardLimitMillis)) {
+			stopped = true;
+		}
+		return stopped;
+	}
+
+	/**
+	 * @return true if a limit was reached while searching, in which case the search of the current iteration
+	 *         is incomplete
+	 */
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 * Updates the soft limit after an iteration of iterative deepening has finished.
+	 * @param bestMove the best move found by the iteration
+	 * @param value the value of the best move from the perspective of the player that makes the move
+	 */
+	public void onIterationFinished(Move bestMove, int value) {
+		if (previousBestMove != null) {
+			bestMoveInstability = bestMoveInstability / 2 + (bestMove.equals(previousBestMove) ? 0 : 1);
+			int scoreDrop = previousValue - value;
+			scoreDropFactor = scoreDrop > SCORE_DROP_MARGIN
+					? 1 + (double) min(scoreDrop, SCORE_DROP_FOR_DOUBLE_TIME) / SCORE_DROP_FOR_DOUBLE_TIME
+					: 1;
+		}
+		previousBestMove = bestMove;
+		previousValue = value;
+	}
+
+	/**
+	 * @return true if there is time left to start another iteration of iterative deepening; false otherwise
+	 */
+	public boolean canStartNextIteration() {
+		return !stopped && nrNodes.get() < maxNrNodes && elapsedMillis() < extendedSoftLimitMillis();
+	}
+
+	/**
+	 * @return the percentage of the expected duration of the search that has passed, in the range [0..99]
+	 */
+	public int progressPercentage() {
+		double fraction = maxNrNodes != Long.MAX_VALUE
+				? (double) nrNodes.get() / maxNrNodes
+				: (double) elapsedMillis() / max(1, extendedSoftLimitMillis());
+		return (int) min(99, 100 * fraction);
+	}
+
+	long getSoftLimitMillis() {
+		return softLimitMillis;
+	}
+
+	long getHardLimitMillis() {
+		return hardLimitMillis;
+	}
+
+	long extendedSoftLimitMillis() {
+		if (softLimitMillis == Long.MAX_VALUE) {
+			return softLimitMillis;
+		}
+		double factor = (1 + BEST_MOVE_CHANGE_EXTENSION * bestMoveInstability) * scoreDropFactor;
+		return min(hardLimitMillis, (long) (softLimitMillis * factor));
+	}
+
+	private long elapsedMillis() {
+		return currentTimeMillis.getAsLong() - startTime;
+	}
+}
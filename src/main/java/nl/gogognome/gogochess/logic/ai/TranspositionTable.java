@@ -1,71 +1,171 @@
 package nl.gogognome.gogochess.logic.ai;
 
 import java.util.*;
-import nl.gogognome.gogochess.logic.*;
 
 /**
- * This class stores values for board positions, which are represented by a hash value.
+ * This class stores values for board positions, which are represented by a hash value. The table has a fixed size
+ * and is backed by an array of longs, so storing a position does not create any objects.
+ *
+ * <p>The table is kept between searches. Each search starts a new generation, which ages the entries of earlier
+ * searches. The evaluation can change between searches, for example because the values of the pieces are readjusted.
+ * Therefore the values of entries of earlier searches are returned without a bound: only their best moves are used.</p>
+ *
+ * <p>The table consists of buckets of two entries. An entry consists of two longs: a key and the data. The key contains
+ * the bits of the hash that are not used to determine the bucket and the generation of the search that stored the entry.
+ * The data contains the value, the type of bound of the value, the remaining depth of the search that determined the
+ * value and the best move. The key is stored XOR-ed with the data. An entry whose key and data were written by
+ * different threads at the same time does not match any hash, so several search threads can share the table without
+ * locking.</p>
+ *
+ * <p>Layout of the bits of the data:</p>
+ * <ul>
+ *     <li>bits 0-25: best move encoded by {@link nl.gogognome.gogochess.logic.EncodedMoves} or
+ *     {@link nl.gogognome.gogochess.logic.EncodedMoves#NO_MOVE}</li>
+ *     <li>bits 26-27: the type of bound</li>
+ *     <li>bits 28-35: remaining depth</li>
+ *     <li>bits 36-63: value</li>
+ * </ul>
  */
 class TranspositionTable {
 
-	public static class BoardPosition {
-
-		private final int alpha;
-		private final int beta;
-		private final Move bestDeepestMove;
-		private final MoveValue value;
-		private final int depthInTree;
-
-		BoardPosition(int alpha, int beta, Move bestDeepestMove, MoveValue value, int depthInTree) {
-			this.alpha = alpha;
-			this.beta = beta;
-			this.bestDeepestMove = bestDeepestMove;
-			this.value = value;
-			this.depthInTree = depthInTree;
+	/** The value must not be used, because it was determined by an earlier search. */
+	final static int NO_BOUND = 0;
+
+	/** The value is the exact value of the position. */
+	final static int EXACT = 1;
+
+	/** The value of the position is greater than or equal to the value. */
+	final static int LOWER_BOUND = 2;
+
+	/** The value of the position is less than or equal to the value. */
+	final static int UPPER_BOUND = 3;
+
+	/** Returned by {@link #probe(long)} if the table does not contain the position. */
+	final static long NO_ENTRY = 0;
+
+	private final static int BYTES_PER_ENTRY = 16;
+	private final static int ENTRIES_PER_BUCKET = 2;
+	private final static int MAX_NR_BUCKETS = 1 << 28;
+	private final static long GENERATION_MASK = 0xff;
+	private final static int MOVE_BITS = 26;
+	private final static int BOUND_SHIFT = 26;
+	private final static long BOUND_MASK = 3L << BOUND_SHIFT;
+	private final static int DEPTH_SHIFT = 28;
+	private final static int VALUE_SHIFT = 36;
+	private final static int MAX_DEPTH = 0xff;
+	private final static int MAX_VALUE = (1 << 27) - 1;
+	private final static int MIN_VALUE = -MAX_VALUE;
+
+	/** Keys and data of all entries. Bucket i consists of the longs at indices 4*i up to 4*i+3. */
+	private final long[] entries;
+	private final int bucketMask;
+	private int generation;
+
+	/**
+	 * Creates a transposition table.
+	 * @param sizeInMegabytes the size of the table in megabytes; the number of entries is rounded down to a power of two
+	 */
+	TranspositionTable(int sizeInMegabytes) {
+		if (sizeInMegabytes < 1) {
+			throw new IllegalArgumentException("The size of the transposition table must be at least 1 MB");
 		}
+		long nrBuckets = (long) sizeInMegabytes * 1024 * 1024 / (BYTES_PER_ENTRY * ENTRIES_PER_BUCKET);
+		int nrBucketsPowerOfTwo = (int) Long.highestOneBit(Math.min(nrBuckets, MAX_NR_BUCKETS));
+		entries = new long[nrBucketsPowerOfTwo * 2 * ENTRIES_PER_BUCKET];
+		bucketMask = nrBucketsPowerOfTwo - 1;
+	}
 
-		int getAlpha() {
-			return alpha;
-		}
+	void clear() {
+		Arrays.fill(entries, 0);
+		generation = 0;
+	}
 
-		int getBeta() {
-			return beta;
-		}
+	/**
+	 * Starts a new generation of entries. The entries of earlier searches are kept, so they can still be used for
+	 * the next search, but they are replaced before entries of the new search.
+	 */
+	void newSearch() {
+		generation++;
+	}
 
-		Move getBestDeepestMove() {
-			return bestDeepestMove;
+	/**
+	 * Looks up the entry for a position. If the entry was stored by an earlier search, then the bound of the entry
+	 * is {@link #NO_BOUND}.
+	 * @param hash the hash of the position
+	 * @return the data of the entry or {@link #NO_ENTRY} if the table does not contain the position
+	 */
+	long probe(long hash) {
+		int index = bucketIndex(hash);
+		for (int i=index; i<index + 2 * ENTRIES_PER_BUCKET; i+=2) {
+			long data = entries[i + 1];
+			long key = entries[i] ^ data;
+			if (data != NO_ENTRY && matches(key, hash)) {
+				return (key & GENERATION_MASK) == (generation & GENERATION_MASK) ? data : data & ~BOUND_MASK;
+			}
 		}
+		return NO_ENTRY;
+	}
 
-		public MoveValue getValue() {
-			return value;
+	/**
+	 * Stores the value of a position. The entry of the same position is replaced. Otherwise the entry of the bucket with
+	 * the lowest remaining depth is replaced, where entries stored by an older generation count as less deep.
+	 * @param hash the hash of the position
+	 * @param value the value
+	 * @param bound the type of bound of the value
+	 * @param depth the remaining depth of the search that determined the value
+	 * @param bestMove the best move or {@link nl.gogognome.gogochess.logic.EncodedMoves#NO_MOVE}
+	 */
+	void store(long hash, int value, int bound, int depth, int bestMove) {
+		if (value < MIN_VALUE || value > MAX_VALUE) {
+			return;
 		}
-
-		int getDepthInTree() {
-			return depthInTree;
+		int index = bucketIndex(hash);
+		int replaceIndex = index;
+		int lowestPriority = Integer.MAX_VALUE;
+		for (int i=index; i<index + 2 * ENTRIES_PER_BUCKET; i+=2) {
+			long data = entries[i + 1];
+			long key = entries[i] ^ data;
+			if (data == NO_ENTRY || matches(key, hash)) {
+				replaceIndex = i;
+				break;
+			}
+			int priority = depth(data) - 8 * (int) ((generation - key) & GENERATION_MASK);
+			if (priority < lowestPriority) {
+				lowestPriority = priority;
+				replaceIndex = i;
+			}
 		}
 
+		long data = (bestMove & ((1L << MOVE_BITS) - 1))
+				| ((long) bound << BOUND_SHIFT)
+				| ((long) Math.min(Math.max(depth, 0), MAX_DEPTH) << DEPTH_SHIFT)
+				| ((long) value << VALUE_SHIFT);
+		long key = (hash & ~GENERATION_MASK) | (generation & GENERATION_MASK);
+		entries[replaceIndex] = key ^ data;
+		entries[replaceIndex + 1] = data;
 	}
 
-	private final Map<Long, BoardPosition> boardHashToBestDeepestMove = new HashMap<>(500_000);
+	private int bucketIndex(long hash) {
+		return ((int) (hash >>> 8) & bucketMask) * 2 * ENTRIES_PER_BUCKET;
+	}
 
-	void clear() {
-		boardHashToBestDeepestMove.clear();
+	private static boolean matches(long key, long hash) {
+		return (key & ~GENERATION_MASK) == (hash & ~GENERATION_MASK);
 	}
 
-	BoardPosition getCachedBoardPosition(long hash, int alpha, int beta, int depthInTree) {
-		BoardPosition boardPosition = boardHashToBestDeepestMove.get(hash);
-		if (boardPosition == null) {
-			return null;
-		}
-		if (alpha != boardPosition.getAlpha() || beta != boardPosition.getBeta() || depthInTree != boardPosition.getDepthInTree()) {
-			return null;
-		}
+	static int value(long data) {
+		return (int) (data >> VALUE_SHIFT);
+	}
 
-		return boardPosition;
+	static int bound(long data) {
+		return (int) (data >>> BOUND_SHIFT) & 3;
 	}
 
-	void store(long hash, int alpha, int beta, MoveValue value, int depthInTree, Move bestDeepestMove) {
-		boardHashToBestDeepestMove.put(hash, new BoardPosition(alpha, beta, bestDeepestMove, value, depthInTree));
+	static int depth(long data) {
+		return (int) (data >>> DEPTH_SHIFT) & MAX_DEPTH;
 	}
 
+	static int bestMove(long data) {
+		return (int) data & ((1 << MOVE_BITS) - 1);
+	}
 }
@@ -0,0 +1,40 @@
+package nl.gogognome.gogochess.logic.ai.positionalanalysis;
+
+import static nl.gogognome.gogochess.logic.Piece.*;
+import static nl.gogognome.gogochess.logic.Player.*;
+import nl.gogognome.gogochess.logic.*;
+import nl.gogognome.gogochess.logic.ai.*;
+
+/**
+ * This evaluator scores endgames without pawns in which one player only has a king left. The player with pieces
+ * gets the value of the {@link EndgameWithPiecesHeuristic}, which helps to drive the opponent's king into a mating
+ * net. The evaluator only looks at the current position; looking ahead is left to the search.
+ */
+public class EndgameWithPiecesBoardEvaluator implements BoardEvaluator {
+
+	private final EndgameWithPiecesHeuristic endgameWithPiecesHeuristic =
+			new EndgameWithPiecesHeuristic(new CentralControlHeuristic(), new KingFieldHeuristic());
+
+	@Override
+	public MoveValue value(Board board) {
+		int score = score(board);
+		return score >= 0 ? new MoveValue(score, WHITE, "endgame with pieces") : new MoveValue(-score, BLACK, "endgame with pieces");
+	}
+
+	@Override
+	public int score(Board board) {
+		if ((board.bitboardOf(WHITE, PAWN) | board.bitboardOf(BLACK, PAWN)) != 0
+				|| board.bitboardOf(WHITE, KING) == 0 || board.bitboardOf(BLACK, KING) == 0) {
+			return 0;
+		}
+		boolean whiteHasOnlyKing = board.bitboardOf(WHITE) == board.bitboardOf(WHITE, KING);
+		boolean blackHasOnlyKing = board.bitboardOf(BLACK) == board.bitboardOf(BLACK, KING);
+		if (blackHasOnlyKing && !whiteHasOnlyKing) {
+			return endgameWithPiecesHeuristic.valueFor(board, WHITE);
+		}
+		if (whiteHasOnlyKing && !blackHasOnlyKing) {
+			return -endgameWithPiecesHeuristic.valueFor(board, BLACK);
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,49 @@
+package nl.gogognome.gogochess.logic.ai.positionalanalysis;
+
+import static nl.gogognome.gogochess.logic.Piece.*;
+import nl.gogognome.gogochess.logic.*;
+
+/**
+ * This heuristic helps a player with pieces to mate the opponent's king in an endgame without pawns. It rewards
+ * forcing the opponent's king to the edge of the board, bringing the own king near the opponent's king, keeping the
+ * own king in the center and keeping the own pieces near the own king.
+ *
+ * <p>The value only depends on the squares of the kings and the pieces. It is determined from the bitboards of the
+ * board without creating objects.</p>
+ */
+class EndgameWithPiecesHeuristic {
+
+	private final CentralControlHeuristic centralControlHeuristic;
+	private final KingFieldHeuristic kingFieldHeuristic;
+
+	EndgameWithPiecesHeuristic(CentralControlHeuristic centralControlHeuristic, KingFieldHeuristic kingFieldHeuristic) {
+		this.centralControlHeuristic = centralControlHeuristic;
+		this.kingFieldHeuristic = kingFieldHeuristic;
+	}
+
+	/**
+	 * @param board the board
+	 * @param player the player that tries to mate the opponent's king
+	 * @return the value of the position for the player
+	 */
+	int valueFor(Board board, Player player) {
+		Square ownKingSquare = board.kingSquareOf(player);
+		Square opponentKingSquare = board.kingSquareOf(player.opponent());
+
+		int value = centralControlHeuristic.getCenterControlValueForOpponentKingInEndgameWithPieces(opponentKingSquare)
+				+ kingFieldHeuristic.getOpponentKingFieldValueForEndgameWithPieces(ownKingSquare, opponentKingSquare)
+				+ centralControlHeuristic.getCenterControlValueForOwnKingInEndgameWithPieces(ownKingSquare);
+
+		long ownPieces = board.bitboardOf(player) & ~board.bitboardOf(player, KING);
+		int nrOwnPieces = Long.bitCount(ownPieces);
+		if (nrOwnPieces > 0) {
+			int centerControlValue = 0;
+			for (; ownPieces != 0; ownPieces &= ownPieces - 1) {
+				Square pieceSquare = Squares.fromBoardIndex(Long.numberOfTrailingZeros(ownPieces));
+				centerControlValue += kingFieldHeuristic.getCenterControlValueForPieceAt(ownKingSquare, pieceSquare);
+			}
+			value += centerControlValue / nrOwnPieces;
+		}
+		return value;
+	}
+}
@@ -81,13 +81,8 @@ class KingFieldHeuristic {
 		return valueOf(2, ownKingSquare, opponentKingSquare, ENDGAME_WITH_PIECES_KING_FIELD);
 	}
 
-	int getCenterControlValueForPiecesAt(Square ownKingsSquare, List<Square> ownPiecesSquares) {
-		if (ownPiecesSquares.isEmpty()) {
-			return 0;
-		}
-		return ownPiecesSquares.stream()
-				.mapToInt(square -> valueOf(1, square, ownKingsSquare, ENDGAME_WITH_PIECES_KING_FIELD))
-				.sum() / ownPiecesSquares.size();
+	int getCenterControlValueForPieceAt(Square ownKingsSquare, Square ownPieceSquare) {
+		return valueOf(1, ownPieceSquare, ownKingsSquare, ENDGAME_WITH_PIECES_KING_FIELD);
 	}
 
 	private int valueOf(int pieceFactor, Square square, Square kingsSquare, int[][] kingField) {
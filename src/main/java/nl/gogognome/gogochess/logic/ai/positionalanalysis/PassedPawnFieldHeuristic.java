@@ -2,9 +2,7 @@ package nl.gogognome.gogochess.logic.ai.positionalanalysis;
 
 import nl.gogognome.gogochess.logic.*;
 import nl.gogognome.gogochess.logic.piece.PlayerPiece;
-
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.BiPredicate;
+import nl.gogognome.gogochess.logic.piece.PlayerPieces;
 
 import static nl.gogognome.gogochess.logic.Piece.PAWN;
 import static nl.gogognome.gogochess.logic.Player.BLACK;
@@ -42,24 +40,28 @@ class PassedPawnFieldHeuristic {
         Player player = move.getPlayer();
         PlayerPiece movedPlayerPiece = mutationRemovingPieceFromStart.getPlayerPiece();
 
-        AtomicInteger delta = new AtomicInteger(0);
+        int delta = 0;
         if (movedPlayerPiece.getPiece() == PAWN && board.isPassedPawn(movedPlayerPiece, from)) {
-            BiPredicate<PlayerPiece, Square> isNotMovedPiece =
-                    (playerPiece, square) -> !playerPiece.equals(movedPlayerPiece);
-            board.forEachPlayerPieceWhere(player, isNotMovedPiece,
-                    (playerPiece, square) -> delta.addAndGet(deltaForPieceAt(playerPiece, square, from, to, player)));
-            board.forEachPlayerPieceWhere(player.opponent(), isNotMovedPiece,
-                    (playerPiece, square) -> delta.addAndGet(deltaForPieceAt(playerPiece, square, from, to, player)));
+            long pieces = board.occupiedSquares() & ~board.bitboardOf(movedPlayerPiece);
+            for (; pieces != 0; pieces &= pieces - 1) {
+                int index = Long.numberOfTrailingZeros(pieces);
+                delta += deltaForPieceAt(board.pieceAt(index), Squares.fromBoardIndex(index), from, to, player);
+            }
         }
 
-        BiPredicate<PlayerPiece, Square> isNotMovedPieceAndIsPassedPawn =
-                (playerPiece, square) -> !playerPiece.equals(movedPlayerPiece) && playerPiece.getPiece() == PAWN && board.isPassedPawn(playerPiece, square);
-        board.forEachPlayerPieceWhere(player, isNotMovedPieceAndIsPassedPawn,
-                (playerPiece, square) -> delta.addAndGet(deltaForPawnAt(playerPiece, square, from, to, player)));
-        board.forEachPlayerPieceWhere(player.opponent(), isNotMovedPieceAndIsPassedPawn,
-                (playerPiece, square) -> delta.addAndGet(deltaForPawnAt(playerPiece, square, from, to, player)));
+        PawnStructure pawnStructure = board.pawnStructure();
+        for (Player pawnPlayer : Player.values()) {
+            PlayerPiece pawn = PlayerPieces.fromIndex(PlayerPiece.index(pawnPlayer, PAWN));
+            if (pawn.equals(movedPlayerPiece)) {
+                continue;
+            }
+            for (long passedPawns = pawnStructure.passedPawns(pawnPlayer); passedPawns != 0; passedPawns &= passedPawns - 1) {
+                Square square = Squares.fromBoardIndex(Long.numberOfTrailingZeros(passedPawns));
+                delta += deltaForPawnAt(pawn, square, from, to, player);
+            }
+        }
 
-        return delta.get();
+        return delta;
     }
 
     private int deltaForPieceAt(PlayerPiece playerPiece, Square square, Square from, Square to, Player currentPlayer) {
@@ -27,14 +27,8 @@ class PawnHeuristicsEndgame {
 
     private boolean isBlockedByPawn(Board board, BoardMutation from, Pawn blockinPawn) {
         Player player = from.getPlayerPiece().getPlayer();
-        int delta = player == Player.WHITE ? 1 : -1;
-        for (Square square = from.getSquare().addRanks(delta); square != null; square = square.addRanks(delta)) {
-            PlayerPiece opposingPiece = board.pieceAt(square);
-            if (opposingPiece != null && opposingPiece.equals(blockinPawn)) {
-                return true;
-            }
-        }
-        return false;
+        int direction = player == Player.WHITE ? Bitboards.NORTH : Bitboards.SOUTH;
+        return (Bitboards.ray(direction, from.getSquare().boardIndex()) & board.bitboardOf(blockinPawn)) != 0;
     }
 
 }
@@ -15,12 +15,20 @@ class PawnHeuristicsOpeningAndMiddleGame {
 		this.wingPawnAdvancementValue = wingPawnAdvancementValue;
 	}
 
+	/**
+	 * Determines the pawn heuristics for a move.
+	 * @param board the board on which the move has been made
+	 * @param move the move
+	 * @param from the mutation removing the piece from its start square
+	 * @param to the mutation adding the piece to its destination
+	 * @return the value of the pawn heuristics
+	 */
 	MoveValue getPawnHeuristicsForOpeningAndMiddleGame(Board board, Move move, BoardMutation from, BoardMutation to) {
-		return board.temporarilyMove(move, () -> getValueForWhitePawnMovingToD3_D4_E3_E4(from, to)
+		return getValueForWhitePawnMovingToD3_D4_E3_E4(from, to)
 			.add(getValueForPieceBlocksWhiteCenterPawn(board, to), "piece blocks white center pawn")
 			.add(getValueForPieceBlocksBlackCenterPawn(board, to), "piece blocks black center pawn")
 			.add(getValueForPawnCapturingOtherPiece(board, move, from, to), "pawn capturing other piece")
-			.add(getValueForPawnOnSideOfBoard(from, to), move, "pawn on side of board"));
+			.add(getValueForPawnOnSideOfBoard(from, to), move, "pawn on side of board");
 	}
 
 	private MoveValue getValueForWhitePawnMovingToD3_D4_E3_E4(BoardMutation from, BoardMutation to) {
@@ -77,7 +85,9 @@ class PawnHeuristicsOpeningAndMiddleGame {
 			pawnCaptureValue = pawnCaptureValue.add(-5, move, "pawn capture takes pawn further from center");
 		}
 
-		if (board.countNrOccurrencesInFile(to.getPlayerPiece(), toColumn) > 1 && board.isIsolatedPawnInFile(move.getPlayer(), toColumn)) {
+		PawnStructure pawnStructure = board.pawnStructure();
+		long doubledIsolatedPawns = pawnStructure.doubledPawns(move.getPlayer()) & pawnStructure.isolatedPawns(move.getPlayer());
+		if ((doubledIsolatedPawns & (1L << to.getSquare().boardIndex())) != 0) {
 			pawnCaptureValue = pawnCaptureValue.add(-10, move, "multiple pawns in file");
 		}
 
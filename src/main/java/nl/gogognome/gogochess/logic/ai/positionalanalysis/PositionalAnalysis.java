@@ -28,8 +28,7 @@ public class PositionalAnalysis implements MovesEvaluator {
 				centralControlHeuristic,
 				new KingFieldHeuristic(),
 				new PawnHeuristicsEndgame(),
-				pieceValueEvaluator,
-				new EndOfGameBoardEvaluator());
+				pieceValueEvaluator);
 	}
 
 	private enum Phase {
@@ -14,21 +14,18 @@ public class PositionalAnalysisForEndGame implements MovesEvaluator {
     private final KingFieldHeuristic kingFieldHeuristic;
     private final PawnHeuristicsEndgame pawnHeuristics;
     private final PieceValueEvaluator pieceValueEvaluator;
-    private final EndOfGameBoardEvaluator endOfGameBoardEvaluator;
 
     PositionalAnalysisForEndGame(
             PassedPawnFieldHeuristic passedPawnFieldHeuristic,
             CentralControlHeuristic centralControlHeuristic,
             KingFieldHeuristic kingFieldHeuristic,
             PawnHeuristicsEndgame pawnHeuristics,
-            PieceValueEvaluator pieceValueEvaluator,
-            EndOfGameBoardEvaluator endOfGameBoardEvaluator) {
+            PieceValueEvaluator pieceValueEvaluator) {
         this.passedPawnFieldHeuristic = passedPawnFieldHeuristic;
         this.centralControlHeuristic = centralControlHeuristic;
         this.kingFieldHeuristic = kingFieldHeuristic;
         this.pawnHeuristics = pawnHeuristics;
         this.pieceValueEvaluator = pieceValueEvaluator;
-        this.endOfGameBoardEvaluator = endOfGameBoardEvaluator;
     }
 
     @Override
@@ -63,54 +60,12 @@ public class PositionalAnalysisForEndGame implements MovesEvaluator {
                         .add(kingFieldHeuristic.getKingFieldDeltaForGeneralEndgame(from, to, opponentKingSquare), move, "king field dleta for general endgame")
                         .add(mobilityAfterMove(board, move), move, "mobility after move");
             }
-
-            if (!endgameWithPawns) {
-                value = value.add(board.temporarilyMove(move, () -> {
-                    Player opponent = move.getPlayer().opponent();
-                    List<Move> opponentMoves = opponent.validMoves(board);
-                    if (opponentMoves.isEmpty()) {
-                        return endOfGameBoardEvaluator.value(board);
-                    }
-                    MoveValue bestOpponentValue = new MoveValue(-10000, opponent, "min value approximation");
-                    for (Move opponentMove : opponentMoves) {
-                        MoveValue opponentValue = board.temporarilyMove(opponentMove, () -> evaluateForEndgameWithPieces(board, move.getPlayer()));
-                        bestOpponentValue = opponent == WHITE ?
-                                MoveValue.max(bestOpponentValue, opponentValue) :
-                                MoveValue.min(bestOpponentValue, opponentValue);
-                    }
-                    return bestOpponentValue;
-                }), "endgame with pieces");
-            }
             move.setValue(value);
         }
     }
 
-    private MoveValue evaluateForEndgameWithPieces(Board board, Player player) {
-        Square ownKingSquare = board.kingSquareOf(player);
-        Player opponent = player.opponent();
-        Square opponentKingSquare = board.kingSquareOf(opponent);
-
-        MoveValue value = new MoveValue(
-                centralControlHeuristic.getCenterControlValueForOpponentKingInEndgameWithPieces(opponentKingSquare),
-                player,
-                "center control value for opponent king in endgame with pieces")
-                .add(kingFieldHeuristic.getOpponentKingFieldValueForEndgameWithPieces(ownKingSquare, opponentKingSquare), player, "opponent king field value for endgame with pieces")
-                .add(centralControlHeuristic.getCenterControlValueForOwnKingInEndgameWithPieces(ownKingSquare), player, "center control value for own king in endgame with pieces");
-        List<Square> ownPiecesSquares = getOwnPiecesSquaresExceptForKing(board, player);
-        value = value.add(kingFieldHeuristic.getCenterControlValueForPiecesAt(ownKingSquare, ownPiecesSquares), player, "center control value");
-        return value;
-    }
-
-    private List<Square> getOwnPiecesSquaresExceptForKing(Board board, Player player) {
-        List<Square> ownPiecesSquares = new ArrayList<>();
-        board.forEachPlayerPieceWhere(player,
-                (playerPiece, square) -> playerPiece.getPiece() != KING,
-                (playerPiece, square) ->  ownPiecesSquares.add(square));
-        return ownPiecesSquares;
-    }
-
     private int countNrPawnsFor(Board board, Player player) {
-        return board.countPiecesWhere(playerPiece -> playerPiece.getPlayer() == player && playerPiece.getPiece() == PAWN);
+        return board.nrPiecesOf(player, PAWN);
     }
 
     int getDeltaForRookPlacedBehindPassedPawn(Board board, BoardMutation from, BoardMutation to) {
@@ -124,6 +79,6 @@ public class PositionalAnalysisForEndGame implements MovesEvaluator {
     }
 
     private int mobilityAfterMove(Board board, Move move) {
-        return board.temporarilyMove(move, () -> move.getPlayer().validMoves(board).size());
+        return board.temporarilyMakeMove(EncodedMoves.encode(move), () -> Mobility.count(board, move.getPlayer()));
     }
 }
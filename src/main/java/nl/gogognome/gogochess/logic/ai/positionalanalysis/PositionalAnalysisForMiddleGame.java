@@ -37,14 +37,20 @@ class PositionalAnalysisForMiddleGame implements MovesEvaluator {
 			BoardMutation from = move.getMutationRemovingPieceFromStart();
 			BoardMutation to = move.getMutationAddingPieceAtDestination();
 
+			int encodedMove = EncodedMoves.encode(move);
+			board.makeMove(encodedMove);
+			int mobilityAfterMove = Mobility.count(board, move.getPlayer());
+			MoveValue pawnHeuristicsValue = pawnHeuristics.getPawnHeuristicsForOpeningAndMiddleGame(board, move, from, to);
+			board.unmakeMove(encodedMove);
+
 			MoveValue value = new MoveValue(
 					centralControlHeuristic.getCenterControlDeltaForMiddleGame(from, to),
 					move,
 					"center control delta for middle game")
 					.add(castlingHeuristics.getCastlingValue(from.getPlayerPiece().getPiece(), from.getSquare().file(), to.getSquare().file()), move, "castling value")
 					.add(kingFieldHeuristic.getKingFieldDeltaForMiddleGame(from, to, opponentKingSquare), move, "king field delta for middle game")
-					.add(mobilityAfterMove(board, move), move, "mobility after move")
-					.add(pawnHeuristics.getPawnHeuristicsForOpeningAndMiddleGame(board, move, from, to), "pawn heuristics for opening and middle game")
+					.add(mobilityAfterMove, move, "mobility after move")
+					.add(pawnHeuristicsValue, "pawn heuristics for opening and middle game")
 					.add(move.isCapture() ? captureBonus : ZERO, "capture bones")
 					.add(unblocksKingsOrQueensBishopPawn(from, move.getPlayer(), board), move, "unblocks kings or queens bishop");
 
@@ -52,10 +58,6 @@ class PositionalAnalysisForMiddleGame implements MovesEvaluator {
 		}
 	}
 
-	private int mobilityAfterMove(Board board, Move move) {
-		return board.temporarilyMove(move, () -> move.getPlayer().validMoves(board).size());
-	}
-
 	private MoveValue getCaptureBonus(Board board) {
 		MoveValue pieceValue = pieceValueEvaluator.value(board);
 		MoveValue captureBonus = ZERO;
@@ -48,7 +48,8 @@ class PositionalAnalysisForOpening implements MovesEvaluator {
 		MoveValue value = MoveValue.ZERO
 				.add(centralControlHeuristic.getCenterControlDeltaForOpening(from, to), move,  "center control delta for opening")
 				.add(castlingHeuristics.getCastlingValue(from.getPlayerPiece().getPiece(), fromColumn, toColumn), move, "castling")
-				.add(pawnHeuristics.getPawnHeuristicsForOpeningAndMiddleGame(board, move, from, to), "pawn heuristics for opening and middle game")
+				.add(board.temporarilyMakeMove(EncodedMoves.encode(move), () -> pawnHeuristics.getPawnHeuristicsForOpeningAndMiddleGame(board, move, from, to)),
+						"pawn heuristics for opening and middle game")
 				.add(getKnightMoveValue(from, to), move, "knight move")
 				.add(getPieceMovingFromKingSideValue(fromColumn), move, "piece moving from king side");
 		move.setValue(value);
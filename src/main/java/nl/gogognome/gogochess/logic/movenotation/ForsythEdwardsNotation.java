@@ -0,0 +1,132 @@
+package nl.gogognome.gogochess.logic.movenotation;
+
+import static nl.gogognome.gogochess.logic.Player.*;
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+import java.util.*;
+import nl.gogognome.gogochess.logic.*;
+import nl.gogognome.gogochess.logic.piece.*;
+
+/**
+ * Parses positions in Forsyth-Edwards Notation (FEN). A position is converted to a move that sets up the pieces.
+ * Processing that move on a board results in the position.
+ *
+ * <p>The board derives castling rights and en passant captures from the moves that were played. A castling right is
+ * lost as soon as a piece is removed from the start square of the rook. Therefore an absent castling right is
+ * represented by removing a piece from that square: the piece on that square is removed and added again, or a rook
+ * is added and removed if the square is empty. An en passant target square is represented by a separate move of the
+ * pawn that moved two squares. The half move clock and full move number are ignored.</p>
+ */
+public class ForsythEdwardsNotation {
+
+	private final static String PIECE_CHARACTERS = "PNBRQKpnbrqk";
+	private final static PlayerPiece[] PIECES = new PlayerPiece[] {
+			WHITE_PAWN, WHITE_KNIGHT, WHITE_BISHOP, WHITE_ROOK, WHITE_QUEEN, WHITE_KING,
+			BLACK_PAWN, BLACK_KNIGHT, BLACK_BISHOP, BLACK_ROOK, BLACK_QUEEN, BLACK_KING
+	};
+
+	/**
+	 * Parses a position.
+	 * @param fen the position in Forsyth-Edwards Notation. At least the piece placement and the player to move must
+	 *            be present
+	 * @return the move that results in the position when it is processed on a board
+	 */
+	public Move parse(String fen) {
+		String[] fields = fen.trim().split("\\s+");
+		if (fields.length < 2) {
+			throw new IllegalArgumentException("The position " + fen + " must contain at least the piece placement and the player to move");
+		}
+
+		PlayerPiece[] pieces = parsePiecePlacement(fields[0]);
+		Player playerToMove = parsePlayerToMove(fields[1]);
+		String castlingRights = fields.length > 2 ? fields[2] : "KQkq";
+		Square enPassantTarget = fields.length > 3 && !fields[3].equals("-") ? Square.fromString(fields[3]) : null;
+
+		List<BoardMutation> mutations = new ArrayList<>();
+		Square doublePawnPushFrom = null;
+		Square doublePawnPushTo = null;
+		if (enPassantTarget != null) {
+			int direction = playerToMove == WHITE ? -1 : 1;
+			doublePawnPushTo = enPassantTarget.addRanks(direction);
+			doublePawnPushFrom = enPassantTarget.addRanks(-direction);
+			PlayerPiece pawn = playerToMove == WHITE ? BLACK_PAWN : WHITE_PAWN;
+			if (!pawn.equals(pieces[doublePawnPushTo.boardIndex()]) || pieces[doublePawnPushFrom.boardIndex()] != null
+					|| pieces[enPassantTarget.boardIndex()] != null) {
+				throw new IllegalArgumentException("The en passant target square " + enPassantTarget + " does not match the piece placement");
+			}
+			pieces[doublePawnPushTo.boardIndex()] = null;
+			pieces[doublePawnPushFrom.boardIndex()] = pawn;
+		}
+
+		for (int index=0; index<pieces.length; index++) {
+			if (pieces[index] != null) {
+				mutations.add(pieces[index].addTo(Square.fromBoardIndex(index)));
+			}
+		}
+		removeCastlingRights(castlingRights, pieces, mutations);
+
+		if (enPassantTarget == null) {
+			return new Move(playerToMove.opponent(), mutations.toArray(new BoardMutation[0]));
+		}
+		PlayerPiece pawn = pieces[doublePawnPushFrom.boardIndex()];
+		Move setup = new Move(playerToMove, mutations.toArray(new BoardMutation[0]));
+		return new Move(setup, pawn.removeFrom(doublePawnPushFrom), pawn.addTo(doublePawnPushTo));
+	}
+
+	private PlayerPiece[] parsePiecePlacement(String piecePlacement) {
+		String[] ranks = piecePlacement.split("/");
+		if (ranks.length != 8) {
+			throw new IllegalArgumentException("The piece placement " + piecePlacement + " must contain 8 ranks");
+		}
+		PlayerPiece[] pieces = new PlayerPiece[64];
+		for (int i=0; i<8; i++) {
+			int rank = 7 - i;
+			int file = 0;
+			for (char c : ranks[i].toCharArray()) {
+				if (c >= '1' && c <= '8') {
+					file += c - '0';
+				} else {
+					int pieceIndex = PIECE_CHARACTERS.indexOf(c);
+					if (pieceIndex == -1 || file >= 8) {
+						throw new IllegalArgumentException("The rank " + ranks[i] + " is invalid");
+					}
+					pieces[file * 8 + rank] = PIECES[pieceIndex];
+					file++;
+				}
+			}
+			if (file != 8) {
+				throw new IllegalArgumentException("The rank " + ranks[i] + " does not contain 8 squares");
+			}
+		}
+		return pieces;
+	}
+
+	private Player parsePlayerToMove(String player) {
+		switch (player) {
+			case "w": return WHITE;
+			case "b": return BLACK;
+			default: throw new IllegalArgumentException("The player to move " + player + " must be w or b");
+		}
+	}
+
+	private void removeCastlingRights(String castlingRights, PlayerPiece[] pieces, List<BoardMutation> mutations) {
+		removeCastlingRight(castlingRights, 'Q', WHITE_ROOK, Square.fromString("a1"), pieces, mutations);
+		removeCastlingRight(castlingRights, 'K', WHITE_ROOK, Square.fromString("h1"), pieces, mutations);
+		removeCastlingRight(castlingRights, 'q', BLACK_ROOK, Square.fromString("a8"), pieces, mutations);
+		removeCastlingRight(castlingRights, 'k', BLACK_ROOK, Square.fromString("h8"), pieces, mutations);
+	}
+
+	private void removeCastlingRight(String castlingRights, char castlingRight, PlayerPiece rook, Square rookSquare,
+			PlayerPiece[] pieces, List<BoardMutation> mutations) {
+		if (castlingRights.indexOf(castlingRight) != -1) {
+			return;
+		}
+		PlayerPiece piece = pieces[rookSquare.boardIndex()];
+		if (piece != null) {
+			mutations.add(piece.removeFrom(rookSquare));
+			mutations.add(piece.addTo(rookSquare));
+		} else {
+			mutations.add(rook.addTo(rookSquare));
+			mutations.add(rook.removeFrom(rookSquare));
+		}
+	}
+}
@@ -1,6 +1,6 @@
 package nl.gogognome.gogochess.logic.piece;
 
-import static java.lang.Math.abs;
+import static nl.gogognome.gogochess.logic.Bitboards.*;
 import static nl.gogognome.gogochess.logic.Piece.*;
 import nl.gogognome.gogochess.logic.*;
 
@@ -8,16 +8,11 @@ public class Bishop extends MultiStepPlayerPiece {
 
 	public Bishop(Player player) {
 		super(player, BISHOP,
-				new int[] { 1, 1, -1, -1 },
-				new int[] { 1, -1, 1, -1 });
+				new int[] { NORTH_EAST, SOUTH_EAST, NORTH_WEST, SOUTH_WEST });
 	}
 
 	@Override
-	public boolean attacks(Square pieceSquare, Square attackedSquare, Board board, int deltaX, int deltaY) {
-		if (abs(deltaX) != abs(deltaY)) {
-			return false;
-		}
-		return allSquaresEmptyBetweenPieceSquareAndAttackedSquare(pieceSquare, attackedSquare, board, signum(deltaX), signum(deltaY));
+	public long attackedSquares(int squareIndex, Board board) {
+		return Bitboards.bishopAttacks(squareIndex, board.occupiedSquares());
 	}
-
 }
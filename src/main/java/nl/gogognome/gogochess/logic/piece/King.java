@@ -1,9 +1,6 @@
 package nl.gogognome.gogochess.logic.piece;
 
-import static java.lang.Math.abs;
-import static nl.gogognome.gogochess.logic.BoardMutation.Mutation.REMOVE;
 import static nl.gogognome.gogochess.logic.Piece.*;
-import java.util.*;
 import nl.gogognome.gogochess.logic.*;
 
 public class King extends PlayerPiece {
@@ -16,80 +13,72 @@ public class King extends PlayerPiece {
 	}
 
 	@Override
-	public void addPossibleMoves(List<Move> moves, Square square, Board board) {
-		addRegularMoves(moves, square, board);
-		addCastlingMoves(moves, square, board);
+	public int addPossibleMoves(int[] moves, int nrMoves, int squareIndex, Board board) {
+		nrMoves = addRegularMoves(moves, nrMoves, squareIndex, board);
+		return addCastlingMoves(moves, nrMoves, squareIndex, board);
 	}
 
-	private void addRegularMoves(List<Move> moves, Square square, Board board) {
+	private int addRegularMoves(int[] moves, int nrMoves, int squareIndex, Board board) {
 		for (int i=0; i<deltaX.length; i++) {
-			Square to = square.addFilesAndRanks(deltaX[i], deltaY[i]);
-			addMoveToEmptyFieldOrCapture(moves, board, square, to);
+			int to = addFilesAndRanks(squareIndex, deltaX[i], deltaY[i]);
+			if (to != -1) {
+				nrMoves = addMoveToEmptyFieldOrCapture(moves, nrMoves, board, squareIndex, to);
+			}
 		}
+		return nrMoves;
 	}
 
-	private void addCastlingMoves(List<Move> moves, Square square, Board board) {
+	private int addCastlingMoves(int[] moves, int nrMoves, int squareIndex, Board board) {
 		int rank = getPlayer() == Player.WHITE ? 0 : 7;
-		Square kingStartSquare = new Square(4, rank);
-		if (!square.equals(kingStartSquare) || movedBeforeFromSquare(board.lastMove(), square)) {
-			return;
+		int kingStartSquare = 4 * 8 + rank;
+		if (squareIndex != kingStartSquare) {
+			return nrMoves;
 		}
+		boolean white = getPlayer() == Player.WHITE;
 
-		Rook rook = new Rook(getPlayer());
-		Square leftTowerSquare = new Square(0, rank);
-		if (rook.equals(board.pieceAt(leftTowerSquare)) && !movedBeforeFromSquare(board.lastMove(), leftTowerSquare)) {
+		PlayerPiece rook = PlayerPieces.fromIndex(PlayerPiece.index(getPlayer(), ROOK));
+		int leftTowerSquare = rank;
+		if (rook.equals(board.pieceAt(leftTowerSquare))
+				&& board.hasCastlingRight(white ? Board.WHITE_QUEEN_SIDE_CASTLING : Board.BLACK_QUEEN_SIDE_CASTLING)) {
 			boolean squaresInBetweenEmpty = areAllSquaresInBetweenEmpty(board, leftTowerSquare, kingStartSquare);
-			Square kingTo = new Square(2, rank);
-			boolean blockedByAttack = isAnySquareAttacked(board, rank, kingTo, kingStartSquare);
-			if (squaresInBetweenEmpty && !blockedByAttack) {
-				moves.add(new Move(board.lastMove(), removeFrom(kingStartSquare), rook.removeFrom(leftTowerSquare), addTo(kingTo), rook.addTo(new Square(3, rank))));
+			int kingTo = 2 * 8 + rank;
+			if (squaresInBetweenEmpty && !isAnySquareAttacked(board, kingTo, kingStartSquare)) {
+				moves[nrMoves++] = EncodedMoves.castling(this, kingStartSquare, kingTo);
 			}
 		}
 
-		Square rightTowerSquare = new Square(7, rank);
-		if (rook.equals(board.pieceAt(rightTowerSquare)) && !movedBeforeFromSquare(board.lastMove(), rightTowerSquare)) {
+		int rightTowerSquare = 7 * 8 + rank;
+		if (rook.equals(board.pieceAt(rightTowerSquare))
+				&& board.hasCastlingRight(white ? Board.WHITE_KING_SIDE_CASTLING : Board.BLACK_KING_SIDE_CASTLING)) {
 			boolean squaresInBetweenEmpty = areAllSquaresInBetweenEmpty(board, kingStartSquare, rightTowerSquare);
-			Square kingTo = new Square(6, rank);
-			boolean blockedByAttack = isAnySquareAttacked(board, rank, kingStartSquare, kingTo);
-			if (squaresInBetweenEmpty && !blockedByAttack) {
-				moves.add(new Move(board.lastMove(), removeFrom(kingStartSquare), rook.removeFrom(rightTowerSquare), addTo(kingTo), rook.addTo(new Square(5, rank))));
+			int kingTo = 6 * 8 + rank;
+			if (squaresInBetweenEmpty && !isAnySquareAttacked(board, kingStartSquare, kingTo)) {
+				moves[nrMoves++] = EncodedMoves.castling(this, kingStartSquare, kingTo);
 			}
 		}
+		return nrMoves;
 	}
 
-	private boolean areAllSquaresInBetweenEmpty(Board board, Square leftMostSquare, Square rightMostSquare) {
-		boolean squaresInBetweenEmpty = true;
-		for (int file = leftMostSquare.file() + 1; file<= rightMostSquare.file() - 1; file++) {
-			squaresInBetweenEmpty = squaresInBetweenEmpty && board.empty(new Square(file, leftMostSquare.rank()));
-		}
-		return squaresInBetweenEmpty;
-	}
-
-	private boolean isAnySquareAttacked(Board board, int rank, Square leftMostSquare, Square rightMostSquare) {
-		boolean blockedByAttack = false;
-		for (int file = leftMostSquare.file(); file<= rightMostSquare.file(); file++) {
-			Square squareThatMustNotBeAttacked = new Square(file, rank);
-			blockedByAttack = blockedByAttack || board.anyPieceAttacks(getPlayer().opponent(), squareThatMustNotBeAttacked);
+	private boolean areAllSquaresInBetweenEmpty(Board board, int leftMostSquare, int rightMostSquare) {
+		for (int square = leftMostSquare + 8; square < rightMostSquare; square += 8) {
+			if (board.pieceAt(square) != null) {
+				return false;
+			}
 		}
-		return blockedByAttack;
+		return true;
 	}
 
-	private boolean movedBeforeFromSquare(Move move, Square square) {
-		while (move != null) {
-			if (moveContainsSquare(move, square)) {
+	private boolean isAnySquareAttacked(Board board, int leftMostSquare, int rightMostSquare) {
+		for (int square = leftMostSquare; square <= rightMostSquare; square += 8) {
+			if (board.anyPieceAttacks(getPlayer().opponent(), square)) {
 				return true;
 			}
-			move = move.getPrecedingMove();
 		}
 		return false;
 	}
 
-	private boolean moveContainsSquare(Move move, Square square) {
-		return move.getBoardMutations().stream().anyMatch(mutation -> mutation.getMutation() == REMOVE && mutation.getSquare().equals(square));
-	}
-
 	@Override
-	protected boolean attacks(Square pieceSquare, Square attackedSquare, Board board, int deltaX, int deltaY) {
-		return (abs(deltaX) | abs(deltaY)) == 1;
+	public long attackedSquares(int squareIndex, Board board) {
+		return Bitboards.kingAttacks(squareIndex);
 	}
 }
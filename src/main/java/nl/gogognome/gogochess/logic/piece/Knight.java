@@ -1,8 +1,6 @@
 package nl.gogognome.gogochess.logic.piece;
 
-import static java.lang.Math.abs;
 import static nl.gogognome.gogochess.logic.Piece.KNIGHT;
-import java.util.*;
 import nl.gogognome.gogochess.logic.*;
 
 public class Knight extends PlayerPiece {
@@ -14,17 +12,18 @@ public class Knight extends PlayerPiece {
 		super(player, KNIGHT);
 	}
 
-	public void addPossibleMoves(List<Move> moves, Square square, Board board) {
+	public int addPossibleMoves(int[] moves, int nrMoves, int squareIndex, Board board) {
 		for (int i=0; i<DELTA_X.length; i++) {
-			Square to = square.addFilesAndRanks(DELTA_X[i], DELTA_Y[i]);
-			addMoveToEmptyFieldOrCapture(moves, board, square, to);
+			int to = addFilesAndRanks(squareIndex, DELTA_X[i], DELTA_Y[i]);
+			if (to != -1) {
+				nrMoves = addMoveToEmptyFieldOrCapture(moves, nrMoves, board, squareIndex, to);
+			}
 		}
+		return nrMoves;
 	}
 
 	@Override
-	protected boolean attacks(Square pieceSquare, Square attackedSquare, Board board, int deltaX, int deltaY) {
-		deltaX = abs(deltaX);
-		deltaY = abs(deltaY);
-		return (deltaX == 2 && deltaY == 1) || (deltaX == 1 && deltaY == 2);
+	public long attackedSquares(int squareIndex, Board board) {
+		return Bitboards.knightAttacks(squareIndex);
 	}
-}
\ No newline at end of file
+}
@@ -1,13 +1,13 @@
 package nl.gogognome.gogochess.logic.piece;
 
 import static nl.gogognome.gogochess.logic.BoardMutation.Mutation.*;
-import java.util.*;
 import nl.gogognome.gogochess.logic.*;
 
 public abstract class PlayerPiece {
 
 	private final Piece piece;
 	private final Player player;
+	private final int index;
 
 	public PlayerPiece(Player player, Piece piece) {
 		if (piece == null || player == null) {
@@ -16,6 +16,17 @@ public abstract class PlayerPiece {
 
 		this.piece = piece;
 		this.player = player;
+		this.index = index(player, piece);
+	}
+
+	/**
+	 * Determines the index of a player piece. White pieces get the indices 0 to 5, black pieces get the indices 6 to 11.
+	 * @param player the player
+	 * @param piece the piece
+	 * @return the index in the range [0..11]
+	 */
+	public static int index(Player player, Piece piece) {
+		return player.ordinal() * 6 + piece.ordinal();
 	}
 
 	public Piece getPiece() {
@@ -26,22 +37,42 @@ public abstract class PlayerPiece {
 		return player;
 	}
 
-	public abstract void addPossibleMoves(List<Move> moves, Square square, Board board);
+	/**
+	 * @return the index of this player piece in the range [0..11]
+	 */
+	public int index() {
+		return index;
+	}
 
-	boolean addMoveToEmptyFieldOrCapture(List<Move> moves, Board board, Square square, Square to) {
-		if (to == null) {
-			return false;
-		}
+	/**
+	 * Adds the encoded moves of this player piece to an array of moves, ignoring whether the moves leave the king
+	 * of the player in check.
+	 * @param moves the array to which the moves are added
+	 * @param nrMoves the number of moves already present in the array
+	 * @param squareIndex the board index of the square where this piece is located
+	 * @param board the board
+	 * @return the number of moves present in the array after adding the moves of this piece
+	 */
+	public abstract int addPossibleMoves(int[] moves, int nrMoves, int squareIndex, Board board);
+
+	int addMoveToEmptyFieldOrCapture(int[] moves, int nrMoves, Board board, int from, int to) {
 		PlayerPiece capturedPiece = board.pieceAt(to);
 		if (capturedPiece == null) {
-			moves.add(new Move(board.lastMove(), removeFrom(square), addTo(to)));
-			return true;
-		} else {
-			if (capturedPiece.getPlayer() != getPlayer()) {
-				moves.add(new Move(board.lastMove(), removeFrom(square), capturedPiece.removeFrom(to), addTo(to)));
-			}
-			return false;
+			moves[nrMoves++] = EncodedMoves.move(this, from, to);
+		} else if (capturedPiece.getPlayer() != getPlayer()) {
+			moves[nrMoves++] = EncodedMoves.capture(this, from, to, capturedPiece);
 		}
+		return nrMoves;
+	}
+
+	/**
+	 * Determines the board index of the square at a distance of a number of files and ranks from a square.
+	 * @return the board index or -1 if the square lies outside the board
+	 */
+	static int addFilesAndRanks(int squareIndex, int deltaFiles, int deltaRanks) {
+		int file = (squareIndex >>> 3) + deltaFiles;
+		int rank = (squareIndex & 7) + deltaRanks;
+		return ((file | rank) & ~7) == 0 ? file * 8 + rank : -1;
 	}
 
 	public BoardMutation addTo(Square square) {
@@ -60,16 +91,17 @@ public abstract class PlayerPiece {
 	 * @return true if this player piece attacks attackedSquare; false otherwise
 	 */
 	public boolean attacks(Square pieceSquare, Square attackedSquare, Board board) {
-		int deltaX = attackedSquare.file() - pieceSquare.file();
-		int deltaY = attackedSquare.rank() - pieceSquare.rank();
-		return attacks(pieceSquare, attackedSquare, board, deltaX, deltaY);
+		return (attackedSquares(pieceSquare.boardIndex(), board) & Bitboards.bitOf(attackedSquare)) != 0;
 	}
 
 	/**
-	 * Same method as {@link #attacks(Square, Square, Board)} above, except that deltaX and deltaY are filled
-	 * in with the deltas to get from pieceSquare to attackedSquare.
+	 * Determines the squares attacked by this player piece. Squares occupied by pieces of the same player
+	 * are included.
+	 * @param squareIndex the board index of the square where this piece is located
+	 * @param board the board
+	 * @return bitboard containing the attacked squares
 	 */
-	protected abstract boolean attacks(Square pieceSquare, Square attackedSquare, Board board, int deltaX, int deltaY);
+	public abstract long attackedSquares(int squareIndex, Board board);
 
 	@Override
 	public boolean equals(Object obj) {
@@ -18,4 +18,17 @@ public class PlayerPieces {
 	public static final PlayerPiece BLACK_QUEEN = new Queen(BLACK);
 	public static final PlayerPiece BLACK_KING = new King(BLACK);
 
+	private static final PlayerPiece[] PLAYER_PIECES_BY_INDEX = new PlayerPiece[] {
+			WHITE_PAWN, WHITE_KNIGHT, WHITE_BISHOP, WHITE_ROOK, WHITE_QUEEN, WHITE_KING,
+			BLACK_PAWN, BLACK_KNIGHT, BLACK_BISHOP, BLACK_ROOK, BLACK_QUEEN, BLACK_KING
+	};
+
+	/**
+	 * @param index the index of a player piece in the range [0..11]
+	 * @return the player piece with the specified index
+	 */
+	public static PlayerPiece fromIndex(int index) {
+		return PLAYER_PIECES_BY_INDEX[index];
+	}
+
 }
@@ -1,5 +1,6 @@
 package nl.gogognome.gogochess.logic.piece;
 
+import static nl.gogognome.gogochess.logic.Bitboards.*;
 import static nl.gogognome.gogochess.logic.Piece.ROOK;
 import nl.gogognome.gogochess.logic.*;
 
@@ -7,15 +8,11 @@ public class Rook extends MultiStepPlayerPiece {
 
 	public Rook(Player player) {
 		super(player, ROOK,
-				new int[] { 1, -1, 0, 0 },
-				new int[] { 0, 0, 1, -1 });
+				new int[] { EAST, WEST, NORTH, SOUTH });
 	}
 
 	@Override
-	public boolean attacks(Square pieceSquare, Square attackedSquare, Board board, int deltaX, int deltaY) {
-		if (deltaX != 0 && deltaY != 0) {
-			return false;
-		}
-		return allSquaresEmptyBetweenPieceSquareAndAttackedSquare(pieceSquare, attackedSquare, board, signum(deltaX), signum(deltaY));
+	public long attackedSquares(int squareIndex, Board board) {
+		return Bitboards.rookAttacks(squareIndex, board.occupiedSquares());
 	}
 }
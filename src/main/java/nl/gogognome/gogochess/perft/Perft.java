@@ -0,0 +1,99 @@
+package nl.gogognome.gogochess.perft;
+
+import java.util.*;
+import java.util.concurrent.*;
+import nl.gogognome.gogochess.logic.*;
+
+/**
+ * Counts the leaf nodes of the tree of valid moves up to a fixed depth (performance test, perft). The counts
+ * for well-known positions are published, which makes perft the standard way to check the correctness of the
+ * move generator. The time it takes measures the speed of the move generator.
+ *
+ * <p>The root moves are generated by {@link Player#validMoves(Board)} and processed by
+ * {@link Board#process(Move)}. The deeper levels use the encoded moves of {@link Player#validMoves(Board, int[], int)},
+ * which are made and unmade on the board. At the last level the valid moves are only counted.</p>
+ */
+public class Perft {
+
+	/**
+	 * Counts the leaf nodes starting at the current position of the board.
+	 * After this method returns the board is in the same position as before.
+	 * @param board the board
+	 * @param depth the depth in plies
+	 * @return the number of leaf nodes
+	 */
+	public long perft(Board board, int depth) {
+		return divide(board, depth, 1).values().stream().mapToLong(Long::longValue).sum();
+	}
+
+	/**
+	 * Counts the leaf nodes per root move starting at the current position of the board.
+	 * After this method returns the board is in the same position as before.
+	 * @param board the board
+	 * @param depth the depth in plies; must be at least 1
+	 * @param nrThreads the number of threads over which the root moves are divided
+	 * @return the number of leaf nodes per root move, in the order in which the root moves were generated
+	 */
+	public Map<Move, Long> divide(Board board, int depth, int nrThreads) {
+		if (depth < 1) {
+			throw new IllegalArgumentException("Depth must be at least 1");
+		}
+		if (nrThreads < 1) {
+			throw new IllegalArgumentException("Number of threads must be at least 1");
+		}
+
+		List<Move> rootMoves = board.currentPlayer().validMoves(board);
+		Map<Move, Long> nodesPerMove = new LinkedHashMap<>();
+		if (nrThreads == 1) {
+			Move initialMove = board.lastMove();
+			for (Move move : rootMoves) {
+				board.process(move);
+				nodesPerMove.put(move, count(board, depth - 1, new int[depth][EncodedMoves.MAX_NR_MOVES], 0));
+			}
+			board.process(initialMove);
+			return nodesPerMove;
+		}
+
+		ExecutorService executorService = Executors.newFixedThreadPool(nrThreads);
+		try {
+			Map<Move, Future<Long>> futures = new LinkedHashMap<>();
+			for (Move move : rootMoves) {
+				futures.put(move, executorService.submit(() -> {
+					Board threadBoard = new Board();
+					threadBoard.process(move);
+					return count(threadBoard, depth - 1, new int[depth][EncodedMoves.MAX_NR_MOVES], 0);
+				}));
+			}
+			for (Map.Entry<Move, Future<Long>> entry : futures.entrySet()) {
+				nodesPerMove.put(entry.getKey(), entry.getValue().get());
+			}
+			return nodesPerMove;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Perft was interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Perft failed", e.getCause());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private long count(Board board, int depth, int[][] movesPerPly, int ply) {
+		if (depth == 0) {
+			return 1;
+		}
+		int[] moves = movesPerPly[ply];
+		int nrMoves = board.currentPlayer().validMoves(board, moves, 0);
+		if (depth == 1) {
+			return nrMoves;
+		}
+
+		long nrNodes = 0;
+		for (int i=0; i<nrMoves; i++) {
+			board.makeMove(moves[i]);
+			nrNodes += count(board, depth - 1, movesPerPly, ply + 1);
+			board.unmakeMove(moves[i]);
+		}
+		return nrNodes;
+	}
+}
@@ -0,0 +1,130 @@
+package nl.gogognome.gogochess.perft;
+
+import java.util.*;
+import nl.gogognome.gogochess.logic.*;
+import nl.gogognome.gogochess.logic.movenotation.*;
+
+/**
+ * Command line tool that runs perft on a position or on a suite of reference positions and reports the number
+ * of nodes and the number of nodes per second.
+ *
+ * <pre>
+ * usage: PerftTool [--divide] [--threads n] depth [fen]
+ *        PerftTool [--threads n] --suite
+ * </pre>
+ *
+ * Without a position the initial position is used. The suite contains the well-known reference positions and positions
+ * that stress en passant captures, castling and promotions. It checks the node counts against the published values and
+ * exits with a non-zero status if any count differs.
+ */
+public class PerftTool {
+
+	/** Reference positions with a depth and the published number of nodes at that depth. */
+	private final static String[][] SUITE = {
+			{ "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", "5", "4865609" },
+			{ "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", "4", "4085603" }, // Kiwipete
+			{ "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", "5", "674624" },
+			{ "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", "4", "422333" },
+			{ "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", "4", "2103487" },
+			{ "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", "4", "3894594" },
+			{ "3k4/3p4/8/K1P4r/8/8/8/8 b - - 0 1", "6", "1134888" }, // en passant capture exposes king
+			{ "8/8/4k3/8/2p5/8/B2P2K1/8 w - - 0 1", "6", "1015133" }, // en passant capture exposes king
+			{ "8/8/1k6/2b5/2pP4/8/5K2/8 b - d3 0 1", "6", "1440467" }, // en passant capture gives check
+			{ "5k2/8/8/8/8/8/8/4K2R w K - 0 1", "6", "661072" }, // short castling gives check
+			{ "3k4/8/8/8/8/8/8/R3K3 w Q - 0 1", "6", "803711" }, // long castling gives check
+			{ "r3k2r/1b4bq/8/8/8/8/7B/R3K2R w KQkq - 0 1", "4", "1274206" }, // castling rights
+			{ "r3k2r/8/3Q4/8/8/5q2/8/R3K2R b KQkq - 0 1", "4", "1720476" }, // castling prevented
+			{ "2K2r2/4P3/8/8/8/8/8/3k4 w - - 0 1", "6", "3821001" }, // promotion out of check
+			{ "8/8/1P2K3/8/2n5/1q6/8/5k2 b - - 0 1", "5", "1004658" }, // discovered check
+			{ "4k3/1P6/8/8/8/8/K7/8 w - - 0 1", "6", "217342" }, // promotion gives check
+			{ "8/P1k5/K7/8/8/8/8/8 w - - 0 1", "6", "92683" }, // under promotion gives check
+			{ "K1k5/8/P7/8/8/8/8/8 w - - 0 1", "6", "2217" }, // self stalemate
+			{ "8/k1P5/8/1K6/8/8/8/8 w - - 0 1", "7", "567584" }, // stalemate and checkmate
+			{ "8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1", "4", "23527" }, // stalemate and checkmate
+	};
+
+	private final Perft perft = new Perft();
+	private final ForsythEdwardsNotation forsythEdwardsNotation = new ForsythEdwardsNotation();
+	private final MoveNotation moveNotation = new ReverseAlgebraicNotation();
+
+	public static void main(String[] args) {
+		boolean divide = false;
+		boolean suite = false;
+		int nrThreads = 1;
+		List<String> remainingArgs = new ArrayList<>();
+		for (int i=0; i<args.length; i++) {
+			switch (args[i]) {
+				case "--divide": divide = true; break;
+				case "--suite": suite = true; break;
+				case "--threads": nrThreads = Integer.parseInt(args[++i]); break;
+				default: remainingArgs.add(args[i]);
+			}
+		}
+
+		PerftTool perftTool = new PerftTool();
+		if (suite) {
+			System.exit(perftTool.runSuite(nrThreads) ? 0 : 1);
+		}
+		if (remainingArgs.isEmpty()) {
+			System.err.println("usage: PerftTool [--divide] [--threads n] depth [fen]");
+			System.err.println("       PerftTool [--threads n] --suite");
+			System.exit(2);
+		}
+		int depth = Integer.parseInt(remainingArgs.get(0));
+		String fen = remainingArgs.size() > 1 ? String.join(" ", remainingArgs.subList(1, remainingArgs.size())) : SUITE[0][0];
+		perftTool.run(fen, depth, divide, nrThreads);
+	}
+
+	private void run(String fen, int depth, boolean divide, int nrThreads) {
+		Board board = new Board();
+		board.process(forsythEdwardsNotation.parse(fen));
+		long startTime = System.nanoTime();
+		Map<Move, Long> nodesPerMove = perft.divide(board, depth, nrThreads);
+		long duration = System.nanoTime() - startTime;
+		if (divide) {
+			nodesPerMove.forEach((move, nrNodes) -> System.out.println(moveNotation.format(move) + ": " + nrNodes));
+		}
+		report(depth, sum(nodesPerMove), duration);
+	}
+
+	private boolean runSuite(int nrThreads) {
+		boolean allCorrect = true;
+		long totalNrNodes = 0;
+		long totalDuration = 0;
+		for (String[] position : SUITE) {
+			System.out.println(position[0]);
+			Board board = new Board();
+			board.process(forsythEdwardsNotation.parse(position[0]));
+			int depth = Integer.parseInt(position[1]);
+			long startTime = System.nanoTime();
+			long nrNodes = sum(perft.divide(board, depth, nrThreads));
+			long duration = System.nanoTime() - startTime;
+			report(depth, nrNodes, duration);
+			totalNrNodes += nrNodes;
+			totalDuration += duration;
+
+			long expectedNrNodes = Long.parseLong(position[2]);
+			if (nrNodes != expectedNrNodes) {
+				System.out.println("  expected " + expectedNrNodes + " nodes");
+				allCorrect = false;
+			}
+		}
+		System.out.println("Total: " + totalNrNodes + " nodes in " + Math.max(1, totalDuration / 1_000_000) + " ms ("
+				+ nodesPerSecond(totalNrNodes, totalDuration) + " nodes/s)");
+		System.out.println(allCorrect ? "All node counts are correct" : "Some node counts are incorrect");
+		return allCorrect;
+	}
+
+	private long sum(Map<Move, Long> nodesPerMove) {
+		return nodesPerMove.values().stream().mapToLong(Long::longValue).sum();
+	}
+
+	private void report(int depth, long nrNodes, long durationNanos) {
+		System.out.println("  depth " + depth + ": " + nrNodes + " nodes in " + Math.max(1, durationNanos / 1_000_000) + " ms ("
+				+ nodesPerSecond(nrNodes, durationNanos) + " nodes/s)");
+	}
+
+	private long nodesPerSecond(long nrNodes, long durationNanos) {
+		return nrNodes * 1_000_000_000L / Math.max(1, durationNanos);
+	}
+}
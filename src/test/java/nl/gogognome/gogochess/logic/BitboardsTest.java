@@ -0,0 +1,74 @@
+package nl.gogognome.gogochess.logic;
+
+import static nl.gogognome.gogochess.logic.Bitboards.*;
+import static nl.gogognome.gogochess.logic.Player.*;
+import static nl.gogognome.gogochess.logic.Squares.*;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+class BitboardsTest {
+
+	@Test
+	void knightInCornerAttacksTwoSquares() {
+		assertThat(knightAttacks(A1.boardIndex())).isEqualTo(bitOf(B3) | bitOf(C2));
+	}
+
+	@Test
+	void kingInCenterAttacksEightSquares() {
+		assertThat(Long.bitCount(kingAttacks(E4.boardIndex()))).isEqualTo(8);
+	}
+
+	@Test
+	void pawnsAttackDiagonallyForward() {
+		assertThat(pawnAttacks(WHITE, E4.boardIndex())).isEqualTo(bitOf(D5) | bitOf(F5));
+		assertThat(pawnAttacks(BLACK, A5.boardIndex())).isEqualTo(bitOf(B4));
+	}
+
+	@Test
+	void passedPawnSpanContainsSquaresInFrontOfPawnInOwnAndAdjacentFiles() {
+		assertThat(passedPawnSpan(WHITE, A6.boardIndex())).isEqualTo(bitOf(A7) | bitOf(A8) | bitOf(B7) | bitOf(B8));
+		assertThat(passedPawnSpan(BLACK, E3.boardIndex())).isEqualTo(
+				bitOf(D2) | bitOf(D1) | bitOf(E2) | bitOf(E1) | bitOf(F2) | bitOf(F1));
+	}
+
+	@Test
+	void adjacentFilesOfFileAOnlyContainFileB() {
+		assertThat(adjacentFiles(0)).isEqualTo(file(1));
+		assertThat(Long.bitCount(adjacentFiles(4))).isEqualTo(16);
+	}
+
+	@Test
+	void rookAttacksUpToAndIncludingFirstOccupiedSquare() {
+		long occupied = bitOf(E4) | bitOf(E6) | bitOf(C4);
+
+		assertThat(rookAttacks(E4.boardIndex(), occupied)).isEqualTo(
+				bitOf(E5) | bitOf(E6)
+				| bitOf(E3) | bitOf(E2) | bitOf(E1)
+				| bitOf(D4) | bitOf(C4)
+				| bitOf(F4) | bitOf(G4) | bitOf(H4));
+	}
+
+	@Test
+	void bishopAttacksUpToAndIncludingFirstOccupiedSquare() {
+		long occupied = bitOf(C1) | bitOf(E3) | bitOf(A3);
+
+		assertThat(bishopAttacks(C1.boardIndex(), occupied)).isEqualTo(bitOf(D2) | bitOf(E3) | bitOf(B2) | bitOf(A3));
+	}
+
+	@Test
+	void betweenContainsSquaresStrictlyBetweenAlignedSquares() {
+		assertThat(between(A1.boardIndex(), D4.boardIndex())).isEqualTo(bitOf(B2) | bitOf(C3));
+		assertThat(between(E8.boardIndex(), E5.boardIndex())).isEqualTo(bitOf(E7) | bitOf(E6));
+		assertThat(between(E1.boardIndex(), F1.boardIndex())).isZero();
+		assertThat(between(A1.boardIndex(), B3.boardIndex())).isZero();
+	}
+
+	@Test
+	void lineContainsAllSquaresThroughAlignedSquares() {
+		assertThat(line(D2.boardIndex(), E3.boardIndex())).isEqualTo(
+				bitOf(C1) | bitOf(D2) | bitOf(E3) | bitOf(F4) | bitOf(G5) | bitOf(H6));
+		assertThat(line(B4.boardIndex(), D4.boardIndex())).isEqualTo(
+				bitOf(A4) | bitOf(B4) | bitOf(C4) | bitOf(D4) | bitOf(E4) | bitOf(F4) | bitOf(G4) | bitOf(H4));
+		assertThat(line(A1.boardIndex(), B3.boardIndex())).isZero();
+	}
+}
@@ -45,4 +45,49 @@ class BoardHashTest {
 
 		assertThat(hash1).isNotEqualTo(hash2);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void boardsWithSamePiecesButDifferentCastlingRightsMustHaveDifferentHashes() {
+		Board board = new Board();
+		board.initBoard();
+		board.process(WHITE_KNIGHT.removeFrom(G1), WHITE_KNIGHT.addTo(F3));
+		board.process(BLACK_KNIGHT.removeFrom(G8), BLACK_KNIGHT.addTo(F6));
+		long hash1 = board.getBoardHash();
+
+		board.initBoard();
+		board.process(WHITE_KNIGHT.removeFrom(G1), WHITE_KNIGHT.addTo(F3));
+		board.process(BLACK_KNIGHT.removeFrom(G8), BLACK_KNIGHT.addTo(F6));
+		board.process(WHITE_ROOK.removeFrom(H1), WHITE_ROOK.addTo(G1));
+		board.process(BLACK_PAWN.removeFrom(A7), BLACK_PAWN.addTo(A6));
+		board.process(WHITE_ROOK.removeFrom(G1), WHITE_ROOK.addTo(H1));
+		board.process(BLACK_PAWN.removeFrom(A6), BLACK_PAWN.addTo(A5));
+		long hash2 = board.getBoardHash();
+
+		assertThat(hash1).isNotEqualTo(hash2);
+	}
+
+	@Test
+	void pawnHashOnlyChangesWhenPawnsChange() {
+		Board board = new Board();
+		board.initBoard();
+		long initialPawnHash = board.getPawnHash();
+
+		board.process(WHITE_KNIGHT.removeFrom(G1), WHITE_KNIGHT.addTo(F3));
+		assertThat(board.getPawnHash()).isEqualTo(initialPawnHash);
+
+		board.process(BLACK_PAWN.removeFrom(E7), BLACK_PAWN.addTo(E5));
+		long pawnHashAfterPawnMove = board.getPawnHash();
+		assertThat(pawnHashAfterPawnMove).isNotEqualTo(initialPawnHash);
+
+		int move = EncodedMoves.move(WHITE_KNIGHT, F3.boardIndex(), G5.boardIndex());
+		board.makeMove(move);
+		assertThat(board.getPawnHash()).isEqualTo(pawnHashAfterPawnMove);
+		board.unmakeMove(move);
+
+		move = EncodedMoves.capture(WHITE_KNIGHT, F3.boardIndex(), E5.boardIndex(), BLACK_PAWN);
+		board.makeMove(move);
+		assertThat(board.getPawnHash()).isNotEqualTo(pawnHashAfterPawnMove);
+		board.unmakeMove(move);
+		assertThat(board.getPawnHash()).isEqualTo(pawnHashAfterPawnMove);
+	}
+}
@@ -11,23 +11,23 @@ class BoardMutationTest {
 	@Test
 	public void testEquals() {
 		assertEquals(
-				new BoardMutation(new Pawn(WHITE), new Square("a2"), ADD),
-				new BoardMutation(new Pawn(WHITE), new Square("a2"), ADD));
+				new BoardMutation(new Pawn(WHITE), Square.fromString("a2"), ADD),
+				new BoardMutation(new Pawn(WHITE), Square.fromString("a2"), ADD));
 
 		assertNotEquals(
-				new BoardMutation(new Pawn(WHITE), new Square("a2"), ADD),
-				new BoardMutation(new Pawn(BLACK), new Square("a2"), ADD));
+				new BoardMutation(new Pawn(WHITE), Square.fromString("a2"), ADD),
+				new BoardMutation(new Pawn(BLACK), Square.fromString("a2"), ADD));
 
 		assertNotEquals(
-				new BoardMutation(new Pawn(WHITE), new Square("a2"), ADD),
-				new BoardMutation(new Knight(WHITE), new Square("a2"), ADD));
+				new BoardMutation(new Pawn(WHITE), Square.fromString("a2"), ADD),
+				new BoardMutation(new Knight(WHITE), Square.fromString("a2"), ADD));
 
 		assertNotEquals(
-				new BoardMutation(new Pawn(WHITE), new Square("a2"), ADD),
-				new BoardMutation(new Pawn(WHITE), new Square("a3"), ADD));
+				new BoardMutation(new Pawn(WHITE), Square.fromString("a2"), ADD),
+				new BoardMutation(new Pawn(WHITE), Square.fromString("a3"), ADD));
 
 		assertNotEquals(
-				new BoardMutation(new Pawn(WHITE), new Square("a2"), ADD),
-				new BoardMutation(new Pawn(WHITE), new Square("a2"), REMOVE));
+				new BoardMutation(new Pawn(WHITE), Square.fromString("a2"), ADD),
+				new BoardMutation(new Pawn(WHITE), Square.fromString("a2"), REMOVE));
 	}
 }
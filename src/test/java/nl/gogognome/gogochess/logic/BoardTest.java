@@ -14,6 +14,7 @@ import org.junit.jupiter.api.*;
 import nl.gogognome.gogochess.logic.ai.*;
 import nl.gogognome.gogochess.logic.asserters.*;
 import nl.gogognome.gogochess.logic.movenotation.*;
+import nl.gogognome.gogochess.logic.piece.*;
 
 class BoardTest {
 
@@ -121,6 +122,181 @@ class BoardTest {
 				"rnbqkbnr\n");
 	}
 
+	@Test
+	void bitboardsAreUpdatedWhenMovingAndUndoingMove() {
+		board.initBoard();
+		Move move = new Move(INITIAL_BOARD, WHITE_PAWN.removeFrom(E2), WHITE_PAWN.addTo(E4));
+
+		board.process(move);
+
+		assertThat(board.bitboardOf(WHITE_PAWN) & Bitboards.bitOf(E4)).isNotZero();
+		assertThat(board.bitboardOf(WHITE_PAWN) & Bitboards.bitOf(E2)).isZero();
+		assertThat(Long.bitCount(board.bitboardOf(WHITE))).isEqualTo(16);
+		assertThat(Long.bitCount(board.occupiedSquares())).isEqualTo(32);
+
+		board.process(INITIAL_BOARD);
+
+		assertThat(board.bitboardOf(WHITE_PAWN) & Bitboards.bitOf(E4)).isZero();
+		assertThat(board.bitboardOf(WHITE_PAWN) & Bitboards.bitOf(E2)).isNotZero();
+	}
+
+	@Test
+	void makeMoveAndUnmakeMoveRestoreBoard() {
+		board.initBoard();
+		long initialHash = board.getBoardHash();
+		int move = EncodedMoves.encode(new Move(INITIAL_BOARD, WHITE_PAWN.removeFrom(E2), WHITE_PAWN.addTo(E4)));
+
+		board.makeMove(move);
+
+		assertThat(board.pieceAt(E4)).isEqualTo(WHITE_PAWN);
+		assertThat(board.pieceAt(E2)).isNull();
+		assertThat(board.currentPlayer()).isEqualTo(BLACK);
+		assertThat(board.enPassantCapturablePawnIndex()).isEqualTo(E4.boardIndex());
+		assertThat(board.lastMoveDepthInTree()).isEqualTo(INITIAL_BOARD.depthInTree() + 1);
+		assertThat(board.getBoardHash()).isNotEqualTo(initialHash);
+
+		board.unmakeMove(move);
+
+		assertThat(board.pieceAt(E2)).isEqualTo(WHITE_PAWN);
+		assertThat(board.pieceAt(E4)).isNull();
+		assertThat(board.currentPlayer()).isEqualTo(WHITE);
+		assertThat(board.getBoardHash()).isEqualTo(initialHash);
+	}
+
+	@Test
+	void castlingRightsAreLostWhenKingOrRookMovesAndRestoredWhenMoveIsUndone() {
+		board.initBoard();
+		Move knightMove = new Move(INITIAL_BOARD, WHITE_KNIGHT.removeFrom(G1), WHITE_KNIGHT.addTo(F3));
+		Move blackMove = new Move(knightMove, BLACK_PAWN.removeFrom(E7), BLACK_PAWN.addTo(E6));
+		Move rookMove = new Move(blackMove, WHITE_ROOK.removeFrom(H1), WHITE_ROOK.addTo(G1));
+		board.process(rookMove);
+
+		assertThat(board.hasCastlingRight(WHITE_KING_SIDE_CASTLING)).isFalse();
+		assertThat(board.hasCastlingRight(WHITE_QUEEN_SIDE_CASTLING)).isTrue();
+		assertThat(board.hasCastlingRight(BLACK_KING_SIDE_CASTLING)).isTrue();
+
+		int kingMove = EncodedMoves.move(BLACK_KING, E8.boardIndex(), E7.boardIndex());
+		board.makeMove(kingMove);
+		assertThat(board.hasCastlingRight(BLACK_KING_SIDE_CASTLING)).isFalse();
+		assertThat(board.hasCastlingRight(BLACK_QUEEN_SIDE_CASTLING)).isFalse();
+
+		board.unmakeMove(kingMove);
+		assertThat(board.hasCastlingRight(BLACK_KING_SIDE_CASTLING)).isTrue();
+		assertThat(board.hasCastlingRight(BLACK_QUEEN_SIDE_CASTLING)).isTrue();
+
+		board.process(blackMove);
+		assertThat(board.hasCastlingRight(WHITE_KING_SIDE_CASTLING)).isTrue();
+	}
+
+	@Test
+	void initialBoardHasSixteenPiecesPerPlayerOfWhichEightAreNonPawnPieces() {
+		board.initBoard();
+
+		assertThat(board.nrPiecesOf(WHITE_PAWN)).isEqualTo(8);
+		assertThat(board.nrPiecesOf(BLACK_KNIGHT)).isEqualTo(2);
+		assertThat(board.nrPiecesOf(BLACK_QUEEN)).isEqualTo(1);
+		assertThat(board.numberNonPawnPieces()).isEqualTo(16);
+		assertThat(board.numberNonPawnPieces(WHITE)).isEqualTo(8);
+		assertThat(board.countPiecesWhere(playerPiece -> playerPiece.getPlayer() == BLACK)).isEqualTo(16);
+	}
+
+	@Test
+	void numberOfPiecesIsUpdatedWhenCapturingPromotionIsMadeAndUndone() {
+		board.process(new Move(WHITE,
+				WHITE_KING.addTo(E1),
+				WHITE_PAWN.addTo(G7),
+				BLACK_KING.addTo(E8),
+				BLACK_ROOK.addTo(H8)));
+		int move = EncodedMoves.promote(EncodedMoves.capture(WHITE_PAWN, G7.boardIndex(), H8.boardIndex(), BLACK_ROOK), WHITE_QUEEN);
+
+		board.makeMove(move);
+
+		assertThat(board.nrPiecesOf(WHITE_PAWN)).isZero();
+		assertThat(board.nrPiecesOf(WHITE_QUEEN)).isEqualTo(1);
+		assertThat(board.nrPiecesOf(BLACK_ROOK)).isZero();
+		assertThat(board.numberNonPawnPieces()).isEqualTo(3);
+
+		board.unmakeMove(move);
+
+		assertThat(board.nrPiecesOf(WHITE_PAWN)).isEqualTo(1);
+		assertThat(board.nrPiecesOf(WHITE_QUEEN)).isZero();
+		assertThat(board.nrPiecesOf(BLACK_ROOK)).isEqualTo(1);
+		assertThat(board.numberNonPawnPieces()).isEqualTo(3);
+	}
+
+	@Test
+	void temporarilyMakeMoveProvidesValueForPositionAfterMoveAndRestoresBoard() {
+		board.initBoard();
+		long initialHash = board.getBoardHash();
+		int move = EncodedMoves.move(WHITE_KNIGHT, G1.boardIndex(), F3.boardIndex());
+
+		PlayerPiece pieceAtF3 = board.temporarilyMakeMove(move, () -> board.pieceAt(F3));
+
+		assertThat(pieceAtF3).isEqualTo(WHITE_KNIGHT);
+		assertThat(board.pieceAt(F3)).isNull();
+		assertThat(board.nrMadeMoves()).isZero();
+		assertThat(board.getBoardHash()).isEqualTo(initialHash);
+	}
+
+	@Test
+	void makeNullMoveAndUnmakeNullMoveRestoreBoard() {
+		board.initBoard();
+		int move = EncodedMoves.encode(new Move(INITIAL_BOARD, WHITE_PAWN.removeFrom(E2), WHITE_PAWN.addTo(E4)));
+		board.makeMove(move);
+		long hashAfterMove = board.getBoardHash();
+
+		board.makeNullMove();
+
+		assertThat(board.currentPlayer()).isEqualTo(WHITE);
+		assertThat(board.enPassantCapturablePawnIndex()).isEqualTo(-1);
+		assertThat(board.lastMoveDepthInTree()).isEqualTo(INITIAL_BOARD.depthInTree() + 2);
+		assertThat(board.getBoardHash()).isNotEqualTo(hashAfterMove);
+
+		board.unmakeNullMove();
+
+		assertThat(board.currentPlayer()).isEqualTo(BLACK);
+		assertThat(board.enPassantCapturablePawnIndex()).isEqualTo(E4.boardIndex());
+		assertThat(board.getBoardHash()).isEqualTo(hashAfterMove);
+	}
+
+	@Test
+	void unmakeNullMoveWhenLastMadeMoveIsNoNullMoveFails() {
+		board.initBoard();
+
+		assertThatThrownBy(() -> board.unmakeNullMove()).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void unmakeMoveThatIsNotTheLastMadeMoveFails() {
+		board.initBoard();
+		int move = EncodedMoves.encode(new Move(INITIAL_BOARD, WHITE_PAWN.removeFrom(E2), WHITE_PAWN.addTo(E4)));
+
+		assertThatThrownBy(() -> board.unmakeMove(move)).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void kingSquareOfIsDeterminedFromBitboards() {
+		board.initBoard();
+
+		assertThat(board.kingSquareOf(WHITE)).isEqualTo(E1);
+		assertThat(board.kingSquareOf(BLACK)).isEqualTo(E8);
+	}
+
+	@Test
+	void anyPieceAttacksDetectsSlidingPieceUnlessBlocked() {
+		board.process(new Move(BLACK,
+				WHITE_ROOK.addTo(A1),
+				BLACK_KING.addTo(A8)));
+
+		assertThat(board.anyPieceAttacks(WHITE, A8)).isTrue();
+		assertThat(board.isKingAttacked(BLACK)).isTrue();
+
+		board.process(new Move(board.lastMove(), WHITE, Collections.singletonList(BLACK_PAWN.addTo(A5))));
+
+		assertThat(board.anyPieceAttacks(WHITE, A8)).isFalse();
+		assertThat(board.isKingAttacked(BLACK)).isFalse();
+	}
+
 	@Test
 	void moveCausingCheckIsMarkedAsCheck() {
 		board.process(new Move(BLACK,
@@ -185,6 +361,87 @@ class BoardTest {
 		BoardAsserter.assertThat(board).lastMoveStatusIsEqualTo(Status.DRAW_BECAUSE_OF_THREEFOLD_REPETITION);
 	}
 
+	@Test
+	void repetitionsOfMadeMovesAreCountedUntilLastIrreversibleMove() {
+		board.initBoard();
+		int[] knightMoves = new int[] {
+				EncodedMoves.move(WHITE_KNIGHT, B1.boardIndex(), C3.boardIndex()),
+				EncodedMoves.move(BLACK_KNIGHT, B8.boardIndex(), C6.boardIndex()),
+				EncodedMoves.move(WHITE_KNIGHT, C3.boardIndex(), B1.boardIndex()),
+				EncodedMoves.move(BLACK_KNIGHT, C6.boardIndex(), B8.boardIndex())
+		};
+		for (int move : knightMoves) {
+			board.makeMove(move);
+		}
+		assertThat(board.getNumberOfRepetitionsOfCurrentPosition()).isEqualTo(2);
+
+		int pawnMove = EncodedMoves.move(WHITE_PAWN, E2.boardIndex(), E3.boardIndex());
+		board.makeMove(pawnMove);
+		assertThat(board.getNumberOfRepetitionsOfCurrentPosition()).isEqualTo(1);
+
+		board.unmakeMove(pawnMove);
+		for (int i=knightMoves.length - 1; i>=0; i--) {
+			board.unmakeMove(knightMoves[i]);
+		}
+		assertThat(board.getNumberOfRepetitionsOfCurrentPosition()).isEqualTo(1);
+	}
+
+	@Test
+	void kingMovesAfterCastlingRightsAreLostCanRepeatPosition() {
+		board.initBoard();
+		board.makeMove(EncodedMoves.move(WHITE_PAWN, E2.boardIndex(), E4.boardIndex()));
+		board.makeMove(EncodedMoves.move(BLACK_PAWN, E7.boardIndex(), E5.boardIndex()));
+		int[] kingMoves = new int[] {
+				EncodedMoves.move(WHITE_KING, E1.boardIndex(), E2.boardIndex()),
+				EncodedMoves.move(BLACK_KING, E8.boardIndex(), E7.boardIndex()),
+				EncodedMoves.move(WHITE_KING, E2.boardIndex(), E1.boardIndex()),
+				EncodedMoves.move(BLACK_KING, E7.boardIndex(), E8.boardIndex())
+		};
+		for (int move : kingMoves) {
+			board.makeMove(move);
+		}
+		assertThat(board.getNumberOfRepetitionsOfCurrentPosition()).isEqualTo(1);
+
+		for (int move : kingMoves) {
+			board.makeMove(move);
+		}
+		assertThat(board.getNumberOfRepetitionsOfCurrentPosition()).isEqualTo(2);
+
+		for (int move : kingMoves) {
+			board.makeMove(move);
+		}
+		assertThat(board.getNumberOfRepetitionsOfCurrentPosition()).isEqualTo(3);
+	}
+
+	@Test
+	void copiedBoardHasSamePositionAndHistory() {
+		board.initBoard();
+		board.process(WHITE_KNIGHT.removeFrom(B1), WHITE_KNIGHT.addTo(C3));
+		board.process(BLACK_KNIGHT.removeFrom(B8), BLACK_KNIGHT.addTo(C6));
+		int whiteKnightMove = EncodedMoves.move(WHITE_KNIGHT, C3.boardIndex(), B1.boardIndex());
+		board.makeMove(whiteKnightMove);
+
+		Board copy = new Board();
+		copy.copyFrom(board);
+
+		assertThat(copy.toString()).isEqualTo(board.toString());
+		assertThat(copy.getBoardHash()).isEqualTo(board.getBoardHash());
+		assertThat(copy.getPawnHash()).isEqualTo(board.getPawnHash());
+		assertThat(copy.lastMove()).isSameAs(board.lastMove());
+		assertThat(copy.nrMadeMoves()).isEqualTo(1);
+
+		int blackKnightMove = EncodedMoves.move(BLACK_KNIGHT, C6.boardIndex(), B8.boardIndex());
+		copy.makeMove(blackKnightMove);
+		assertThat(copy.getNumberOfRepetitionsOfCurrentPosition()).isEqualTo(2);
+		copy.unmakeMove(blackKnightMove);
+		copy.unmakeMove(whiteKnightMove);
+
+		copy.process(board.lastMove().getPrecedingMove());
+		assertThat(copy.pieceAt(C6)).isNull();
+		assertThat(copy.pieceAt(B8)).isEqualTo(BLACK_KNIGHT);
+		assertThat(board.pieceAt(C3)).isNull();
+	}
+
 	@Test
 	void singleWhitePawnIsPassedPawn() {
 		board.process(new Move(BLACK, WHITE_PAWN.addTo(E4)));
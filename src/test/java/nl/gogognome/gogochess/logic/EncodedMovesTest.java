@@ -0,0 +1,78 @@
+package nl.gogognome.gogochess.logic;
+
+import static nl.gogognome.gogochess.logic.Player.*;
+import static nl.gogognome.gogochess.logic.Squares.*;
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+class EncodedMovesTest {
+
+	private final Move initialMove = new Move(BLACK, WHITE_KING.addTo(E1), BLACK_KING.addTo(E8));
+
+	@Test
+	void encodeAndDecodeNormalMove() {
+		assertEncodedAndDecodedMoveEqualsMove(new Move(initialMove, WHITE_KNIGHT.removeFrom(B1), WHITE_KNIGHT.addTo(C3)));
+	}
+
+	@Test
+	void encodeAndDecodeCapture() {
+		int move = assertEncodedAndDecodedMoveEqualsMove(new Move(initialMove, WHITE_QUEEN.removeFrom(D1), BLACK_ROOK.removeFrom(D8), WHITE_QUEEN.addTo(D8)));
+
+		assertThat(EncodedMoves.isCapture(move)).isTrue();
+		assertThat(EncodedMoves.capturedPlayerPiece(move)).isEqualTo(BLACK_ROOK);
+		assertThat(EncodedMoves.capturedSquare(move)).isEqualTo(D8.boardIndex());
+	}
+
+	@Test
+	void encodeAndDecodeEnPassantCapture() {
+		int move = assertEncodedAndDecodedMoveEqualsMove(new Move(initialMove, WHITE_PAWN.removeFrom(E5), BLACK_PAWN.removeFrom(D5), WHITE_PAWN.addTo(D6)));
+
+		assertThat(EncodedMoves.isEnPassantCapture(move)).isTrue();
+		assertThat(EncodedMoves.capturedSquare(move)).isEqualTo(D5.boardIndex());
+	}
+
+	@Test
+	void nullMoveHasPlayerButIsNoRegularMove() {
+		int move = EncodedMoves.nullMove(BLACK);
+
+		assertThat(EncodedMoves.isNullMove(move)).isTrue();
+		assertThat(EncodedMoves.player(move)).isEqualTo(BLACK);
+		assertThat(EncodedMoves.isCapture(move)).isFalse();
+		assertThat(move).isNotEqualTo(EncodedMoves.NO_MOVE);
+	}
+
+	@Test
+	void encodeAndDecodePromotionWithCapture() {
+		int move = assertEncodedAndDecodedMoveEqualsMove(new Move(initialMove, WHITE_PAWN.removeFrom(G7), BLACK_KNIGHT.removeFrom(H8), WHITE_QUEEN.addTo(H8)));
+
+		assertThat(EncodedMoves.promotedPlayerPiece(move)).isEqualTo(WHITE_QUEEN);
+		assertThat(EncodedMoves.playerPieceAfterMove(move)).isEqualTo(WHITE_QUEEN);
+	}
+
+	@Test
+	void encodeAndDecodeCastling() {
+		Move move = new Move(initialMove, WHITE_KING.removeFrom(E1), WHITE_ROOK.removeFrom(A1), WHITE_KING.addTo(C1), WHITE_ROOK.addTo(D1));
+		int encodedMove = assertEncodedAndDecodedMoveEqualsMove(move);
+
+		assertThat(EncodedMoves.isCastling(encodedMove)).isTrue();
+		assertThat(EncodedMoves.castlingRookFrom(encodedMove)).isEqualTo(A1.boardIndex());
+		assertThat(EncodedMoves.castlingRookTo(encodedMove)).isEqualTo(D1.boardIndex());
+	}
+
+	@Test
+	void doublePawnPushIsRecognized() {
+		int move = EncodedMoves.encode(new Move(initialMove, WHITE_PAWN.removeFrom(E2), WHITE_PAWN.addTo(E4)));
+
+		assertThat(EncodedMoves.isDoublePawnPush(move)).isTrue();
+	}
+
+	private int assertEncodedAndDecodedMoveEqualsMove(Move move) {
+		int encodedMove = EncodedMoves.encode(move);
+		Move decodedMove = EncodedMoves.toMove(initialMove, encodedMove);
+
+		assertThat(decodedMove.getBoardMutations()).containsExactlyElementsOf(move.getBoardMutations());
+		assertThat(EncodedMoves.player(encodedMove)).isEqualTo(move.getPlayer());
+		return encodedMove;
+	}
+}
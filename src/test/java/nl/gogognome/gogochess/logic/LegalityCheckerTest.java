@@ -0,0 +1,66 @@
+package nl.gogognome.gogochess.logic;
+
+import static nl.gogognome.gogochess.logic.Player.*;
+import static nl.gogognome.gogochess.logic.Squares.*;
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import nl.gogognome.gogochess.logic.piece.*;
+
+class LegalityCheckerTest {
+
+	private final Board board = new Board();
+	private final LegalityChecker legalityChecker = new LegalityChecker();
+
+	@Test
+	void pinnedPieceCanOnlyMoveAlongPin() {
+		board.process(new Move(BLACK, WHITE_KING.addTo(E1), WHITE_ROOK.addTo(E2), BLACK_ROOK.addTo(E8), BLACK_KING.addTo(A8)));
+		legalityChecker.init(board, WHITE);
+
+		assertThat(legalityChecker.isInCheck()).isFalse();
+		assertThat(legalityChecker.isLegal(move(WHITE_ROOK, E2, E5))).isTrue();
+		assertThat(legalityChecker.isLegal(capture(WHITE_ROOK, E2, E8, BLACK_ROOK))).isTrue();
+		assertThat(legalityChecker.isLegal(move(WHITE_ROOK, E2, D2))).isFalse();
+	}
+
+	@Test
+	void inCheck_onlyMovesThatBlockOrCaptureCheckingPieceOrMoveKingAreLegal() {
+		board.process(new Move(BLACK, WHITE_KING.addTo(E1), WHITE_ROOK.addTo(A4), BLACK_ROOK.addTo(E8), BLACK_KING.addTo(A8)));
+		legalityChecker.init(board, WHITE);
+
+		assertThat(legalityChecker.isInCheck()).isTrue();
+		assertThat(legalityChecker.isLegal(move(WHITE_ROOK, A4, E4))).isTrue();
+		assertThat(legalityChecker.isLegal(move(WHITE_ROOK, A4, A5))).isFalse();
+		assertThat(legalityChecker.isLegal(move(WHITE_KING, E1, D1))).isTrue();
+		assertThat(legalityChecker.isLegal(move(WHITE_KING, E1, E2))).isFalse();
+	}
+
+	@Test
+	void doubleCheck_onlyKingMovesAreLegal() {
+		board.process(new Move(BLACK, WHITE_KING.addTo(E1), WHITE_ROOK.addTo(A4), BLACK_ROOK.addTo(E8), BLACK_KNIGHT.addTo(D3), BLACK_KING.addTo(A8)));
+		legalityChecker.init(board, WHITE);
+
+		assertThat(legalityChecker.isLegal(move(WHITE_ROOK, A4, E4))).isFalse();
+		assertThat(legalityChecker.isLegal(move(WHITE_KING, E1, D1))).isTrue();
+	}
+
+	@Test
+	void enPassantCaptureRevealingAttackOnKingIsIllegal() {
+		Move initialMove = new Move(WHITE, WHITE_KING.addTo(A5), WHITE_PAWN.addTo(B5), BLACK_PAWN.addTo(C7), BLACK_ROOK.addTo(H5), BLACK_KING.addTo(H8));
+		Move doublePawnPush = new Move(initialMove, BLACK_PAWN.removeFrom(C7), BLACK_PAWN.addTo(C5));
+		board.process(doublePawnPush);
+		legalityChecker.init(board, WHITE);
+
+		int enPassantCapture = EncodedMoves.enPassantCapture(WHITE_PAWN, B5.boardIndex(), C6.boardIndex(), BLACK_PAWN);
+		assertThat(legalityChecker.isLegal(enPassantCapture)).isFalse();
+		assertThat(legalityChecker.isLegal(move(WHITE_PAWN, B5, B6))).isTrue();
+	}
+
+	private int move(PlayerPiece playerPiece, Square from, Square to) {
+		return EncodedMoves.move(playerPiece, from.boardIndex(), to.boardIndex());
+	}
+
+	private int capture(PlayerPiece playerPiece, Square from, Square to, PlayerPiece capturedPiece) {
+		return EncodedMoves.capture(playerPiece, from.boardIndex(), to.boardIndex(), capturedPiece);
+	}
+}
@@ -0,0 +1,35 @@
+package nl.gogognome.gogochess.logic;
+
+import static nl.gogognome.gogochess.logic.Bitboards.*;
+import static org.assertj.core.api.Assertions.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+class MagicBitboardsTest {
+
+	private final Random random = new Random(42);
+
+	@Test
+	void rookAttacksMatchRayAttacksForRandomOccupancies() {
+		for (int squareIndex=0; squareIndex<64; squareIndex++) {
+			for (int i=0; i<100; i++) {
+				long occupied = random.nextLong() & random.nextLong();
+				long expectedAttacks = rayAttacks(EAST, squareIndex, occupied) | rayAttacks(WEST, squareIndex, occupied)
+						| rayAttacks(NORTH, squareIndex, occupied) | rayAttacks(SOUTH, squareIndex, occupied);
+				assertThat(MagicBitboards.rookAttacks(squareIndex, occupied)).isEqualTo(expectedAttacks);
+			}
+		}
+	}
+
+	@Test
+	void bishopAttacksMatchRayAttacksForRandomOccupancies() {
+		for (int squareIndex=0; squareIndex<64; squareIndex++) {
+			for (int i=0; i<100; i++) {
+				long occupied = random.nextLong() & random.nextLong();
+				long expectedAttacks = rayAttacks(NORTH_EAST, squareIndex, occupied) | rayAttacks(SOUTH_EAST, squareIndex, occupied)
+						| rayAttacks(NORTH_WEST, squareIndex, occupied) | rayAttacks(SOUTH_WEST, squareIndex, occupied);
+				assertThat(MagicBitboards.bishopAttacks(squareIndex, occupied)).isEqualTo(expectedAttacks);
+			}
+		}
+	}
+}
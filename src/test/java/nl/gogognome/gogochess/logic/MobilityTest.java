@@ -0,0 +1,74 @@
+package nl.gogognome.gogochess.logic;
+
+import static nl.gogognome.gogochess.logic.Player.*;
+import static nl.gogognome.gogochess.logic.Squares.*;
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+class MobilityTest {
+
+	private final Board board = new Board();
+
+	@Test
+	void initialPositionHasTwentyMovesPerPlayer() {
+		board.initBoard();
+
+		assertThat(Mobility.count(board, WHITE)).isEqualTo(20);
+		assertThat(Mobility.count(board, BLACK)).isEqualTo(20);
+	}
+
+	@Test
+	void countEqualsNumberOfValidMovesWhenNoPieceIsPinned() {
+		board.process(new Move(BLACK,
+				WHITE_KING.addTo(G1),
+				WHITE_QUEEN.addTo(D4),
+				WHITE_KNIGHT.addTo(C3),
+				WHITE_PAWN.addTo(B7),
+				WHITE_PAWN.addTo(E5),
+				BLACK_KING.addTo(H8),
+				BLACK_ROOK.addTo(A8),
+				BLACK_BISHOP.addTo(F8),
+				BLACK_PAWN.addTo(D5)));
+
+		assertThat(Mobility.count(board, WHITE)).isEqualTo(WHITE.validMoves(board, new int[EncodedMoves.MAX_NR_MOVES], 0));
+	}
+
+	@Test
+	void promotionsCountAsFourMovesAndEnPassantCaptureIsCounted() {
+		board.process(new Move(WHITE,
+				WHITE_KING.addTo(A1),
+				WHITE_PAWN.addTo(E5),
+				BLACK_KING.addTo(H8),
+				BLACK_PAWN.addTo(C2),
+				BLACK_PAWN.addTo(D7)));
+		board.process(BLACK_PAWN.removeFrom(D7), BLACK_PAWN.addTo(D5));
+
+		assertThat(Mobility.count(board, WHITE)).isEqualTo(2 + 2);
+		assertThat(Mobility.count(board, BLACK)).isEqualTo(3 + 4 + 1);
+	}
+
+	@Test
+	void ownDoublePawnPushDoesNotCountAsEnPassantCapture() {
+		board.process(new Move(BLACK,
+				WHITE_KING.addTo(A1),
+				WHITE_PAWN.addTo(D4),
+				WHITE_PAWN.addTo(E2),
+				BLACK_KING.addTo(H8)));
+		board.process(WHITE_PAWN.removeFrom(E2), WHITE_PAWN.addTo(E4));
+
+		assertThat(Mobility.count(board, WHITE)).isEqualTo(3 + 1 + 1);
+	}
+
+	@Test
+	void countSafeLeavesOutSquaresAttackedByOpponentPawns() {
+		board.process(new Move(BLACK,
+				WHITE_KING.addTo(A1),
+				WHITE_KNIGHT.addTo(D4),
+				BLACK_KING.addTo(H8),
+				BLACK_PAWN.addTo(D7)));
+
+		assertThat(Mobility.count(board, WHITE)).isEqualTo(3 + 8);
+		assertThat(Mobility.countSafe(board, WHITE)).isEqualTo(3 + 6);
+	}
+}
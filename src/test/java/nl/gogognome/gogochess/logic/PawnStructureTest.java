@@ -0,0 +1,64 @@
+package nl.gogognome.gogochess.logic;
+
+import static nl.gogognome.gogochess.logic.Bitboards.*;
+import static nl.gogognome.gogochess.logic.Player.*;
+import static nl.gogognome.gogochess.logic.Squares.*;
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+class PawnStructureTest {
+
+	private final Board board = new Board();
+
+	@BeforeEach
+	void initBoard() {
+		board.process(new Move(BLACK,
+				WHITE_KING.addTo(E1),
+				WHITE_PAWN.addTo(A2),
+				WHITE_PAWN.addTo(C3),
+				WHITE_PAWN.addTo(C4),
+				WHITE_PAWN.addTo(H5),
+				BLACK_KING.addTo(E8),
+				BLACK_PAWN.addTo(B7),
+				BLACK_PAWN.addTo(G7)));
+	}
+
+	@Test
+	void passedPawnsHaveNoOpposingPawnsInFront() {
+		PawnStructure pawnStructure = board.pawnStructure();
+
+		assertThat(pawnStructure.passedPawns(WHITE)).isEqualTo(0L);
+		assertThat(pawnStructure.passedPawns(BLACK)).isEqualTo(0L);
+
+		board.process(WHITE_PAWN.removeFrom(H5), WHITE_PAWN.addTo(H6));
+		board.process(BLACK_PAWN.removeFrom(G7), BLACK_PAWN.addTo(G6));
+		assertThat(board.pawnStructure().passedPawns(WHITE)).isEqualTo(bitOf(H6));
+		assertThat(board.pawnStructure().passedPawns(BLACK)).isEqualTo(bitOf(G6));
+	}
+
+	@Test
+	void isolatedAndDoubledPawns() {
+		PawnStructure pawnStructure = board.pawnStructure();
+
+		assertThat(pawnStructure.isolatedPawns(WHITE)).isEqualTo(bitOf(A2) | bitOf(C3) | bitOf(C4) | bitOf(H5));
+		assertThat(pawnStructure.doubledPawns(WHITE)).isEqualTo(bitOf(C3) | bitOf(C4));
+		assertThat(pawnStructure.isolatedPawns(BLACK)).isEqualTo(bitOf(B7) | bitOf(G7));
+		assertThat(pawnStructure.doubledPawns(BLACK)).isEqualTo(0L);
+	}
+
+	@Test
+	void pawnStructureIsFoundInPawnHashTableWhenOnlyOtherPiecesMoved() {
+		PawnHashTable pawnHashTable = new PawnHashTable();
+		PawnStructure pawnStructure = pawnHashTable.get(board);
+
+		board.process(WHITE_KING.removeFrom(E1), WHITE_KING.addTo(E2));
+		assertThat(pawnHashTable.get(board)).isSameAs(pawnStructure);
+		assertThat(pawnStructure.getPawnHash()).isEqualTo(board.getPawnHash());
+		assertThat(pawnStructure.doubledPawns(WHITE)).isEqualTo(bitOf(C3) | bitOf(C4));
+
+		board.process(BLACK_PAWN.removeFrom(B7), BLACK_PAWN.addTo(B6));
+		assertThat(pawnHashTable.get(board).getPawnHash()).isEqualTo(board.getPawnHash());
+		assertThat(pawnHashTable.get(board).isolatedPawns(BLACK)).isEqualTo(bitOf(B6) | bitOf(G7));
+	}
+}
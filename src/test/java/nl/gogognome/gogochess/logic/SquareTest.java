@@ -7,24 +7,24 @@ class SquareTest {
 
 	@Test
 	 void createSquareWithInvalidBoardIndex() {
-		assertThrows(IllegalArgumentException.class, () -> new Square(-1));
-		assertThrows(IllegalArgumentException.class, () -> new Square(64));
+		assertThrows(IllegalArgumentException.class, () -> Square.fromBoardIndex(-1));
+		assertThrows(IllegalArgumentException.class, () -> Square.fromBoardIndex(64));
 	}
 
 	@Test
 	void createSquareWithValidBoardIndex() {
-		assertEquals(new Square("a1"), new Square(0));
-		assertEquals(new Square("a2"), new Square(1));
-		assertEquals(new Square("a8"), new Square(7));
-		assertEquals(new Square("b1"), new Square(8));
-		assertEquals(new Square("h8"), new Square(63));
+		assertEquals(Square.fromString("a1"), Square.fromBoardIndex(0));
+		assertEquals(Square.fromString("a2"), Square.fromBoardIndex(1));
+		assertEquals(Square.fromString("a8"), Square.fromBoardIndex(7));
+		assertEquals(Square.fromString("b1"), Square.fromBoardIndex(8));
+		assertEquals(Square.fromString("h8"), Square.fromBoardIndex(63));
 	}
 
 	@Test
 	void createWithValidString() {
-		assertEquals("a1", new Square("a1").toString());
-		assertEquals("c6", new Square("c6").toString());
-		assertEquals("h7", new Square("h7").toString());
+		assertEquals("a1", Square.fromString("a1").toString());
+		assertEquals("c6", Square.fromString("c6").toString());
+		assertEquals("h7", Square.fromString("h7").toString());
 	}
 
 	@Test
@@ -39,7 +39,7 @@ class SquareTest {
 	}
 
 	private void assertInvalidSquare(String square) {
-		assertThrows(IllegalArgumentException.class, () -> new Square(square));
+		assertThrows(IllegalArgumentException.class, () -> Square.fromString(square));
 	}
 
 	@Test
@@ -52,7 +52,7 @@ class SquareTest {
 	}
 
 	private void assertInvalidRowOrColumn(int file, int rank) {
-		assertThrows(IllegalArgumentException.class, () -> new Square(file, rank));
+		assertThrows(IllegalArgumentException.class, () -> Square.fromFileAndRank(file, rank));
 	}
 
 	@Test
@@ -66,21 +66,21 @@ class SquareTest {
 	}
 
 	private void assertToString(int file, int rank, String expectedValue) {
-		assertEquals(expectedValue, new Square(file, rank).toString());
+		assertEquals(expectedValue, Square.fromFileAndRank(file, rank).toString());
 	}
 
 	@Test
 	void fileReturnsCorrectValue() {
-		assertEquals(0, new Square(0, 5).file());
-		assertEquals(3, new Square(3, 1).file());
-		assertEquals(7, new Square(7, 5).file());
+		assertEquals(0, Square.fromFileAndRank(0, 5).file());
+		assertEquals(3, Square.fromFileAndRank(3, 1).file());
+		assertEquals(7, Square.fromFileAndRank(7, 5).file());
 	}
 
 	@Test
 	void rankReturnsCorrectValue() {
-		assertEquals(0, new Square(5, 0).rank());
-		assertEquals(3, new Square(1, 3).rank());
-		assertEquals(7, new Square(5, 7).rank());
+		assertEquals(0, Square.fromFileAndRank(5, 0).rank());
+		assertEquals(3, Square.fromFileAndRank(1, 3).rank());
+		assertEquals(7, Square.fromFileAndRank(5, 7).rank());
 	}
 
 	@Test
@@ -94,14 +94,14 @@ class SquareTest {
 	}
 
 	private void assertBoardIndex(String square, int expectedIndex) {
-		assertEquals(expectedIndex, new Square(square).boardIndex());
+		assertEquals(expectedIndex, Square.fromString(square).boardIndex());
 	}
 
 	@Test
 	void testEqualsAndHashCode() {
-		Square A1_1 = new Square("a1");
-		Square A1_2 = new Square("a1");
-		Square A2 = new Square("a2");
+		Square A1_1 = Square.fromString("a1");
+		Square A1_2 = Square.fromString("a1");
+		Square A2 = Square.fromString("a2");
 
 		assertEquals(A1_1, A1_1);
 		assertEquals(A1_1, A1_2);
@@ -115,4 +115,12 @@ class SquareTest {
 		assertEquals(A1_1.hashCode(), A1_2.hashCode());
 		assertNotEquals(A1_1.hashCode(), A2.hashCode());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void squaresAreFlyweights() {
+		assertSame(Square.fromString("c5"), Square.fromFileAndRank(2, 4));
+		assertSame(Square.fromString("c5"), Square.fromBoardIndex(20));
+		assertSame(Squares.C5, Square.fromString("b4").addFilesAndRanks(1, 1));
+		assertSame(Squares.C5, Square.fromString("c4").addRanks(1));
+	}
+}
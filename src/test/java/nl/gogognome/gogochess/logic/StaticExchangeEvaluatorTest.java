@@ -0,0 +1,100 @@
+package nl.gogognome.gogochess.logic;
+
+import static nl.gogognome.gogochess.logic.Player.*;
+import static nl.gogognome.gogochess.logic.Squares.*;
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+class StaticExchangeEvaluatorTest {
+
+	private final Board board = new Board();
+	private final StaticExchangeEvaluator staticExchangeEvaluator = new StaticExchangeEvaluator();
+
+	@Test
+	void captureOfUndefendedPiece_gainsValueOfPiece() {
+		board.process(new Move(BLACK,
+				WHITE_KING.addTo(A1),
+				WHITE_PAWN.addTo(D4),
+				BLACK_KING.addTo(H8),
+				BLACK_KNIGHT.addTo(E5)));
+
+		int capture = EncodedMoves.capture(WHITE_PAWN, D4.boardIndex(), E5.boardIndex(), BLACK_KNIGHT);
+
+		assertThat(staticExchangeEvaluator.evaluate(board, capture)).isEqualTo(330);
+	}
+
+	@Test
+	void captureOfPawnDefendedByPawn_losesQueen() {
+		board.process(new Move(BLACK,
+				WHITE_KING.addTo(A1),
+				WHITE_QUEEN.addTo(D1),
+				BLACK_KING.addTo(H8),
+				BLACK_PAWN.addTo(D5),
+				BLACK_PAWN.addTo(E6)));
+
+		int capture = EncodedMoves.capture(WHITE_QUEEN, D1.boardIndex(), D5.boardIndex(), BLACK_PAWN);
+
+		assertThat(staticExchangeEvaluator.evaluate(board, capture)).isEqualTo(100 - 900);
+	}
+
+	@Test
+	void rookBehindCapturingRook_takesPartInExchange() {
+		board.process(new Move(BLACK,
+				WHITE_KING.addTo(A1),
+				WHITE_ROOK.addTo(D1),
+				WHITE_ROOK.addTo(D2),
+				BLACK_KING.addTo(H8),
+				BLACK_ROOK.addTo(D5),
+				BLACK_ROOK.addTo(D8)));
+
+		int capture = EncodedMoves.capture(WHITE_ROOK, D2.boardIndex(), D5.boardIndex(), BLACK_ROOK);
+
+		assertThat(staticExchangeEvaluator.evaluate(board, capture)).isEqualTo(500);
+	}
+
+	@Test
+	void defenderStopsRecapturingWhenThatLosesMaterial() {
+		board.process(new Move(BLACK,
+				WHITE_KING.addTo(A1),
+				WHITE_KNIGHT.addTo(C3),
+				WHITE_PAWN.addTo(E4),
+				BLACK_KING.addTo(H8),
+				BLACK_PAWN.addTo(D5),
+				BLACK_QUEEN.addTo(D8)));
+
+		int capture = EncodedMoves.capture(WHITE_KNIGHT, C3.boardIndex(), D5.boardIndex(), BLACK_PAWN);
+
+		assertThat(staticExchangeEvaluator.evaluate(board, capture)).isEqualTo(100);
+	}
+
+	@Test
+	void captureByKingOfDefendedPiece_isNotPossible() {
+		board.process(new Move(BLACK,
+				WHITE_KING.addTo(E4),
+				BLACK_KING.addTo(H8),
+				BLACK_PAWN.addTo(E5),
+				BLACK_PAWN.addTo(F6)));
+
+		int capture = EncodedMoves.capture(WHITE_KING, E4.boardIndex(), E5.boardIndex(), BLACK_PAWN);
+
+		assertThat(staticExchangeEvaluator.evaluate(board, capture)).isNegative();
+	}
+
+	@Test
+	void enPassantCapture_removesCapturedPawnFromItsOwnSquare() {
+		Move setup = new Move(WHITE,
+				WHITE_KING.addTo(A1),
+				WHITE_PAWN.addTo(E5),
+				WHITE_ROOK.addTo(D1),
+				BLACK_KING.addTo(H8),
+				BLACK_PAWN.addTo(D7),
+				BLACK_ROOK.addTo(D8));
+		board.process(new Move(setup, BLACK_PAWN.removeFrom(D7), BLACK_PAWN.addTo(D5)));
+
+		int capture = EncodedMoves.enPassantCapture(WHITE_PAWN, E5.boardIndex(), D6.boardIndex(), BLACK_PAWN);
+
+		// the black rook does not recapture on d6, because the white rook is no longer blocked by the captured pawn on d5
+		assertThat(staticExchangeEvaluator.evaluate(board, capture)).isEqualTo(100);
+	}
+}
@@ -27,6 +27,25 @@ class CompositeBoardEvaluatorTest {
 				new ConstEvaluator(forWhite(10, "")),
 				new ConstEvaluator(forWhite(20, "")));
 		assertEquals(forWhite(30, ""), compositeBoardEvaluator.value(board));
+		assertEquals(30, compositeBoardEvaluator.score(board));
+	}
+
+	@Test
+	void scoreEqualsCombinedScoreOfValue() {
+		BoardEvaluator boardEvaluator = Guice.createInjector(new Module()).getInstance(BoardEvaluator.class);
+		board = new Board();
+		board.initBoard();
+		board.process(new Move(board.lastMove(), WHITE_PAWN.removeFrom(E2), WHITE_PAWN.addTo(E4)));
+		assertEquals(boardEvaluator.value(board).getCombinedScore(), boardEvaluator.score(board));
+
+		board = new Board();
+		board.process(new Move(BLACK,
+				WHITE_KING.addTo(F6),
+				WHITE_QUEEN.addTo(B2),
+				BLACK_KING.addTo(H8)));
+		board.process(new Move(board.lastMove(), WHITE_QUEEN.removeFrom(B2), WHITE_QUEEN.addTo(G7)));
+		assertTrue(board.isCheckMate());
+		assertEquals(boardEvaluator.value(board).getCombinedScore(), boardEvaluator.score(board));
 	}
 
 	@Test
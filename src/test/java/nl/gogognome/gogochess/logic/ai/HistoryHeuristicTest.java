@@ -0,0 +1,50 @@
+package nl.gogognome.gogochess.logic.ai;
+
+import static nl.gogognome.gogochess.logic.EncodedMoves.*;
+import static nl.gogognome.gogochess.logic.Squares.*;
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+class HistoryHeuristicTest {
+
+	private final HistoryHeuristic historyHeuristic = new HistoryHeuristic();
+
+	private final int previousMove = move(BLACK_PAWN, E7.boardIndex(), E5.boardIndex());
+	private final int quietMove = move(WHITE_KNIGHT, G1.boardIndex(), F3.boardIndex());
+	private final int capture = capture(WHITE_KNIGHT, G1.boardIndex(), F3.boardIndex(), BLACK_PAWN);
+
+	@Test
+	void cutOffByQuietMove_increasesHistoryValueBySquareOfRemainingDepth() {
+		historyHeuristic.onCutOff(quietMove, previousMove, 3);
+		historyHeuristic.onCutOff(quietMove, previousMove, 2);
+
+		assertThat(historyHeuristic.historyValue(quietMove)).isEqualTo(9 + 4);
+	}
+
+	@Test
+	void cutOffByQuietMove_moveBecomesCounterMoveOfPreviousMove() {
+		historyHeuristic.onCutOff(quietMove, previousMove, 1);
+
+		assertThat(historyHeuristic.counterMove(previousMove)).isEqualTo(quietMove);
+		assertThat(historyHeuristic.counterMove(move(BLACK_PAWN, D7.boardIndex(), D5.boardIndex()))).isEqualTo(NO_MOVE);
+	}
+
+	@Test
+	void cutOffByCapture_doesNotChangeTables() {
+		historyHeuristic.onCutOff(capture, previousMove, 3);
+
+		assertThat(historyHeuristic.historyValue(quietMove)).isZero();
+		assertThat(historyHeuristic.counterMove(previousMove)).isEqualTo(NO_MOVE);
+	}
+
+	@Test
+	void age_halvesHistoryValues() {
+		historyHeuristic.onCutOff(quietMove, previousMove, 3);
+
+		historyHeuristic.age();
+
+		assertThat(historyHeuristic.historyValue(quietMove)).isEqualTo(4);
+		assertThat(historyHeuristic.counterMove(previousMove)).isEqualTo(quietMove);
+	}
+}
@@ -1,12 +1,10 @@
 package nl.gogognome.gogochess.logic.ai;
 
-import static java.util.Arrays.*;
-import static java.util.Collections.*;
+import static nl.gogognome.gogochess.logic.EncodedMoves.*;
 import static nl.gogognome.gogochess.logic.Player.*;
 import static nl.gogognome.gogochess.logic.Squares.*;
 import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
 import static org.assertj.core.api.Assertions.*;
-import java.util.*;
 import org.junit.jupiter.api.*;
 import nl.gogognome.gogochess.logic.*;
 
@@ -14,70 +12,80 @@ class KillerHeuristicTest {
 
 	private KillerHeuristic killerHeuristic = new KillerHeuristic();
 
+	private final int kingD1E1 = encode(new Move(WHITE, WHITE_KING.removeFrom(D1), WHITE_KING.addTo(E1)));
+	private final int pawnD2KingD4 = encode(new Move(WHITE, WHITE_PAWN.removeFrom(D2), WHITE_KING.addTo(D4)));
+
 	@Test
 	void zeroMoves_putKillerMoveFirstDoesNotModifyList() {
-		List<Move> moves = emptyList();
-		killerHeuristic.putKillerMoveFirst(moves);
+		killerHeuristic.markAsKiller(kingD1E1, 0);
+
+		int[] moves = new int[0];
+		killerHeuristic.putKillerMovesFirst(moves, 0, 0, 0);
 		assertThat(moves).isEmpty();
 	}
 
 	@Test
 	void addToLevelZero_movesContainKillerHeuristicAsFirstMove_putKillerMoveFirstReturnsMovesUnmodified() {
-		killerHeuristic.markAsKiller(new Move(WHITE, WHITE_KING.removeFrom(D1), WHITE_KING.addTo(E1)));
+		killerHeuristic.markAsKiller(kingD1E1, 0);
 
-		List<Move> moves = asList(
-				new Move(WHITE, WHITE_KING.removeFrom(D1), WHITE_KING.addTo(E1)),
-				new Move(WHITE, WHITE_PAWN.removeFrom(D2), WHITE_KING.addTo(D4)));
-		killerHeuristic.putKillerMoveFirst(moves);
+		int[] moves = new int[] { kingD1E1, pawnD2KingD4 };
+		killerHeuristic.putKillerMovesFirst(moves, 0, moves.length, 0);
 
-		assertThat(moves).extracting(move -> move.getBoardMutations())
-				.containsExactly(
-						asList(WHITE_KING.removeFrom(D1), WHITE_KING.addTo(E1)),
-						asList(WHITE_PAWN.removeFrom(D2), WHITE_KING.addTo(D4)));
+		assertThat(moves).containsExactly(kingD1E1, pawnD2KingD4);
 	}
 
 	@Test
 	void addToLevelZero_movesContainKillerHeuristicAsSecondMove_putKillerMoveFirstPutsKillerMoveFirst() {
-		killerHeuristic.markAsKiller(new Move(WHITE, WHITE_KING.removeFrom(D1), WHITE_KING.addTo(E1)));
+		killerHeuristic.markAsKiller(kingD1E1, 0);
 
-		List<Move> moves = asList(
-				new Move(WHITE, WHITE_PAWN.removeFrom(D2), WHITE_KING.addTo(D4)),
-				new Move(WHITE, WHITE_KING.removeFrom(D1), WHITE_KING.addTo(E1)));
-		killerHeuristic.putKillerMoveFirst(moves);
+		int[] moves = new int[] { pawnD2KingD4, kingD1E1 };
+		killerHeuristic.putKillerMovesFirst(moves, 0, moves.length, 0);
 
-		assertThat(moves).extracting(move -> move.getBoardMutations())
-				.containsExactly(
-						asList(WHITE_KING.removeFrom(D1), WHITE_KING.addTo(E1)),
-						asList(WHITE_PAWN.removeFrom(D2), WHITE_KING.addTo(D4)));
+		assertThat(moves).containsExactly(kingD1E1, pawnD2KingD4);
 	}
 
 	@Test
 	void noKillerMoveSpecified_putKillerMoveDoesNotChangeMoves() {
-		List<Move> moves = asList(
-				new Move(WHITE, WHITE_PAWN.removeFrom(D2), WHITE_KING.addTo(D4)),
-				new Move(WHITE, WHITE_KING.removeFrom(D1), WHITE_KING.addTo(E1)));
-		killerHeuristic.putKillerMoveFirst(moves);
-
-		assertThat(moves).extracting(move -> move.getBoardMutations())
-				.containsExactly(
-						asList(WHITE_PAWN.removeFrom(D2), WHITE_KING.addTo(D4)),
-						asList(WHITE_KING.removeFrom(D1), WHITE_KING.addTo(E1)));
+		int[] moves = new int[] { pawnD2KingD4, kingD1E1 };
+		killerHeuristic.putKillerMovesFirst(moves, 0, moves.length, 0);
+
+		assertThat(moves).containsExactly(pawnD2KingD4, kingD1E1);
 	}
 
 	@Test
 	void addToLevelTwo_movesContainKillerHeuristicAsSecondMove_putKillerMoveFirstPutsKillerMoveFirst() {
-		Move moveLevelZero = new Move(WHITE, WHITE_ROOK.removeFrom(A1), WHITE_ROOK.addTo(B1));
-		Move moveLevelOne = new Move(moveLevelZero, BLACK_BISHOP.removeFrom(B3), BLACK_BISHOP.addTo(D5));
-		killerHeuristic.markAsKiller(new Move(moveLevelOne, WHITE_KING.removeFrom(D1), WHITE_KING.addTo(E1)));
-
-		List<Move> moves = asList(
-				new Move(moveLevelOne, WHITE_PAWN.removeFrom(D2), WHITE_KING.addTo(D4)),
-				new Move(moveLevelOne, WHITE_KING.removeFrom(D1), WHITE_KING.addTo(E1)));
-		killerHeuristic.putKillerMoveFirst(moves);
-
-		assertThat(moves).extracting(move -> move.getBoardMutations())
-				.containsExactly(
-						asList(WHITE_KING.removeFrom(D1), WHITE_KING.addTo(E1)),
-						asList(WHITE_PAWN.removeFrom(D2), WHITE_KING.addTo(D4)));
+		killerHeuristic.markAsKiller(kingD1E1, 2);
+
+		int[] moves = new int[] { pawnD2KingD4, kingD1E1 };
+		killerHeuristic.putKillerMovesFirst(moves, 0, moves.length, 2);
+
+		assertThat(moves).containsExactly(kingD1E1, pawnD2KingD4);
+	}
+
+	@Test
+	void addToLevelTwo_putKillerMoveFirstAtOtherLevelDoesNotChangeMoves() {
+		killerHeuristic.markAsKiller(kingD1E1, 2);
+
+		int[] moves = new int[] { pawnD2KingD4, kingD1E1 };
+		killerHeuristic.putKillerMovesFirst(moves, 0, moves.length, 1);
+
+		assertThat(moves).containsExactly(pawnD2KingD4, kingD1E1);
+	}
+
+	@Test
+	void putKillerMovesFirst_returnsIndexAfterKillerMovesThatArePresent() {
+		killerHeuristic.markAsKiller(kingD1E1, 0);
+		killerHeuristic.markAsKiller(kingD1E1, 0);
+		killerHeuristic.markAsKiller(pawnD2KingD4, 0);
+
+		assertThat(killerHeuristic.putKillerMovesFirst(new int[] { pawnD2KingD4, kingD1E1 }, 0, 2, 0)).isEqualTo(2);
+		assertThat(killerHeuristic.putKillerMovesFirst(new int[] { kingD1E1 }, 0, 1, 0)).isEqualTo(1);
+		assertThat(killerHeuristic.putKillerMovesFirst(new int[] { kingD1E1 }, 0, 1, 1)).isEqualTo(0);
+	}
+
+	@Test
+	void markSameMoveTwice_secondTimeReturnsTrue() {
+		assertThat(killerHeuristic.markAsKiller(kingD1E1, 0)).isFalse();
+		assertThat(killerHeuristic.markAsKiller(kingD1E1, 0)).isTrue();
 	}
-}
\ No newline at end of file
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.*;
 import com.google.inject.*;
 import nl.gogognome.gogochess.juice.Module;
 import nl.gogognome.gogochess.logic.*;
+import nl.gogognome.gogochess.logic.ai.positionalanalysis.*;
 import nl.gogognome.gogochess.logic.movenotation.*;
 
 class MiniMaxAlphaBetaArtificialIntelligenceTest {
@@ -59,6 +60,58 @@ class MiniMaxAlphaBetaArtificialIntelligenceTest {
 				"Qh3xh7+", "Kh8xQh7", "Rf5-h5++");
 	}
 
+	@Test
+	void helperThreads_aiFindsMoveLeadingToCheckMateInTwoMoves() {
+		board.process(new Move(BLACK,
+				WHITE_PAWN.addTo(A2),
+				WHITE_KING.addTo(B1),
+				WHITE_BISHOP.addTo(B3),
+				WHITE_PAWN.addTo(C2),
+				WHITE_ROOK.addTo(F5),
+				WHITE_PAWN.addTo(G2),
+				WHITE_QUEEN.addTo(H3),
+				BLACK_ROOK.addTo(A8),
+				BLACK_PAWN.addTo(B5),
+				BLACK_QUEEN.addTo(B4),
+				BLACK_PAWN.addTo(E5),
+				BLACK_KNIGHT.addTo(G6),
+				BLACK_PAWN.addTo(G7),
+				BLACK_PAWN.addTo(H7),
+				BLACK_KING.addTo(H8)));
+
+		MiniMaxAlphaBetaArtificialIntelligence ai = Guice.createInjector(new Module(3, ParallelSearchMode.LAZY_SMP)).getInstance(MiniMaxAlphaBetaArtificialIntelligence.class);
+		ai.setMaxDepth(3);
+		Move nextMove = ai.nextMove(board, WHITE, new ProgressListener());
+
+		assertThat(moveNotation.format(nextMove)).isEqualTo("Qh3xh7+");
+	}
+
+	@Test
+	void rootSplit_aiFindsMoveLeadingToCheckMateInTwoMoves() {
+		board.process(new Move(BLACK,
+				WHITE_PAWN.addTo(A2),
+				WHITE_KING.addTo(B1),
+				WHITE_BISHOP.addTo(B3),
+				WHITE_PAWN.addTo(C2),
+				WHITE_ROOK.addTo(F5),
+				WHITE_PAWN.addTo(G2),
+				WHITE_QUEEN.addTo(H3),
+				BLACK_ROOK.addTo(A8),
+				BLACK_PAWN.addTo(B5),
+				BLACK_QUEEN.addTo(B4),
+				BLACK_PAWN.addTo(E5),
+				BLACK_KNIGHT.addTo(G6),
+				BLACK_PAWN.addTo(G7),
+				BLACK_PAWN.addTo(H7),
+				BLACK_KING.addTo(H8)));
+
+		MiniMaxAlphaBetaArtificialIntelligence ai = Guice.createInjector(new Module(3, ParallelSearchMode.ROOT_SPLIT)).getInstance(MiniMaxAlphaBetaArtificialIntelligence.class);
+		ai.setMaxDepth(3);
+		Move nextMove = ai.nextMove(board, WHITE, new ProgressListener());
+
+		assertThat(moveNotation.format(nextMove)).isEqualTo("Qh3xh7+");
+	}
+
 	@Test
 	void aiFindsMoveLeadingToCheckMateInThreeMoves() {
 		Move initialMove = new Move(WHITE,
@@ -115,7 +168,24 @@ class MiniMaxAlphaBetaArtificialIntelligenceTest {
 				asList("Rc3-c8", "Kh5-g6", "Rc8-d8", "Kg6-h7", "Rd8-e8", "g5-g6", "Re8-h8++"),
 				asList("Qd4-f2", "Kh5-h6", "Rc3-c7", "Kh6-h5", "Rc7-h7+", "Kh5-g6", "Qf2-f7++"),
 				asList("d3-d2", "Kh5-g6", "Qd4-e5", "Kg6-h7", "Qe5xg5", "Kh7-h8", "Rc3-h3++"),
-				asList("Qd4-f2", "g5-g6", "Rc3-c7", "g6-g7", "Qf2-f5+", "Kh5-h6", "Rc7-c6++"));
+				asList("Qd4-f2", "g5-g6", "Rc3-c7", "g6-g7", "Qf2-f5+", "Kh5-h6", "Rc7-c6++"),
+				asList("Qd4-f2", "Kh5-g6", "Rc3-c6+", "Kg6-h7", "Qf2-a7+", "Kh7-g8", "Rc6-c8++"),
+				asList("Qd4-f2", "Kh5-g4", "Qf2-f3+", "Kg4-h4", "Rc3-c5", "g5-g6", "Rc5-h5++"));
+	}
+
+	@Test
+	void aiMatesLoneKingWithKingAndRook() {
+		board.process(new Move(BLACK,
+				WHITE_KING.addTo(E1),
+				WHITE_ROOK.addTo(H1),
+				BLACK_KING.addTo(E5)));
+
+		ArtificialIntelligence ai = buildAI(4);
+		for (int ply=0; ply<60 && !board.currentPlayer().validMoves(board).isEmpty(); ply++) {
+			board.process(ai.nextMove(board, board.currentPlayer(), new ProgressListener()));
+		}
+
+		assertThat(board.isCheckMate()).isTrue();
 	}
 
 	@Test
@@ -197,6 +267,139 @@ class MiniMaxAlphaBetaArtificialIntelligenceTest {
 				asList("Be4xRd5", "Qf7-c7", "Qc4xQc7", "Bf4xQc7", "Bd5xRg8", "Kh8xBg8"));
 	}
 
+	@Test
+	void iterativeDeepening_bestMovesAreReportedAfterEachIteration() {
+		board.initBoard();
+
+		ArtificialIntelligence ai = buildAI(3);
+		List<List<Move>> reportedBestMoves = new ArrayList<>();
+		Move nextMove = ai.nextMove(board, WHITE, new ProgressListener().withBestMovesConsumer(reportedBestMoves::add));
+
+		assertThat(reportedBestMoves).hasSize(3);
+		assertThat(reportedBestMoves.get(2).get(0)).isSameAs(nextMove);
+	}
+
+	@Test
+	void principalVariationSearch_findsSameMoveWithSameValueAsAlphaBeta() {
+		board.process(new ForsythEdwardsNotation().parse("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3"));
+
+		MiniMaxAlphaBetaArtificialIntelligence alphaBeta = (MiniMaxAlphaBetaArtificialIntelligence) buildAI(3);
+		Move alphaBetaMove = alphaBeta.nextMove(board, WHITE, new ProgressListener());
+		MiniMaxAlphaBetaArtificialIntelligence principalVariationSearch = (MiniMaxAlphaBetaArtificialIntelligence) buildAI(3);
+		principalVariationSearch.setSearchAlgorithm(SearchAlgorithm.PRINCIPAL_VARIATION_SEARCH);
+		Move principalVariationSearchMove = principalVariationSearch.nextMove(board, WHITE, new ProgressListener());
+
+		assertThat(moveNotation.format(principalVariationSearchMove)).isEqualTo(moveNotation.format(alphaBetaMove));
+		assertThat(principalVariationSearchMove.getValue().getCombinedScore()).isEqualTo(alphaBetaMove.getValue().getCombinedScore());
+	}
+
+	@Test
+	void principalVariationSearch_aiFindsMoveLeadingToCheckMateInOneMove() {
+		board.process(new Move(BLACK,
+				WHITE_QUEEN.addTo(G1),
+				WHITE_KING.addTo(F7),
+				BLACK_KING.addTo(H8)));
+
+		MiniMaxAlphaBetaArtificialIntelligence ai = (MiniMaxAlphaBetaArtificialIntelligence) buildAI(2);
+		ai.setSearchAlgorithm(SearchAlgorithm.PRINCIPAL_VARIATION_SEARCH);
+		Move move = ai.nextMove(board, WHITE, new ProgressListener());
+
+		assertThat(move.getStatus()).isEqualTo(CHECK_MATE);
+	}
+
+	@Test
+	void nullMovePruningAndLateMoveReductions_sameMoveIsFoundWithFewerEvaluatedPositions() {
+		board.initBoard();
+
+		Statistics statistics = new Statistics();
+		MiniMaxAlphaBetaArtificialIntelligence ai = buildAI(statistics);
+		ai.setMaxDepth(5);
+		Move nextMove = ai.nextMove(board, WHITE, new ProgressListener());
+		int nrPositionsEvaluated = statistics.getNrPositionsEvaluated();
+
+		Statistics statisticsWithPruning = new Statistics();
+		MiniMaxAlphaBetaArtificialIntelligence aiWithPruning = buildAI(statisticsWithPruning);
+		aiWithPruning.setMaxDepth(5);
+		aiWithPruning.setNullMovePruning(true);
+		aiWithPruning.setLateMoveReductions(true);
+		Move nextMoveWithPruning = aiWithPruning.nextMove(board, WHITE, new ProgressListener());
+
+		assertThat(moveNotation.format(nextMoveWithPruning)).isEqualTo(moveNotation.format(nextMove));
+		assertThat(statisticsWithPruning.getNrPositionsEvaluated()).isLessThan(nrPositionsEvaluated);
+		assertThat(statisticsWithPruning.getNrNullMoveCutOffs(3)).isPositive();
+		assertThat(statisticsWithPruning.getNrLateMoveReductions(3)).isPositive();
+	}
+
+	@Test
+	void nullMovePruningAndLateMoveReductions_aiFindsMoveLeadingToCheckMateInTwoMoves() {
+		board.process(new Move(BLACK,
+				WHITE_PAWN.addTo(A2),
+				WHITE_KING.addTo(B1),
+				WHITE_BISHOP.addTo(B3),
+				WHITE_PAWN.addTo(C2),
+				WHITE_ROOK.addTo(F5),
+				WHITE_PAWN.addTo(G2),
+				WHITE_QUEEN.addTo(H3),
+				BLACK_ROOK.addTo(A8),
+				BLACK_PAWN.addTo(B5),
+				BLACK_QUEEN.addTo(B4),
+				BLACK_PAWN.addTo(E5),
+				BLACK_KNIGHT.addTo(G6),
+				BLACK_PAWN.addTo(G7),
+				BLACK_PAWN.addTo(H7),
+				BLACK_KING.addTo(H8)));
+
+		MiniMaxAlphaBetaArtificialIntelligence ai = buildAI(new Statistics());
+		ai.setMaxDepth(4);
+		ai.setNullMovePruning(true);
+		ai.setLateMoveReductions(true);
+		Move nextMove = ai.nextMove(board, WHITE, new ProgressListener());
+
+		assertThat(moveNotation.format(nextMove)).isEqualTo("Qh3xh7+");
+	}
+
+	@Test
+	void timeControl_aiFindsMoveLeadingToCheckMateInTwoMoves() {
+		board.process(new Move(BLACK,
+				WHITE_PAWN.addTo(A2),
+				WHITE_KING.addTo(B1),
+				WHITE_BISHOP.addTo(B3),
+				WHITE_PAWN.addTo(C2),
+				WHITE_ROOK.addTo(F5),
+				WHITE_PAWN.addTo(G2),
+				WHITE_QUEEN.addTo(H3),
+				BLACK_ROOK.addTo(A8),
+				BLACK_PAWN.addTo(B5),
+				BLACK_QUEEN.addTo(B4),
+				BLACK_PAWN.addTo(E5),
+				BLACK_KNIGHT.addTo(G6),
+				BLACK_PAWN.addTo(G7),
+				BLACK_PAWN.addTo(H7),
+				BLACK_KING.addTo(H8)));
+
+		MiniMaxAlphaBetaArtificialIntelligence ai = buildAI(new Statistics());
+		ai.setMaxDepth(1);
+		ai.setTimeControl(TimeControl.nodes(100_000));
+		Move nextMove = ai.nextMove(board, WHITE, new ProgressListener());
+
+		assertThat(moveNotation.format(nextMove)).isEqualTo("Qh3xh7+");
+	}
+
+	@Test
+	void timeControl_searchThatIsStoppedInTheMiddleOfAnIterationLeavesBoardUnchanged() {
+		board.initBoard();
+		Move initialMove = board.lastMove();
+		long initialHash = board.getBoardHash();
+
+		MiniMaxAlphaBetaArtificialIntelligence ai = buildAI(new Statistics());
+		ai.setTimeControl(TimeControl.nodes(1000));
+		Move nextMove = ai.nextMove(board, WHITE, new ProgressListener());
+
+		assertThat(nextMove.getPrecedingMove()).isSameAs(initialMove);
+		assertThat(board.lastMove()).isSameAs(initialMove);
+		assertThat(board.getBoardHash()).isEqualTo(initialHash);
+	}
+
 	private void assertNextMoves(int maxDepth, Player player, String... expectedMoves) {
 		ArtificialIntelligence ai = buildAI(maxDepth);
 
@@ -251,6 +454,14 @@ class MiniMaxAlphaBetaArtificialIntelligenceTest {
 		return expectedMoves.subList(0, min(actualMoves.size(), expectedMoves.size()));
 	}
 
+	private MiniMaxAlphaBetaArtificialIntelligence buildAI(Statistics statistics) {
+		BoardEvaluator boardEvaluator = Guice.createInjector(new Module()).getInstance(BoardEvaluator.class);
+		KillerHeuristic killerHeuristic = new KillerHeuristic();
+		return new MiniMaxAlphaBetaArtificialIntelligence(boardEvaluator,
+				Guice.createInjector(new Module()).getInstance(PositionalAnalysis.class), new MoveSort(), statistics,
+				new QuiescenceSearch(boardEvaluator, statistics, killerHeuristic), killerHeuristic);
+	}
+
 	private ArtificialIntelligence buildAI(int maxDepth) {
 		MiniMaxAlphaBetaArtificialIntelligence ai = Guice.createInjector(new Module()).getInstance(MiniMaxAlphaBetaArtificialIntelligence.class);
 		ai.setMaxDepth(maxDepth);
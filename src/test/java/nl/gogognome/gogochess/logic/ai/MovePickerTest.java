@@ -0,0 +1,105 @@
+package nl.gogognome.gogochess.logic.ai;
+
+import static nl.gogognome.gogochess.logic.EncodedMoves.*;
+import static nl.gogognome.gogochess.logic.Player.*;
+import static nl.gogognome.gogochess.logic.Squares.*;
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+import static org.assertj.core.api.Assertions.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import nl.gogognome.gogochess.logic.*;
+import nl.gogognome.gogochess.logic.piece.*;
+
+class MovePickerTest {
+
+	private final Board board = new Board();
+	private final KillerHeuristic killerHeuristic = new KillerHeuristic();
+	private final HistoryHeuristic historyHeuristic = new HistoryHeuristic();
+	private final MovePicker movePicker = new MovePicker(killerHeuristic, historyHeuristic, new StaticExchangeEvaluator());
+
+	private final int[] moves = new int[MAX_NR_MOVES];
+	private int nrMoves;
+
+	private final int previousMove = move(BLACK_PAWN, E7, E6);
+	private final int hashMove = move(WHITE_PAWN, H2, H3);
+	private final int goodCapture = capture(WHITE_KNIGHT, C3, B5, BLACK_KNIGHT);
+	private final int killerMove = move(WHITE_PAWN, H2, H4);
+	private final int counterMove = move(WHITE_QUEEN, D1, D2);
+	private final int historyMove = move(WHITE_QUEEN, D1, D3);
+	private final int badCapture = capture(WHITE_KNIGHT, C3, D5, BLACK_PAWN);
+	private final int worseCapture = capture(WHITE_QUEEN, D1, D5, BLACK_PAWN);
+
+	@BeforeEach
+	void initBoard() {
+		board.process(new Move(BLACK,
+				WHITE_KING.addTo(E1),
+				WHITE_QUEEN.addTo(D1),
+				WHITE_KNIGHT.addTo(C3),
+				WHITE_PAWN.addTo(H2),
+				BLACK_KING.addTo(E8),
+				BLACK_KNIGHT.addTo(B5),
+				BLACK_PAWN.addTo(D5),
+				BLACK_PAWN.addTo(E6)));
+		nrMoves = board.currentPlayer().validMoves(board, moves, 0);
+	}
+
+	@Test
+	void movesArePickedInStages() {
+		killerHeuristic.markAsKiller(killerMove, 1);
+		historyHeuristic.onCutOff(counterMove, previousMove, 1);
+		historyHeuristic.onCutOff(historyMove, move(BLACK_KING, E8, F8), 3);
+
+		movePicker.init(board, moves, nrMoves, hashMove, previousMove, 1);
+
+		List<Integer> pickedMoves = pickAllMoves();
+		assertThat(pickedMoves).hasSize(nrMoves);
+		assertThat(pickedMoves.subList(0, 5)).containsExactly(hashMove, goodCapture, killerMove, counterMove, historyMove);
+		assertThat(pickedMoves.subList(nrMoves - 2, nrMoves)).containsExactly(badCapture, worseCapture);
+	}
+
+	@Test
+	void hashMoveThatIsNoValidMove_isIgnored() {
+		int invalidHashMove = move(WHITE_KING, E1, E3);
+
+		movePicker.init(board, moves, nrMoves, invalidHashMove, previousMove, 1);
+
+		List<Integer> pickedMoves = pickAllMoves();
+		assertThat(pickedMoves).hasSize(nrMoves).doesNotContain(invalidHashMove);
+		assertThat(pickedMoves.get(0)).isEqualTo(goodCapture);
+	}
+
+	@Test
+	void onlyQuietMovesAfterKillerMovesAreOrderedByHistory() {
+		killerHeuristic.markAsKiller(killerMove, 1);
+
+		movePicker.init(board, moves, nrMoves, NO_MOVE, previousMove, 1);
+
+		assertThat(movePicker.next()).isEqualTo(goodCapture);
+		assertThat(movePicker.isLastMoveOrderedByHistory()).isFalse();
+		assertThat(movePicker.next()).isEqualTo(killerMove);
+		assertThat(movePicker.isLastMoveOrderedByHistory()).isFalse();
+		assertThat(isQuiet(movePicker.next())).isTrue();
+		assertThat(movePicker.isLastMoveOrderedByHistory()).isTrue();
+	}
+
+	private List<Integer> pickAllMoves() {
+		List<Integer> pickedMoves = new ArrayList<>();
+		for (int move = movePicker.next(); move != NO_MOVE; move = movePicker.next()) {
+			pickedMoves.add(move);
+		}
+		assertThat(movePicker.next()).isEqualTo(NO_MOVE);
+		return pickedMoves;
+	}
+
+	private static boolean isQuiet(int move) {
+		return HistoryHeuristic.isQuiet(move);
+	}
+
+	private static int move(PlayerPiece playerPiece, Square from, Square to) {
+		return EncodedMoves.move(playerPiece, from.boardIndex(), to.boardIndex());
+	}
+
+	private static int capture(PlayerPiece playerPiece, Square from, Square to, PlayerPiece capturedPlayerPiece) {
+		return EncodedMoves.capture(playerPiece, from.boardIndex(), to.boardIndex(), capturedPlayerPiece);
+	}
+}
@@ -43,7 +43,7 @@ class PieceValueEvaluatorTest {
 	private Move buildMovesToAddPieces(PlayerPiece[] playerPieces) {
 		BoardMutation[] mutations = new BoardMutation[playerPieces.length];
 		for (int i=0; i<playerPieces.length; i++) {
-			mutations[i] = new BoardMutation(playerPieces[i], new Square(i % 8, i / 8), ADD);
+			mutations[i] = new BoardMutation(playerPieces[i], Square.fromFileAndRank(i % 8, i / 8), ADD);
 		}
 		return new Move(WHITE, mutations);
 	}
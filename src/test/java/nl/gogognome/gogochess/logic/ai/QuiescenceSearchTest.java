@@ -52,11 +52,37 @@ class QuiescenceSearchTest {
 		assertThat(statistics.getNrPositionsEvaluated()).isEqualTo(3);
 	}
 
+	@Test
+	void cutOffByCapture_captureIsNotMarkedAsKillerMove() {
+		Move initialMove = new Move(BLACK,
+				WHITE_QUEEN.addTo(B1),
+				BLACK_BISHOP.addTo(C2),
+				BLACK_QUEEN.addTo(D3));
+		board.process(initialMove);
+
+		Move move = new Move(initialMove, WHITE_QUEEN.removeFrom(B1), BLACK_BISHOP.removeFrom(C2), WHITE_QUEEN.addTo(C2));
+
+		KillerHeuristic killerHeuristic = new KillerHeuristic();
+		QuiescenceSearch quiescenceSearch = buildQuiecenceSearch(killerHeuristic);
+		quiescenceSearch.search(board, move, -500, MAX_VALUE);
+
+		assertThat(move.getValue().getCombinedScore()).isEqualTo(-500);
+		int capture = EncodedMoves.capture(BLACK_QUEEN, D3.boardIndex(), C2.boardIndex(), WHITE_QUEEN);
+		int[] moves = new int[] { EncodedMoves.NO_MOVE, capture };
+		for (int level=0; level<=move.depthInTree() + 1; level++) {
+			assertThat(killerHeuristic.putKillerMovesFirst(moves, 0, moves.length, level)).isZero();
+		}
+	}
+
 	private QuiescenceSearch buildQuiecenceSearch() {
+		return buildQuiecenceSearch(new KillerHeuristic());
+	}
+
+	private QuiescenceSearch buildQuiecenceSearch(KillerHeuristic killerHeuristic) {
 		Injector injector = Guice.createInjector(new Module());
 		BoardEvaluator boardEvaluator = injector.getInstance(BoardEvaluator.class);
 		statistics.reset();
-		return new QuiescenceSearch(boardEvaluator, statistics, new KillerHeuristic());
+		return new QuiescenceSearch(boardEvaluator, statistics, killerHeuristic);
 	}
 
 }
\ No newline at end of file
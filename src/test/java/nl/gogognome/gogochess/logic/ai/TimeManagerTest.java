@@ -0,0 +1,126 @@
+package nl.gogognome.gogochess.logic.ai;
+
+import static nl.gogognome.gogochess.logic.Player.*;
+import static nl.gogognome.gogochess.logic.Squares.*;
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import nl.gogognome.gogochess.logic.*;
+
+class TimeManagerTest {
+
+	private long currentTimeMillis = 1_000_000;
+
+	private final Move move1 = new Move(WHITE, WHITE_PAWN.removeFrom(E2), WHITE_PAWN.addTo(E4));
+	private final Move move2 = new Move(WHITE, WHITE_PAWN.removeFrom(D2), WHITE_PAWN.addTo(D4));
+
+	@Test
+	void moveTime_hardLimitKeepsTimeInReserveAndSoftLimitIsHalfOfHardLimit() {
+		TimeManager timeManager = buildTimeManager(TimeControl.moveTime(1000));
+
+		assertThat(timeManager.getHardLimitMillis()).isEqualTo(950);
+		assertThat(timeManager.getSoftLimitMillis()).isEqualTo(475);
+	}
+
+	@Test
+	void clockWithMovesToGo_remainingTimeIsDividedOverMovesToGo() {
+		TimeManager timeManager = buildTimeManager(TimeControl.clock(10_050, 0, 10));
+
+		assertThat(timeManager.getSoftLimitMillis()).isEqualTo(1000);
+		assertThat(timeManager.getHardLimitMillis()).isEqualTo(4000);
+	}
+
+	@Test
+	void clockWithIncrement_largePartOfIncrementIsUsed() {
+		TimeManager timeManager = buildTimeManager(TimeControl.clock(30_050, 2000, 0));
+
+		assertThat(timeManager.getSoftLimitMillis()).isEqualTo(1000 + 1500);
+	}
+
+	@Test
+	void clockWithLittleTimeLeft_hardLimitNeverExceedsRemainingTime() {
+		TimeManager timeManager = buildTimeManager(TimeControl.clock(1050, 5000, 1));
+
+		assertThat(timeManager.getHardLimitMillis()).isEqualTo(750);
+		assertThat(timeManager.getSoftLimitMillis()).isEqualTo(750);
+	}
+
+	@Test
+	void softLimitPassed_noNextIterationIsStarted() {
+		TimeManager timeManager = buildTimeManager(TimeControl.moveTime(1000));
+
+		currentTimeMillis += 474;
+		assertThat(timeManager.canStartNextIteration()).isTrue();
+
+		currentTimeMillis += 1;
+		assertThat(timeManager.canStartNextIteration()).isFalse();
+	}
+
+	@Test
+	void hardLimitPassed_searchIsStoppedAtNextReportOfNodes() {
+		TimeManager timeManager = buildTimeManager(TimeControl.moveTime(1000));
+
+		currentTimeMillis += 949;
+		assertThat(timeManager.onNodesSearched(100)).isFalse();
+		assertThat(timeManager.isStopped()).isFalse();
+
+		currentTimeMillis += 1;
+		assertThat(timeManager.onNodesSearched(100)).isTrue();
+		assertThat(timeManager.isStopped()).isTrue();
+		assertThat(timeManager.canStartNextIteration()).isFalse();
+	}
+
+	@Test
+	void nodes_searchIsStoppedWhenNumberOfNodesIsReached() {
+		TimeManager timeManager = buildTimeManager(TimeControl.nodes(1000));
+
+		currentTimeMillis += 1_000_000;
+		assertThat(timeManager.onNodesSearched(999)).isFalse();
+		assertThat(timeManager.onNodesSearched(1)).isTrue();
+	}
+
+	@Test
+	void bestMoveChanges_softLimitIsExtended() {
+		TimeManager timeManager = buildTimeManager(TimeControl.moveTime(1000));
+
+		timeManager.onIterationFinished(move1, 10);
+		timeManager.onIterationFinished(move2, 10);
+
+		assertThat(timeManager.extendedSoftLimitMillis()).isEqualTo(712);
+	}
+
+	@Test
+	void bestMoveIsStable_extensionFades() {
+		TimeManager timeManager = buildTimeManager(TimeControl.moveTime(1000));
+
+		timeManager.onIterationFinished(move1, 10);
+		timeManager.onIterationFinished(move2, 10);
+		timeManager.onIterationFinished(move2, 10);
+		timeManager.onIterationFinished(move2, 10);
+
+		assertThat(timeManager.extendedSoftLimitMillis()).isBetween(475L, 712L);
+	}
+
+	@Test
+	void valueOfBestMoveDrops_softLimitIsExtendedUpToHardLimit() {
+		TimeManager timeManager = buildTimeManager(TimeControl.moveTime(1000));
+
+		timeManager.onIterationFinished(move1, 100);
+		timeManager.onIterationFinished(move1, 70);
+		assertThat(timeManager.extendedSoftLimitMillis()).isEqualTo(475);
+
+		timeManager.onIterationFinished(move1, -200);
+		assertThat(timeManager.extendedSoftLimitMillis()).isEqualTo(950);
+	}
+
+	@Test
+	void invalidTimeControls_fail() {
+		assertThatThrownBy(() -> TimeControl.clock(-1, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> TimeControl.moveTime(0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> TimeControl.nodes(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private TimeManager buildTimeManager(TimeControl timeControl) {
+		return new TimeManager(timeControl, () -> currentTimeMillis);
+	}
+}
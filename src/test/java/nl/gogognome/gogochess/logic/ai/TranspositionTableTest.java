@@ -0,0 +1,113 @@
+package nl.gogognome.gogochess.logic.ai;
+
+import static nl.gogognome.gogochess.logic.Squares.*;
+import static nl.gogognome.gogochess.logic.ai.TranspositionTable.*;
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import nl.gogognome.gogochess.logic.*;
+
+class TranspositionTableTest {
+
+	private final TranspositionTable transpositionTable = new TranspositionTable(1);
+
+	private final int move = EncodedMoves.capture(WHITE_QUEEN, D1.boardIndex(), D8.boardIndex(), BLACK_QUEEN);
+
+	// hashes that only differ in the bits that are not used to determine the bucket
+	private final long hash1 = 0x1000_0000_0012_3400L;
+	private final long hash2 = 0x2000_0000_0012_3400L;
+	private final long hash3 = 0x3000_0000_0012_3400L;
+
+	@Test
+	void emptyTable_probeReturnsNoEntry() {
+		assertThat(transpositionTable.probe(hash1)).isEqualTo(NO_ENTRY);
+	}
+
+	@Test
+	void storedEntryCanBeFound() {
+		transpositionTable.store(hash1, -12345, LOWER_BOUND, 7, move);
+
+		long entry = transpositionTable.probe(hash1);
+		assertThat(entry).isNotEqualTo(NO_ENTRY);
+		assertThat(value(entry)).isEqualTo(-12345);
+		assertThat(bound(entry)).isEqualTo(LOWER_BOUND);
+		assertThat(depth(entry)).isEqualTo(7);
+		assertThat(bestMove(entry)).isEqualTo(move);
+	}
+
+	@Test
+	void entryOfOtherPositionInSameBucketIsNotFound() {
+		transpositionTable.store(hash1, 10, EXACT, 3, move);
+
+		assertThat(transpositionTable.probe(hash2)).isEqualTo(NO_ENTRY);
+	}
+
+	@Test
+	void entryOfSamePositionIsReplaced() {
+		transpositionTable.store(hash1, 10, EXACT, 3, move);
+		transpositionTable.store(hash1, 20, UPPER_BOUND, 1, EncodedMoves.NO_MOVE);
+
+		long entry = transpositionTable.probe(hash1);
+		assertThat(value(entry)).isEqualTo(20);
+		assertThat(bound(entry)).isEqualTo(UPPER_BOUND);
+		assertThat(depth(entry)).isEqualTo(1);
+		assertThat(bestMove(entry)).isEqualTo(EncodedMoves.NO_MOVE);
+	}
+
+	@Test
+	void fullBucket_entryWithLowestDepthIsReplaced() {
+		transpositionTable.store(hash1, 10, EXACT, 5, move);
+		transpositionTable.store(hash2, 20, EXACT, 2, move);
+		transpositionTable.store(hash3, 30, EXACT, 3, move);
+
+		assertThat(value(transpositionTable.probe(hash1))).isEqualTo(10);
+		assertThat(transpositionTable.probe(hash2)).isEqualTo(NO_ENTRY);
+		assertThat(value(transpositionTable.probe(hash3))).isEqualTo(30);
+	}
+
+	@Test
+	void entriesAreKeptForNextSearch() {
+		transpositionTable.store(hash1, 10, EXACT, 3, move);
+
+		transpositionTable.newSearch();
+
+		assertThat(value(transpositionTable.probe(hash1))).isEqualTo(10);
+	}
+
+	@Test
+	void entryOfEarlierSearch_onlyBestMoveCanBeUsed() {
+		transpositionTable.store(hash1, 10, LOWER_BOUND, 3, move);
+
+		transpositionTable.newSearch();
+
+		long entry = transpositionTable.probe(hash1);
+		assertThat(bound(entry)).isEqualTo(NO_BOUND);
+		assertThat(bestMove(entry)).isEqualTo(move);
+	}
+
+	@Test
+	void fullBucket_entryOfEarlierSearchIsReplacedBeforeEntryOfCurrentSearch() {
+		transpositionTable.store(hash1, 10, EXACT, 5, move);
+		transpositionTable.newSearch();
+		transpositionTable.store(hash2, 20, EXACT, 2, move);
+		transpositionTable.store(hash3, 30, EXACT, 1, move);
+
+		assertThat(transpositionTable.probe(hash1)).isEqualTo(NO_ENTRY);
+		assertThat(value(transpositionTable.probe(hash2))).isEqualTo(20);
+		assertThat(value(transpositionTable.probe(hash3))).isEqualTo(30);
+	}
+
+	@Test
+	void clearRemovesAllEntries() {
+		transpositionTable.store(hash1, 10, EXACT, 3, move);
+
+		transpositionTable.clear();
+
+		assertThat(transpositionTable.probe(hash1)).isEqualTo(NO_ENTRY);
+	}
+
+	@Test
+	void sizeMustBeAtLeastOneMegabyte() {
+		assertThatThrownBy(() -> new TranspositionTable(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
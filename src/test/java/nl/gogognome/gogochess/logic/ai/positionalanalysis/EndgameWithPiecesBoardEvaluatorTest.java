@@ -0,0 +1,122 @@
+package nl.gogognome.gogochess.logic.ai.positionalanalysis;
+
+import static nl.gogognome.gogochess.logic.Player.*;
+import static nl.gogognome.gogochess.logic.Squares.*;
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import nl.gogognome.gogochess.logic.*;
+
+class EndgameWithPiecesBoardEvaluatorTest {
+
+    private final EndgameWithPiecesBoardEvaluator endgameWithPiecesBoardEvaluator = new EndgameWithPiecesBoardEvaluator();
+
+    private final SingleMoveEvaluator evaluator = SingleMoveEvaluator.forFunction((board, move) -> {
+        board.process(move);
+        return endgameWithPiecesBoardEvaluator.value(board);
+    });
+
+    @Test
+    void opponentKingAtEdgeAfterWhiteMoveScoresBetterThanOpponentKingInCenter() {
+        MoveValue opponentKingAtEdge = evaluator.valueOfMove(new Move(BLACK, WHITE_KING.addTo(E3), WHITE_ROOK.addTo(H8), BLACK_KING.addTo(E1)),
+                WHITE_ROOK.removeFrom(H8), WHITE_ROOK.addTo(H7));
+
+        MoveValue opponentKingInCenter = evaluator.valueOfMove(new Move(BLACK, WHITE_KING.addTo(E3), WHITE_ROOK.addTo(H8), BLACK_KING.addTo(E5)),
+                WHITE_ROOK.removeFrom(H8), WHITE_ROOK.addTo(H7));
+
+        assertThat(opponentKingAtEdge).isGreaterThan(opponentKingInCenter);
+    }
+
+    @Test
+    void opponentKingAtEdgeAfterBlackMoveScoresBetterThanOpponentKingInCenter() {
+        MoveValue opponentKingAtEdge = evaluator.valueOfMove(new Move(WHITE, BLACK_KING.addTo(E6), BLACK_ROOK.addTo(H1), WHITE_KING.addTo(E8)),
+                BLACK_ROOK.removeFrom(H1), BLACK_ROOK.addTo(H2));
+
+        MoveValue opponentKingInCenter = evaluator.valueOfMove(new Move(WHITE, BLACK_KING.addTo(E6), BLACK_ROOK.addTo(H1), WHITE_KING.addTo(E4)),
+                BLACK_ROOK.removeFrom(H1), BLACK_ROOK.addTo(H2));
+
+        assertThat(opponentKingAtEdge).isLessThan(opponentKingInCenter);
+    }
+
+    @Test
+    void whiteMoveThatForcesOpponentsKingNearOwnKingScoresBetterThanMoveThatDoesNotForceOpponentsKingNearOwnKing() {
+        MoveValue forcesOpponentKingNearOwnKing = evaluator.valueOfMove(new Move(BLACK, WHITE_ROOK.addTo(B1), BLACK_KING.addTo(H8), WHITE_KING.addTo(E5)),
+                WHITE_KING.removeFrom(E5), WHITE_KING.addTo(F5));
+
+        MoveValue doesNotForcesOpponentKingNearOwnKing = evaluator.valueOfMove(new Move(BLACK, WHITE_ROOK.addTo(B1), BLACK_KING.addTo(H8), WHITE_KING.addTo(E5)),
+                WHITE_KING.removeFrom(E5), WHITE_KING.addTo(D4));
+
+        assertThat(forcesOpponentKingNearOwnKing).isGreaterThan(doesNotForcesOpponentKingNearOwnKing);
+    }
+
+    @Test
+    void blackMoveThatForcesOpponentsKingNearOwnKingScoresBetterThanMoveThatDoesNotForceOpponentsKingNearOwnKing() {
+        MoveValue forcesOpponentKingNearOwnKing = evaluator.valueOfMove(new Move(WHITE, BLACK_ROOK.addTo(B1), WHITE_KING.addTo(H8), BLACK_KING.addTo(E5)),
+                BLACK_KING.removeFrom(E5), BLACK_KING.addTo(F5));
+
+        MoveValue doesNotForcesOpponentKingNearOwnKing = evaluator.valueOfMove(new Move(WHITE, BLACK_ROOK.addTo(B1), WHITE_KING.addTo(H8), BLACK_KING.addTo(E5)),
+                BLACK_KING.removeFrom(E5), BLACK_KING.addTo(D4));
+
+        assertThat(forcesOpponentKingNearOwnKing).isLessThan(doesNotForcesOpponentKingNearOwnKing);
+    }
+
+    @Test
+    void whiteKingMovingTowardsCenterScoresBetterThanKingMovingAwayFromCenter() {
+        MoveValue kingMovingToCenter = evaluator.valueOfMove(new Move(BLACK, WHITE_KING.addTo(B2), WHITE_ROOK.addTo(B1), BLACK_KING.addTo(H8)),
+                WHITE_KING.removeFrom(B2), WHITE_KING.addTo(C3));
+
+        MoveValue kingMovingAwayFromCenter = evaluator.valueOfMove(new Move(BLACK, WHITE_KING.addTo(C3), WHITE_ROOK.addTo(B1), BLACK_KING.addTo(H8)),
+                WHITE_KING.removeFrom(C3), WHITE_KING.addTo(B2));
+
+        assertThat(kingMovingToCenter).isGreaterThan(kingMovingAwayFromCenter);
+    }
+
+    @Test
+    void blackKingMovingTowardsCenterScoresBetterThanKingMovingAwayFromCenter() {
+        MoveValue kingMovingToCenter = evaluator.valueOfMove(new Move(WHITE, BLACK_KING.addTo(B2), BLACK_ROOK.addTo(B1), WHITE_KING.addTo(H8)),
+                BLACK_KING.removeFrom(B2), BLACK_KING.addTo(C3));
+
+        MoveValue kingMovingAwayFromCenter = evaluator.valueOfMove(new Move(WHITE, BLACK_KING.addTo(C3), BLACK_ROOK.addTo(B1), WHITE_KING.addTo(H8)),
+                BLACK_KING.removeFrom(C3), BLACK_KING.addTo(B2));
+
+        assertThat(kingMovingToCenter).isLessThan(kingMovingAwayFromCenter);
+    }
+
+    @Test
+    void whiteRookMovingTowardsOwnKingScoresBetterThanMovingAwayFromOwnKing() {
+        MoveValue kingMovingToCenter = evaluator.valueOfMove(new Move(BLACK, WHITE_KING.addTo(A1), WHITE_ROOK.addTo(H1), BLACK_KING.addTo(H8)),
+                WHITE_ROOK.removeFrom(H1), WHITE_ROOK.addTo(B1));
+
+        MoveValue kingMovingAwayFromCenter = evaluator.valueOfMove(new Move(BLACK, WHITE_KING.addTo(A1), WHITE_ROOK.addTo(B1), BLACK_KING.addTo(H8)),
+                WHITE_ROOK.removeFrom(B1), WHITE_ROOK.addTo(H1));
+
+        assertThat(kingMovingToCenter).isGreaterThan(kingMovingAwayFromCenter);
+    }
+
+    @Test
+    void blackRookMovingTowardsOwnKingScoresBetterThanMovingAwayFromOwnKing() {
+        MoveValue kingMovingToCenter = evaluator.valueOfMove(new Move(WHITE, BLACK_KING.addTo(A1), BLACK_ROOK.addTo(H1), WHITE_KING.addTo(H8)),
+                BLACK_ROOK.removeFrom(H1), BLACK_ROOK.addTo(B1));
+
+        MoveValue kingMovingAwayFromCenter = evaluator.valueOfMove(new Move(WHITE, BLACK_KING.addTo(A1), BLACK_ROOK.addTo(B1), WHITE_KING.addTo(H8)),
+                BLACK_ROOK.removeFrom(B1), BLACK_ROOK.addTo(H1));
+
+        assertThat(kingMovingToCenter).isLessThan(kingMovingAwayFromCenter);
+    }
+
+    @Test
+    void positionWithPawnsScoresZero() {
+        MoveValue value = evaluator.valueOfMove(new Move(BLACK, WHITE_KING.addTo(E3), WHITE_ROOK.addTo(H8), WHITE_PAWN.addTo(A2), BLACK_KING.addTo(E1)),
+                WHITE_ROOK.removeFrom(H8), WHITE_ROOK.addTo(H7));
+
+        assertThat(value.getCombinedScore()).isZero();
+    }
+
+    @Test
+    void bothPlayersWithPiecesScoresZero() {
+        MoveValue value = evaluator.valueOfMove(new Move(BLACK, WHITE_KING.addTo(E3), WHITE_ROOK.addTo(H8), BLACK_KING.addTo(E1), BLACK_KNIGHT.addTo(A8)),
+                WHITE_ROOK.removeFrom(H8), WHITE_ROOK.addTo(H7));
+
+        assertThat(value.getCombinedScore()).isZero();
+    }
+}
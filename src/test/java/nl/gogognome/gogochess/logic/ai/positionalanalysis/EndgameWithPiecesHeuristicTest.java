@@ -0,0 +1,36 @@
+package nl.gogognome.gogochess.logic.ai.positionalanalysis;
+
+import static nl.gogognome.gogochess.logic.Player.*;
+import static nl.gogognome.gogochess.logic.Squares.*;
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import nl.gogognome.gogochess.logic.*;
+
+class EndgameWithPiecesHeuristicTest {
+
+    private final EndgameWithPiecesHeuristic endgameWithPiecesHeuristic =
+            new EndgameWithPiecesHeuristic(new CentralControlHeuristic(), new KingFieldHeuristic());
+
+    @Test
+    void opponentKingAtEdge_valueIsHigherThanWithOpponentKingInCenter() {
+        int valueWithKingAtEdge = valueForWhite(new Move(BLACK, WHITE_KING.addTo(E3), WHITE_ROOK.addTo(A1), BLACK_KING.addTo(E1)));
+        int valueWithKingInCenter = valueForWhite(new Move(BLACK, WHITE_KING.addTo(E3), WHITE_ROOK.addTo(A1), BLACK_KING.addTo(E5)));
+
+        assertThat(valueWithKingAtEdge).isGreaterThan(valueWithKingInCenter);
+    }
+
+    @Test
+    void ownPieceNearOwnKing_valueIsHigherThanWithOwnPieceFarFromOwnKing() {
+        int valueWithRookNearKing = valueForWhite(new Move(BLACK, WHITE_KING.addTo(D4), WHITE_ROOK.addTo(D3), BLACK_KING.addTo(H8)));
+        int valueWithRookFarFromKing = valueForWhite(new Move(BLACK, WHITE_KING.addTo(D4), WHITE_ROOK.addTo(A1), BLACK_KING.addTo(H8)));
+
+        assertThat(valueWithRookNearKing).isGreaterThan(valueWithRookFarFromKing);
+    }
+
+    private int valueForWhite(Move setup) {
+        Board board = new Board();
+        board.process(setup);
+        return endgameWithPiecesHeuristic.valueFor(board, WHITE);
+    }
+}
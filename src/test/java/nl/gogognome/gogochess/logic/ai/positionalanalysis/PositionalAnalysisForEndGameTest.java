@@ -22,8 +22,7 @@ abstract class PositionalAnalysisForEndGameTest {
             new CentralControlHeuristic(),
             new KingFieldHeuristic(),
             new PawnHeuristicsEndgame(),
-            pieceValueEvaluator,
-            new EndOfGameBoardEvaluator());
+            pieceValueEvaluator);
 
     SingleMoveEvaluator evaluator = SingleMoveEvaluator.forConsumer((board, move) -> positionalAnalysisForendgame.evaluate(board, asList(move)));
     SingleMoveEvaluator rookBehindPawnEvaluator = SingleMoveEvaluator.forFunction((board, move) -> {
@@ -438,99 +437,12 @@ abstract class PositionalAnalysisForEndGameTest {
         private Map<Piece, Integer> getPieceToValue(String nameOfField) throws IllegalAccessException, NoSuchFieldException {
             Field field = PieceValueEvaluator.class.getDeclaredField(nameOfField);
             field.setAccessible(true);
-            //noinspection unchecked
-            return (Map<Piece, Integer>) field.get(pieceValueEvaluator);
-        }
-    }
-
-    static class EndgameWithPiecesTest extends PositionalAnalysisForEndGameTest {
-
-        @Test
-        void whiteMoveThatForcesOpponentsKingToEdgeScoresBetterThanMoveThatDoesNotForceOpponentsKingToEdge() {
-            MoveValue forcesOpponentKingToEdge = evaluator.valueOfMove(new Move(BLACK, WHITE_ROOK.addTo(B1), WHITE_ROOK.addTo(A5), BLACK_KING.addTo(E6), WHITE_KING.addTo(A1)),
-                    WHITE_ROOK.removeFrom(B1), WHITE_ROOK.addTo(B6));
-
-            MoveValue doesNotForcesOpponentKingToEdge = evaluator.valueOfMove(new Move(BLACK, WHITE_ROOK.addTo(B1), WHITE_ROOK.addTo(A5), BLACK_KING.addTo(E6), WHITE_KING.addTo(A1)),
-                    WHITE_ROOK.removeFrom(B1), WHITE_ROOK.addTo(B5));
-
-            assertThat(forcesOpponentKingToEdge).isGreaterThan(doesNotForcesOpponentKingToEdge);
-        }
-
-        @Test
-        void blackMoveThatForcesOpponentsKingToEdgeScoresBetterThanMoveThatDoesNotForceOpponentsKingToEdge() {
-            MoveValue forcesOpponentKingToEdge = evaluator.valueOfMove(new Move(WHITE, BLACK_ROOK.addTo(B1), BLACK_ROOK.addTo(A5), WHITE_KING.addTo(E6), BLACK_KING.addTo(A1)),
-                    BLACK_ROOK.removeFrom(B1), BLACK_ROOK.addTo(B6));
-
-            MoveValue doesNotForcesOpponentKingToEdge = evaluator.valueOfMove(new Move(WHITE, BLACK_ROOK.addTo(B1), BLACK_ROOK.addTo(A5), WHITE_KING.addTo(E6), BLACK_KING.addTo(A1)),
-                    BLACK_ROOK.removeFrom(B1), BLACK_ROOK.addTo(B5));
-
-            assertThat(forcesOpponentKingToEdge).isLessThan(doesNotForcesOpponentKingToEdge);
-        }
-
-        @Test
-        void whiteMoveThatForcesOpponentsKingNearOwnKingScoresBetterThanMoveThatDoesNotForceOpponentsKingNearOwnKing() {
-            MoveValue forcesOpponentKingNearOwnKing = evaluator.valueOfMove(new Move(BLACK, WHITE_ROOK.addTo(B1), BLACK_KING.addTo(H8), WHITE_KING.addTo(E5)),
-                    WHITE_KING.removeFrom(E5), WHITE_KING.addTo(F5));
-
-            MoveValue doesNotForcesOpponentKingNearOwnKing = evaluator.valueOfMove(new Move(BLACK, WHITE_ROOK.addTo(B1), BLACK_KING.addTo(H8), WHITE_KING.addTo(E5)),
-                    WHITE_KING.removeFrom(E5), WHITE_KING.addTo(D4));
-
-            assertThat(forcesOpponentKingNearOwnKing).isGreaterThan(doesNotForcesOpponentKingNearOwnKing);
-        }
-
-        @Test
-        void blackMoveThatForcesOpponentsKingNearOwnKingScoresBetterThanMoveThatDoesNotForceOpponentsKingNearOwnKing() {
-            MoveValue forcesOpponentKingNearOwnKing = evaluator.valueOfMove(new Move(WHITE, BLACK_ROOK.addTo(B1), WHITE_KING.addTo(H8), BLACK_KING.addTo(E5)),
-                    BLACK_KING.removeFrom(E5), BLACK_KING.addTo(F5));
-
-            MoveValue doesNotForcesOpponentKingNearOwnKing = evaluator.valueOfMove(new Move(WHITE, BLACK_ROOK.addTo(B1), WHITE_KING.addTo(H8), BLACK_KING.addTo(E5)),
-                    BLACK_KING.removeFrom(E5), BLACK_KING.addTo(D4));
-
-            assertThat(forcesOpponentKingNearOwnKing).isLessThan(doesNotForcesOpponentKingNearOwnKing);
-        }
-
-        @Test
-        void whiteKingMovingTowardsCenterScoresBetterThanKingMovingAwayFromCenter() {
-            MoveValue kingMovingToCenter = evaluator.valueOfMove(new Move(BLACK, WHITE_KING.addTo(B2), WHITE_ROOK.addTo(B1), BLACK_KING.addTo(H8)),
-                    WHITE_KING.removeFrom(B2), WHITE_KING.addTo(C3));
-
-            MoveValue kingMovingAwayFromCenter = evaluator.valueOfMove(new Move(BLACK, WHITE_KING.addTo(C3), WHITE_ROOK.addTo(B1), BLACK_KING.addTo(H8)),
-                    WHITE_KING.removeFrom(C3), WHITE_KING.addTo(B2));
-
-            assertThat(kingMovingToCenter).isGreaterThan(kingMovingAwayFromCenter);
-        }
-
-        @Test
-        void blackKingMovingTowardsCenterScoresBetterThanKingMovingAwayFromCenter() {
-            MoveValue kingMovingToCenter = evaluator.valueOfMove(new Move(WHITE, BLACK_KING.addTo(B2), BLACK_ROOK.addTo(B1), WHITE_KING.addTo(H8)),
-                    BLACK_KING.removeFrom(B2), BLACK_KING.addTo(C3));
-
-            MoveValue kingMovingAwayFromCenter = evaluator.valueOfMove(new Move(WHITE, BLACK_KING.addTo(C3), BLACK_ROOK.addTo(B1), WHITE_KING.addTo(H8)),
-                    BLACK_KING.removeFrom(C3), BLACK_KING.addTo(B2));
-
-            assertThat(kingMovingToCenter).isLessThan(kingMovingAwayFromCenter);
-        }
-
-        @Test
-        void whiteRookMovingTowardsOwnKingScoresBetterThanMovingAwayFromOwnKing() {
-            MoveValue kingMovingToCenter = evaluator.valueOfMove(new Move(BLACK, WHITE_KING.addTo(A1), WHITE_ROOK.addTo(H1), BLACK_KING.addTo(H8)),
-                    WHITE_ROOK.removeFrom(H1), WHITE_ROOK.addTo(B1));
-
-            MoveValue kingMovingAwayFromCenter = evaluator.valueOfMove(new Move(BLACK, WHITE_KING.addTo(A1), WHITE_ROOK.addTo(B1), BLACK_KING.addTo(H8)),
-                    WHITE_ROOK.removeFrom(B1), WHITE_ROOK.addTo(H1));
-
-            assertThat(kingMovingToCenter).isGreaterThan(kingMovingAwayFromCenter);
-        }
-
-        @Test
-        void blackRookMovingTowardsOwnKingScoresBetterThanMovingAwayFromOwnKing() {
-            MoveValue kingMovingToCenter = evaluator.valueOfMove(new Move(WHITE, BLACK_KING.addTo(A1), BLACK_ROOK.addTo(H1), WHITE_KING.addTo(H8)),
-                    BLACK_ROOK.removeFrom(H1), BLACK_ROOK.addTo(B1));
-
-            MoveValue kingMovingAwayFromCenter = evaluator.valueOfMove(new Move(WHITE, BLACK_KING.addTo(A1), BLACK_ROOK.addTo(B1), WHITE_KING.addTo(H8)),
-                    BLACK_ROOK.removeFrom(B1), BLACK_ROOK.addTo(H1));
-
-            assertThat(kingMovingToCenter).isLessThan(kingMovingAwayFromCenter);
+            int[] pieceToValue = (int[]) field.get(pieceValueEvaluator);
+            Map<Piece, Integer> map = new EnumMap<>(Piece.class);
+            for (Piece piece : Piece.values()) {
+                map.put(piece, pieceToValue[piece.ordinal()]);
+            }
+            return map;
         }
     }
 }
\ No newline at end of file
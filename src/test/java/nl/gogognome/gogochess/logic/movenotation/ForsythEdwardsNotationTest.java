@@ -0,0 +1,71 @@
+package nl.gogognome.gogochess.logic.movenotation;
+
+import static nl.gogognome.gogochess.logic.Board.*;
+import static nl.gogognome.gogochess.logic.Player.*;
+import static nl.gogognome.gogochess.logic.Squares.*;
+import static nl.gogognome.gogochess.logic.piece.PlayerPieces.*;
+import static org.assertj.core.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import nl.gogognome.gogochess.logic.*;
+
+class ForsythEdwardsNotationTest {
+
+	private final ForsythEdwardsNotation forsythEdwardsNotation = new ForsythEdwardsNotation();
+	private final Board board = new Board();
+
+	@Test
+	void parseInitialPosition() {
+		board.process(forsythEdwardsNotation.parse("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"));
+
+		Board initialBoard = new Board();
+		initialBoard.initBoard();
+		assertThat(board.toString()).isEqualTo(initialBoard.toString());
+		assertThat(board.currentPlayer()).isEqualTo(WHITE);
+		assertThat(board.getBoardHash()).isEqualTo(initialBoard.getBoardHash());
+	}
+
+	@Test
+	void parsePlayerToMove() {
+		board.process(forsythEdwardsNotation.parse("4k3/8/8/8/8/8/8/4K3 b - - 0 1"));
+
+		assertThat(board.currentPlayer()).isEqualTo(BLACK);
+		assertThat(board.pieceAt(E8)).isEqualTo(BLACK_KING);
+		assertThat(board.pieceAt(E1)).isEqualTo(WHITE_KING);
+	}
+
+	@Test
+	void absentCastlingRightsAreRemoved() {
+		board.process(forsythEdwardsNotation.parse("r3k2r/8/8/8/8/8/8/R3K2R w Kq - 0 1"));
+
+		assertThat(board.hasCastlingRight(WHITE_KING_SIDE_CASTLING)).isTrue();
+		assertThat(board.hasCastlingRight(WHITE_QUEEN_SIDE_CASTLING)).isFalse();
+		assertThat(board.hasCastlingRight(BLACK_KING_SIDE_CASTLING)).isFalse();
+		assertThat(board.hasCastlingRight(BLACK_QUEEN_SIDE_CASTLING)).isTrue();
+		assertThat(board.pieceAt(A1)).isEqualTo(WHITE_ROOK);
+		assertThat(board.pieceAt(H8)).isEqualTo(BLACK_ROOK);
+	}
+
+	@Test
+	void enPassantTargetSquareAllowsEnPassantCapture() {
+		board.process(forsythEdwardsNotation.parse("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1"));
+
+		assertThat(board.enPassantCapturablePawnIndex()).isEqualTo(D5.boardIndex());
+		assertThat(board.pieceAt(D5)).isEqualTo(BLACK_PAWN);
+		assertThat(board.pieceAt(D7)).isNull();
+		assertThat(board.currentPlayer()).isEqualTo(WHITE);
+	}
+
+	@Test
+	void invalidPiecePlacementFails() {
+		assertThatThrownBy(() -> forsythEdwardsNotation.parse("4k3/8/8/8/8/8/8/4K4 w - - 0 1"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("The rank 4K4 does not contain 8 squares");
+	}
+
+	@Test
+	void enPassantTargetSquareNotMatchingPiecesFails() {
+		assertThatThrownBy(() -> forsythEdwardsNotation.parse("4k3/8/8/4P3/8/8/8/4K3 w - d6 0 1"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("The en passant target square d6 does not match the piece placement");
+	}
+}
@@ -0,0 +1,114 @@
+package nl.gogognome.gogochess.perft;
+
+import static java.util.stream.Collectors.*;
+import static org.assertj.core.api.Assertions.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import nl.gogognome.gogochess.logic.*;
+import nl.gogognome.gogochess.logic.movenotation.*;
+
+class PerftTest {
+
+	private final Perft perft = new Perft();
+
+	@Test
+	void initialPosition() {
+		assertNrNodes("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", 20, 400, 8902, 197281);
+	}
+
+	@Test
+	void kiwipete() {
+		assertNrNodes("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 48, 2039, 97862);
+	}
+
+	@Test
+	void endGameWithEnPassantCapturesAndPins() {
+		assertNrNodes("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 14, 191, 2812, 43238);
+	}
+
+	@Test
+	void promotionsAndCastlingWhileInCheck() {
+		assertNrNodes("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 6, 264, 9467);
+	}
+
+	@Test
+	void promotionsWithCapture() {
+		assertNrNodes("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 44, 1486, 62379);
+	}
+
+	@Test
+	void enPassantCaptureExposingKingIsNotCounted() {
+		assertNrNodesAtDepth("3k4/3p4/8/K1P4r/8/8/8/8 b - - 0 1", 5, 185429);
+	}
+
+	@Test
+	void enPassantCaptureGivingCheck() {
+		assertNrNodesAtDepth("8/8/1k6/2b5/2pP4/8/5K2/8 b - d3 0 1", 5, 206379);
+	}
+
+	@Test
+	void castlingRights() {
+		assertNrNodesAtDepth("r3k2r/1b4bq/8/8/8/8/7B/R3K2R w KQkq - 0 1", 4, 1274206);
+	}
+
+	@Test
+	void castlingGivingCheck() {
+		assertNrNodesAtDepth("5k2/8/8/8/8/8/8/4K2R w K - 0 1", 6, 661072);
+	}
+
+	@Test
+	void promotionOutOfCheck() {
+		assertNrNodesAtDepth("2K2r2/4P3/8/8/8/8/8/3k4 w - - 0 1", 4, 19174);
+	}
+
+	@Test
+	void stalemateAndCheckmate() {
+		assertNrNodesAtDepth("8/k1P5/8/1K6/8/8/8/8 w - - 0 1", 5, 10857);
+	}
+
+	@Test
+	void divideWithMultipleThreadsReturnsSameNodesPerMoveAsSingleThread() {
+		Board board = boardFor("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+
+		Map<Move, Long> nodesPerMove = perft.divide(board, 3, 1);
+		Map<Move, Long> nodesPerMoveWithThreads = perft.divide(board, 3, 3);
+
+		assertThat(format(nodesPerMoveWithThreads)).isEqualTo(format(nodesPerMove));
+		assertThat(nodesPerMove.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(97862);
+	}
+
+	@Test
+	void perftRestoresBoard() {
+		Board board = boardFor("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+		String position = board.toString();
+		long hash = board.getBoardHash();
+
+		perft.perft(board, 3);
+
+		assertThat(board.toString()).isEqualTo(position);
+		assertThat(board.getBoardHash()).isEqualTo(hash);
+	}
+
+	private List<String> format(Map<Move, Long> nodesPerMove) {
+		MoveNotation moveNotation = new ReverseAlgebraicNotation();
+		return nodesPerMove.entrySet().stream()
+				.map(entry -> moveNotation.format(entry.getKey()) + ": " + entry.getValue())
+				.collect(toList());
+	}
+
+	private void assertNrNodes(String fen, long... expectedNrNodesPerDepth) {
+		for (int depth=1; depth<=expectedNrNodesPerDepth.length; depth++) {
+			assertNrNodesAtDepth(fen, depth, expectedNrNodesPerDepth[depth - 1]);
+		}
+	}
+
+	private void assertNrNodesAtDepth(String fen, int depth, long expectedNrNodes) {
+		assertThat(perft.perft(boardFor(fen), depth)).as("perft(" + depth + ") of " + fen).isEqualTo(expectedNrNodes);
+	}
+
+	private Board boardFor(String fen) {
+		Board board = new Board();
+		board.process(new ForsythEdwardsNotation().parse(fen));
+		return board;
+	}
+}